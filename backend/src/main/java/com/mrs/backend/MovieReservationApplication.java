@@ -2,8 +2,10 @@ package com.mrs.backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class MovieReservationApplication {
   public static void main(String[] args) {
     SpringApplication.run(MovieReservationApplication.class, args);
@@ -0,0 +1,74 @@
+package com.mrs.backend.admission;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrs.backend.security.AuthUser;
+import com.mrs.backend.security.CurrentUserService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@Component
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+  public static final String TOKEN_HEADER = "X-Queue-Token";
+  public static final String TOKEN_PARAM = "queueToken";
+
+  private final AdmissionService admissionService;
+  private final CurrentUserService currentUserService;
+  private final ObjectMapper objectMapper;
+
+  public AdmissionInterceptor(AdmissionService admissionService, CurrentUserService currentUserService,
+      ObjectMapper objectMapper) {
+    this.admissionService = admissionService;
+    this.currentUserService = currentUserService;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+      throws IOException {
+    @SuppressWarnings("unchecked")
+    Map<String, String> vars = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+    String id = vars == null ? null : vars.get("id");
+    if (id == null) {
+      return true;
+    }
+
+    long showtimeId;
+    try {
+      showtimeId = Long.parseLong(id);
+    } catch (NumberFormatException ex) {
+      return true;
+    }
+
+    if (!admissionService.isGated(showtimeId)) {
+      return true;
+    }
+
+    String token = request.getHeader(TOKEN_HEADER);
+    if (token == null) {
+      token = request.getParameter(TOKEN_PARAM);
+    }
+    Long userId = currentUserService.getCurrentUser().map(AuthUser::getId).orElse(null);
+    if (admissionService.isAdmitted(showtimeId, userId, token)) {
+      return true;
+    }
+
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setHeader("Retry-After", "5");
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(response.getOutputStream(), Map.of(
+        "error", "This showtime is in a waiting room; sign in, join the queue and retry once admitted",
+        "showtimeId", showtimeId));
+    return false;
+  }
+}
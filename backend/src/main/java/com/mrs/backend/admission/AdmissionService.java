@@ -0,0 +1,213 @@
+package com.mrs.backend.admission;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.mrs.backend.admission.dto.QueueStatusResponse;
+import com.mrs.backend.admission.dto.WaitingRoomRequest;
+import com.mrs.backend.admission.dto.WaitingRoomResponse;
+import com.mrs.backend.security.AuthUser;
+import com.mrs.backend.security.CurrentUserService;
+import com.mrs.backend.showtime.ShowtimeRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Service
+public class AdmissionService {
+
+  private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+  private final WaitingRoomStore store;
+  private final ShowtimeRepository showtimeRepository;
+  private final CurrentUserService currentUserService;
+  private final SecretKeySpec key;
+
+  private final Counter admitted;
+  private final Counter queued;
+
+  public AdmissionService(WaitingRoomStore store,
+      ShowtimeRepository showtimeRepository,
+      CurrentUserService currentUserService,
+      MeterRegistry meterRegistry,
+      @Value("${app.admission.secret:${app.jwt.secret}}") String secret) {
+    this.store = store;
+    this.showtimeRepository = showtimeRepository;
+    this.currentUserService = currentUserService;
+    this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+
+    this.admitted = Counter.builder("admission.requests").tag("result", "admitted").register(meterRegistry);
+    this.queued = Counter.builder("admission.requests").tag("result", "queued").register(meterRegistry);
+  }
+
+  public WaitingRoomResponse open(long showtimeId, WaitingRoomRequest req) {
+    if (!showtimeRepository.existsById(showtimeId)) {
+      throw new IllegalArgumentException("Showtime not found");
+    }
+
+    WaitingRoom room = store.find(showtimeId)
+        .map(existing -> new WaitingRoom(showtimeId, req.admitPerSecond(),
+            Duration.ofSeconds(req.admissionWindowSeconds()), existing.openedAt()))
+        .orElseGet(() -> new WaitingRoom(showtimeId, req.admitPerSecond(),
+            Duration.ofSeconds(req.admissionWindowSeconds()), Instant.now().truncatedTo(ChronoUnit.MILLIS)));
+    store.save(room);
+    return toResponse(room);
+  }
+
+  public void close(long showtimeId) {
+    store.remove(showtimeId);
+  }
+
+  public boolean isGated(long showtimeId) {
+    return store.find(showtimeId).isPresent();
+  }
+
+  public QueueStatusResponse join(long showtimeId) {
+    AuthUser user = currentUserService.getCurrentUser()
+        .orElseThrow(() -> new IllegalStateException("Unauthorized"));
+
+    WaitingRoom room = store.find(showtimeId).orElse(null);
+    if (room == null) {
+      return new QueueStatusResponse(null, showtimeId, true, 0, 0, null);
+    }
+
+    long nowMicros = nowMicros();
+    long spacingMicros = Math.max(1, Math.round(1_000_000 / room.admitPerSecond()));
+    QueueSlot slot = store.reserveSlot(showtimeId, user.getId(), nowMicros, spacingMicros, windowMicros(room));
+
+    Ticket ticket = new Ticket(showtimeId, user.getId(), room.openedAt().toEpochMilli(),
+        slot.admitAtMicros(), slot.issuedAtMicros());
+    return toStatus(room, ticket, sign(ticket), nowMicros);
+  }
+
+  public QueueStatusResponse status(long showtimeId, String token) {
+    AuthUser user = currentUserService.getCurrentUser()
+        .orElseThrow(() -> new IllegalStateException("Unauthorized"));
+
+    WaitingRoom room = store.find(showtimeId).orElse(null);
+    if (room == null) {
+      return new QueueStatusResponse(token, showtimeId, true, 0, 0, null);
+    }
+
+    Ticket ticket = verify(token);
+    if (ticket == null || ticket.showtimeId() != showtimeId || ticket.userId() != user.getId()
+        || ticket.roomEpochMillis() != room.openedAt().toEpochMilli()) {
+      throw new IllegalArgumentException("Queue token is not valid for this showtime");
+    }
+    long nowMicros = nowMicros();
+    if (nowMicros > admittedUntilMicros(room, ticket)) {
+      throw new IllegalArgumentException("Queue token has expired, please rejoin the queue");
+    }
+    return toStatus(room, ticket, token, nowMicros);
+  }
+
+  /**
+   * Whether {@code token} lets {@code userId} into a gated showtime right now.
+   * Tickets are bound to the user who joined the queue, so an anonymous
+   * request ({@code userId} null) is never admitted.
+   */
+  public boolean isAdmitted(long showtimeId, Long userId, String token) {
+    WaitingRoom room = store.find(showtimeId).orElse(null);
+    if (room == null) {
+      return true;
+    }
+
+    Ticket ticket = token == null || userId == null ? null : verify(token);
+    long nowMicros = nowMicros();
+    boolean ok = ticket != null
+        && ticket.showtimeId() == showtimeId
+        && ticket.userId() == userId
+        && ticket.roomEpochMillis() == room.openedAt().toEpochMilli()
+        && nowMicros >= ticket.admitAtMicros()
+        && nowMicros <= admittedUntilMicros(room, ticket);
+
+    (ok ? admitted : queued).increment();
+    return ok;
+  }
+
+  private QueueStatusResponse toStatus(WaitingRoom room, Ticket ticket, String token, long nowMicros) {
+    long waitMicros = Math.max(0, ticket.admitAtMicros() - nowMicros);
+    long position = (long) Math.ceil(waitMicros / 1_000_000.0 * room.admitPerSecond());
+    long etaSeconds = (long) Math.ceil(waitMicros / 1_000_000.0);
+    return new QueueStatusResponse(
+        token,
+        room.showtimeId(),
+        waitMicros == 0,
+        position,
+        etaSeconds,
+        Instant.EPOCH.plus(admittedUntilMicros(room, ticket), ChronoUnit.MICROS).toString());
+  }
+
+  private long admittedUntilMicros(WaitingRoom room, Ticket ticket) {
+    return Math.max(ticket.admitAtMicros(), ticket.issuedAtMicros()) + windowMicros(room);
+  }
+
+  private static long windowMicros(WaitingRoom room) {
+    return room.admissionWindow().toNanos() / 1_000;
+  }
+
+  private WaitingRoomResponse toResponse(WaitingRoom room) {
+    return new WaitingRoomResponse(
+        room.showtimeId(),
+        room.admitPerSecond(),
+        room.admissionWindow().toSeconds(),
+        room.openedAt().toString(),
+        store.issuedCount(room.showtimeId()));
+  }
+
+  private String sign(Ticket ticket) {
+    String payload = ticket.showtimeId() + ":" + ticket.userId() + ":" + ticket.roomEpochMillis() + ":"
+        + ticket.admitAtMicros() + ":" + ticket.issuedAtMicros();
+    Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    return encoder.encodeToString(payload.getBytes(StandardCharsets.US_ASCII)) + "."
+        + encoder.encodeToString(mac(payload));
+  }
+
+  private Ticket verify(String token) {
+    int dot = token.indexOf('.');
+    if (dot < 0) {
+      return null;
+    }
+    try {
+      Base64.Decoder decoder = Base64.getUrlDecoder();
+      String payload = new String(decoder.decode(token.substring(0, dot)), StandardCharsets.US_ASCII);
+      if (!MessageDigest.isEqual(mac(payload), decoder.decode(token.substring(dot + 1)))) {
+        return null;
+      }
+      String[] parts = payload.split(":");
+      return new Ticket(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2]),
+          Long.parseLong(parts[3]), Long.parseLong(parts[4]));
+    } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+      return null;
+    }
+  }
+
+  private byte[] mac(String payload) {
+    try {
+      Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+      mac.init(key);
+      return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    } catch (GeneralSecurityException ex) {
+      throw new IllegalStateException("Unable to sign queue token", ex);
+    }
+  }
+
+  private static long nowMicros() {
+    return ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+  }
+
+  private record Ticket(long showtimeId, long userId, long roomEpochMillis, long admitAtMicros,
+      long issuedAtMicros) {
+  }
+}
@@ -0,0 +1,58 @@
+package com.mrs.backend.admission;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class InMemoryWaitingRoomStore implements WaitingRoomStore {
+
+  private final ConcurrentHashMap<Long, WaitingRoom> rooms = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<Long, Cursor> cursors = new ConcurrentHashMap<>();
+
+  @Override
+  public Optional<WaitingRoom> find(long showtimeId) {
+    return Optional.ofNullable(rooms.get(showtimeId));
+  }
+
+  @Override
+  public void save(WaitingRoom room) {
+    rooms.put(room.showtimeId(), room);
+    cursors.putIfAbsent(room.showtimeId(), new Cursor());
+  }
+
+  @Override
+  public void remove(long showtimeId) {
+    rooms.remove(showtimeId);
+    cursors.remove(showtimeId);
+  }
+
+  @Override
+  public QueueSlot reserveSlot(long showtimeId, long userId, long nowMicros, long spacingMicros,
+      long windowMicros) {
+    Cursor cursor = cursors.computeIfAbsent(showtimeId, id -> new Cursor());
+    return cursor.slots.compute(userId, (id, slot) -> {
+      if (slot != null && nowMicros <= Math.max(slot.admitAtMicros(), slot.issuedAtMicros()) + windowMicros) {
+        return slot;
+      }
+      cursor.issued.incrementAndGet();
+      long admitAt = cursor.nextSlot.accumulateAndGet(nowMicros,
+          (previous, now) -> previous == 0 ? now : Math.max(now, previous + spacingMicros));
+      return new QueueSlot(admitAt, nowMicros);
+    });
+  }
+
+  @Override
+  public long issuedCount(long showtimeId) {
+    Cursor cursor = cursors.get(showtimeId);
+    return cursor == null ? 0 : cursor.issued.get();
+  }
+
+  private static final class Cursor {
+    private final AtomicLong nextSlot = new AtomicLong();
+    private final AtomicLong issued = new AtomicLong();
+    private final ConcurrentHashMap<Long, QueueSlot> slots = new ConcurrentHashMap<>();
+  }
+}
@@ -0,0 +1,4 @@
+package com.mrs.backend.admission;
+
+public record QueueSlot(long admitAtMicros, long issuedAtMicros) {
+}
@@ -0,0 +1,11 @@
+package com.mrs.backend.admission;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public record WaitingRoom(
+    long showtimeId,
+    double admitPerSecond,
+    Duration admissionWindow,
+    Instant openedAt) {
+}
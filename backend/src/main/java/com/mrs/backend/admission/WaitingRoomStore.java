@@ -0,0 +1,23 @@
+package com.mrs.backend.admission;
+
+import java.util.Optional;
+
+public interface WaitingRoomStore {
+
+  Optional<WaitingRoom> find(long showtimeId);
+
+  void save(WaitingRoom room);
+
+  void remove(long showtimeId);
+
+  /**
+   * Atomically reserves the next admission slot for a user: the admission
+   * time is {@code nowMicros} or {@code spacingMicros} after the previously
+   * reserved slot, whichever is later. A user whose earlier slot is still
+   * usable (its admission window, {@code windowMicros}, has not run out) gets
+   * that slot back instead of moving to the end of the queue again.
+   */
+  QueueSlot reserveSlot(long showtimeId, long userId, long nowMicros, long spacingMicros, long windowMicros);
+
+  long issuedCount(long showtimeId);
+}
@@ -0,0 +1,10 @@
+package com.mrs.backend.admission.dto;
+
+public record QueueStatusResponse(
+    String token,
+    Long showtimeId,
+    boolean admitted,
+    long position,
+    long etaSeconds,
+    String admittedUntil) {
+}
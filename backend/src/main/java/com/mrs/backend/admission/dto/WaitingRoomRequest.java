@@ -0,0 +1,9 @@
+package com.mrs.backend.admission.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+
+public record WaitingRoomRequest(
+    @Positive double admitPerSecond,
+    @Min(10) int admissionWindowSeconds) {
+}
@@ -0,0 +1,9 @@
+package com.mrs.backend.admission.dto;
+
+public record WaitingRoomResponse(
+    Long showtimeId,
+    double admitPerSecond,
+    long admissionWindowSeconds,
+    String openedAt,
+    long issuedTokens) {
+}
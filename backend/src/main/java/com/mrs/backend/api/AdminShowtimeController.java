@@ -1,7 +1,8 @@
 package com.mrs.backend.api;
 
-import java.util.Map;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -13,10 +14,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.mrs.backend.planning.ShowtimePlanner;
+import com.mrs.backend.planning.dto.PlanRequest;
+import com.mrs.backend.planning.dto.PlanResponse;
 import com.mrs.backend.showtime.ShowtimeService;
+import com.mrs.backend.showtime.dto.ShowtimeBulkRequest;
+import com.mrs.backend.showtime.dto.ShowtimePageResponse;
 import com.mrs.backend.showtime.dto.ShowtimeResponse;
 import com.mrs.backend.showtime.dto.ShowtimeUpsertRequest;
 
@@ -27,9 +34,11 @@ import jakarta.validation.Valid;
 public class AdminShowtimeController {
 
   private final ShowtimeService showtimeService;
+  private final ShowtimePlanner showtimePlanner;
 
-  public AdminShowtimeController(ShowtimeService showtimeService) {
+  public AdminShowtimeController(ShowtimeService showtimeService, ShowtimePlanner showtimePlanner) {
     this.showtimeService = showtimeService;
+    this.showtimePlanner = showtimePlanner;
   }
 
   @PostMapping("/showtimes")
@@ -39,10 +48,30 @@ public class AdminShowtimeController {
     return showtimeService.create(req);
   }
 
+  @PostMapping("/showtimes/bulk")
+  @PreAuthorize("hasAnyRole('ADMIN','SUPER_ADMIN')")
+  @ResponseStatus(HttpStatus.CREATED)
+  public List<ShowtimeResponse> createAll(@Valid @RequestBody ShowtimeBulkRequest req) {
+    return showtimeService.createAll(req);
+  }
+
+  @PostMapping("/showtimes/plan")
+  @PreAuthorize("hasAnyRole('ADMIN','SUPER_ADMIN')")
+  public PlanResponse plan(@Valid @RequestBody PlanRequest req) {
+    return showtimePlanner.plan(req);
+  }
+
   @GetMapping("/showtimes")
   @PreAuthorize("hasAnyRole('ADMIN','SUPER_ADMIN')")
-  public List<ShowtimeResponse> list() {
-    return showtimeService.listAll();
+  public ShowtimePageResponse list(
+      @RequestParam(required = false) Instant from,
+      @RequestParam(required = false) Instant to,
+      @RequestParam(required = false) Long movieId,
+      @RequestParam(required = false) Long auditoriumId,
+      @RequestParam(defaultValue = "false") boolean includePast,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "50") int limit) {
+    return showtimeService.list(from, to, movieId, auditoriumId, includePast, cursor, limit);
   }
 
   @PutMapping("/showtimes/{id}")
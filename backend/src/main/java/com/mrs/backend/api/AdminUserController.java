@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.mrs.backend.security.AuthVersionCache;
 import com.mrs.backend.user.User;
 import com.mrs.backend.user.UserRepository;
 import com.mrs.backend.user.UserRole;
@@ -24,9 +25,11 @@ import com.mrs.backend.user.dto.UserAdminResponse;
 public class AdminUserController {
 
   private final UserRepository userRepository;
+  private final AuthVersionCache authVersionCache;
 
-  public AdminUserController(UserRepository userRepository) {
+  public AdminUserController(UserRepository userRepository, AuthVersionCache authVersionCache) {
     this.userRepository = userRepository;
+    this.authVersionCache = authVersionCache;
   }
 
   @GetMapping
@@ -42,8 +45,7 @@ public class AdminUserController {
   public UserAdminResponse promote(@PathVariable long id) {
     User u = userRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("User not found"));
     u.setRole(UserRole.ADMIN);
-    userRepository.save(u);
-    return toResponse(u);
+    return toResponse(saveRoleChange(u));
   }
 
   @PostMapping("/{id}/demote")
@@ -54,8 +56,14 @@ public class AdminUserController {
       throw new IllegalArgumentException("Cannot demote SUPER_ADMIN");
     }
     u.setRole(UserRole.USER);
-    userRepository.save(u);
-    return toResponse(u);
+    return toResponse(saveRoleChange(u));
+  }
+
+  private User saveRoleChange(User u) {
+    u.setAuthVersion(u.getAuthVersion() + 1);
+    User saved = userRepository.save(u);
+    authVersionCache.update(saved.getId(), saved.getAuthVersion());
+    return saved;
   }
 
   private UserAdminResponse toResponse(User u) {
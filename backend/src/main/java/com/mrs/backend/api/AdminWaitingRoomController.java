@@ -0,0 +1,50 @@
+package com.mrs.backend.api;
+
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mrs.backend.admission.AdmissionService;
+import com.mrs.backend.admission.dto.WaitingRoomRequest;
+import com.mrs.backend.admission.dto.WaitingRoomResponse;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminWaitingRoomController {
+
+  private final AdmissionService admissionService;
+
+  public AdminWaitingRoomController(AdmissionService admissionService) {
+    this.admissionService = admissionService;
+  }
+
+  @PutMapping("/showtimes/{id}/waiting-room")
+  @PreAuthorize("hasAnyRole('ADMIN','SUPER_ADMIN')")
+  public WaitingRoomResponse open(@PathVariable long id, @Valid @RequestBody WaitingRoomRequest req) {
+    return admissionService.open(id, req);
+  }
+
+  @DeleteMapping("/showtimes/{id}/waiting-room")
+  @PreAuthorize("hasAnyRole('ADMIN','SUPER_ADMIN')")
+  @ResponseStatus(HttpStatus.NO_CONTENT)
+  public void close(@PathVariable long id) {
+    admissionService.close(id);
+  }
+
+  @ExceptionHandler(IllegalArgumentException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public Map<String, Object> badRequest(IllegalArgumentException ex) {
+    return Map.of("error", ex.getMessage());
+  }
+}
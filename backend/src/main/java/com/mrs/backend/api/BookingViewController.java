@@ -0,0 +1,36 @@
+package com.mrs.backend.api;
+
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mrs.backend.booking.BookingViewService;
+import com.mrs.backend.booking.dto.BookingViewResponse;
+
+@RestController
+@RequestMapping("/api")
+public class BookingViewController {
+
+  private final BookingViewService bookingViewService;
+
+  public BookingViewController(BookingViewService bookingViewService) {
+    this.bookingViewService = bookingViewService;
+  }
+
+  @GetMapping("/showtimes/{id}/booking-view")
+  public BookingViewResponse bookingView(@PathVariable long id) {
+    return bookingViewService.view(id);
+  }
+
+  @ExceptionHandler(IllegalArgumentException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public Map<String, Object> badRequest(IllegalArgumentException ex) {
+    return Map.of("error", ex.getMessage());
+  }
+}
@@ -13,9 +13,13 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.mrs.backend.movie.MovieCatalog;
 import com.mrs.backend.movie.MovieService;
+import com.mrs.backend.movie.MovieTitleIndex;
 import com.mrs.backend.movie.dto.GenreResponse;
+import com.mrs.backend.movie.dto.MoviePageResponse;
 import com.mrs.backend.movie.dto.MovieResponse;
+import com.mrs.backend.movie.dto.MovieSuggestionResponse;
 import com.mrs.backend.showtime.ShowtimeService;
 import com.mrs.backend.showtime.dto.ShowtimeResponse;
 
@@ -23,27 +27,54 @@ import com.mrs.backend.showtime.dto.ShowtimeResponse;
 @RequestMapping("/api")
 public class PublicMovieController {
 
+  private final MovieCatalog movieCatalog;
   private final MovieService movieService;
+  private final MovieTitleIndex movieTitleIndex;
   private final ShowtimeService showtimeService;
 
-  public PublicMovieController(MovieService movieService, ShowtimeService showtimeService) {
+  public PublicMovieController(MovieCatalog movieCatalog, MovieService movieService,
+      MovieTitleIndex movieTitleIndex, ShowtimeService showtimeService) {
+    this.movieCatalog = movieCatalog;
     this.movieService = movieService;
+    this.movieTitleIndex = movieTitleIndex;
     this.showtimeService = showtimeService;
   }
 
   @GetMapping("/genres")
   public List<GenreResponse> genres() {
-    return movieService.listGenres();
+    return movieCatalog.genres();
   }
 
   @GetMapping("/movies")
-  public List<MovieResponse> movies() {
-    return movieService.listMovies();
+  public MoviePageResponse movies(
+      @RequestParam(defaultValue = "true") Boolean active,
+      @RequestParam(required = false) Long genreId,
+      @RequestParam(required = false) LocalDate showingFrom,
+      @RequestParam(required = false) LocalDate showingTo,
+      @RequestParam(defaultValue = "title") String sort,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "24") int limit) {
+    return movieService.browse(active, genreId, showingFrom, showingTo, sort, cursor, limit);
+  }
+
+  @GetMapping("/movies/search")
+  public MoviePageResponse search(
+      @RequestParam String q,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "24") int limit) {
+    return movieService.search(q, cursor, limit);
+  }
+
+  @GetMapping("/movies/suggest")
+  public List<MovieSuggestionResponse> suggest(
+      @RequestParam String prefix,
+      @RequestParam(defaultValue = "8") int limit) {
+    return movieTitleIndex.suggest(prefix, limit);
   }
 
   @GetMapping("/movies/{id}")
   public MovieResponse movie(@PathVariable long id) {
-    return movieService.getMovie(id);
+    return movieCatalog.movie(id);
   }
 
   @GetMapping("/movies/{id}/showtimes")
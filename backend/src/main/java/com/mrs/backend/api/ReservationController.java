@@ -1,24 +1,41 @@
 package com.mrs.backend.api;
 
-import java.util.List;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.mrs.backend.idempotency.IdempotencyService;
+import com.mrs.backend.idempotency.IdempotencyService.IdempotencyConflictException;
+import com.mrs.backend.idempotency.IdempotencyService.IdempotencyFailureException;
+import com.mrs.backend.reservation.AvailabilityStreamService;
 import com.mrs.backend.reservation.ReservationService;
+import com.mrs.backend.reservation.SeatBitmap;
+import com.mrs.backend.reservation.ReservationSequencer.ReservationQueueFullException;
+import com.mrs.backend.reservation.ReservationSequencer.ReservationTimeoutException;
+import com.mrs.backend.reservation.ReservationSequencer.ReservationUnavailableException;
 import com.mrs.backend.reservation.ReservationService.SeatAlreadyBookedException;
+import com.mrs.backend.reservation.dto.AutoReserveRequest;
+import com.mrs.backend.reservation.dto.ReservationPageResponse;
 import com.mrs.backend.reservation.dto.ReservationResponse;
 import com.mrs.backend.reservation.dto.ReserveSeatsRequest;
 import com.mrs.backend.reservation.dto.ShowtimeSeatAvailabilityResponse;
+import com.mrs.backend.reservation.dto.ShowtimeSeatBitmapResponse;
 
 import jakarta.validation.Valid;
 
@@ -26,37 +43,149 @@ import jakarta.validation.Valid;
 @RequestMapping("/api")
 public class ReservationController {
 
+  private static final String SEAT_BITMAP_JSON_VALUE = "application/vnd.mrs.seat-bitmap+json";
+  private static final String SEAT_COUNT_HEADER = "X-Seat-Count";
+
   private final ReservationService reservationService;
+  private final IdempotencyService idempotencyService;
+  private final AvailabilityStreamService availabilityStreamService;
 
-  public ReservationController(ReservationService reservationService) {
+  public ReservationController(ReservationService reservationService,
+      IdempotencyService idempotencyService,
+      AvailabilityStreamService availabilityStreamService) {
     this.reservationService = reservationService;
+    this.idempotencyService = idempotencyService;
+    this.availabilityStreamService = availabilityStreamService;
   }
 
   @GetMapping("/showtimes/{id}/availability")
-  public ShowtimeSeatAvailabilityResponse availability(@PathVariable long id) {
-    return reservationService.availability(id);
+  public ResponseEntity<ShowtimeSeatAvailabilityResponse> availability(@PathVariable long id,
+      @RequestParam(required = false) Long sinceVersion, WebRequest request) {
+    String etag = availabilityETag(reservationService.availabilityVersion(id));
+    if (isNotModified(request, etag)) {
+      return notModified();
+    }
+    ShowtimeSeatAvailabilityResponse body = reservationService.availability(id, sinceVersion);
+    return ResponseEntity.ok().eTag(availabilityETag(body.version())).varyBy(HttpHeaders.ACCEPT).body(body);
+  }
+
+  /**
+   * Seat availability as bitmaps indexed by layout position, for clients that
+   * already have the seat map. Base64 in JSON, or raw bytes with
+   * {@code application/octet-stream}; see {@link SeatBitmap} for the layout.
+   */
+  @GetMapping(path = "/showtimes/{id}/availability", produces = SEAT_BITMAP_JSON_VALUE)
+  public ResponseEntity<ShowtimeSeatBitmapResponse> availabilityBitmap(@PathVariable long id, WebRequest request) {
+    String etag = bitmapJsonETag(reservationService.availabilityVersion(id));
+    if (isNotModified(request, etag)) {
+      return notModified();
+    }
+    ShowtimeSeatBitmapResponse body = reservationService.availabilityBitmap(id);
+    return ResponseEntity.ok().eTag(bitmapJsonETag(body.version())).varyBy(HttpHeaders.ACCEPT).body(body);
+  }
+
+  @GetMapping(path = "/showtimes/{id}/availability", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+  public ResponseEntity<byte[]> availabilityBitmapBytes(@PathVariable long id, WebRequest request) {
+    String etag = bitmapBytesETag(reservationService.availabilityVersion(id));
+    if (isNotModified(request, etag)) {
+      return notModified();
+    }
+    SeatBitmap bitmap = reservationService.availabilityBitmapBytes(id);
+    return ResponseEntity.ok()
+        .eTag(bitmapBytesETag(bitmap.version()))
+        .varyBy(HttpHeaders.ACCEPT)
+        .header(SEAT_COUNT_HEADER, Integer.toString(bitmap.seatCount()))
+        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+        .body(bitmap.toBytes());
+  }
+
+  @GetMapping(path = "/showtimes/{id}/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter availabilityStream(@PathVariable long id) {
+    return availabilityStreamService.subscribe(id);
   }
 
   @PostMapping("/showtimes/{id}/reservations")
   @ResponseStatus(HttpStatus.CREATED)
-  public ReservationResponse reserve(@PathVariable long id, @Valid @RequestBody ReserveSeatsRequest req) {
-    return reservationService.reserve(id, req);
+  public ReservationResponse reserve(@PathVariable long id, @Valid @RequestBody ReserveSeatsRequest req,
+      @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+    return idempotencyService.execute("reserve:" + id, idempotencyKey, req, ReservationResponse.class,
+        () -> reservationService.reserve(id, req));
+  }
+
+  @PostMapping("/showtimes/{id}/reservations/auto")
+  @ResponseStatus(HttpStatus.CREATED)
+  public ReservationResponse reserveBest(@PathVariable long id, @Valid @RequestBody AutoReserveRequest req,
+      @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+    return idempotencyService.execute("reserve-auto:" + id, idempotencyKey, req, ReservationResponse.class,
+        () -> reservationService.reserveBest(id, req));
   }
 
   @GetMapping("/reservations/mine")
-  public List<ReservationResponse> mine() {
-    return reservationService.myReservations();
+  public ReservationPageResponse mine(@RequestParam(defaultValue = "all") String scope,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int limit) {
+    return reservationService.myReservations(scope, cursor, limit);
   }
 
   @DeleteMapping("/reservations/{id}")
   @ResponseStatus(HttpStatus.NO_CONTENT)
-  public void cancel(@PathVariable long id) {
-    reservationService.cancel(id);
+  public void cancel(@PathVariable long id,
+      @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+    idempotencyService.execute("cancel:" + id, idempotencyKey, id, Void.class, () -> {
+      reservationService.cancel(id);
+      return null;
+    });
+  }
+
+  /**
+   * If-None-Match handling for the availability reads: tag lists and weak
+   * tags via checkNotModified, plus {@code *}, which Spring only honours for
+   * unsafe methods but on a GET matches any current version.
+   */
+  private static boolean isNotModified(WebRequest request, String etag) {
+    return request.checkNotModified(etag) || "*".equals(request.getHeader(HttpHeaders.IF_NONE_MATCH));
+  }
+
+  /** checkNotModified has already written the ETag header. */
+  private static <T> ResponseEntity<T> notModified() {
+    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).varyBy(HttpHeaders.ACCEPT).build();
+  }
+
+  private static String availabilityETag(long version) {
+    return "\"" + version + "\"";
+  }
+
+  // each representation needs its own tag, or a cache could answer one Accept with the other's bytes
+  private static String bitmapJsonETag(long version) {
+    return "\"" + version + "-bitmap-json\"";
+  }
+
+  private static String bitmapBytesETag(long version) {
+    return "\"" + version + "-bitmap-bin\"";
   }
 
   @ExceptionHandler(SeatAlreadyBookedException.class)
   @ResponseStatus(HttpStatus.CONFLICT)
   public Map<String, Object> conflict(SeatAlreadyBookedException ex) {
+    return Map.of("error", ex.getMessage(), "seatIds", ex.getSeatIds());
+  }
+
+  @ExceptionHandler(IdempotencyConflictException.class)
+  @ResponseStatus(HttpStatus.CONFLICT)
+  public Map<String, Object> idempotencyConflict(IdempotencyConflictException ex) {
+    return Map.of("error", ex.getMessage());
+  }
+
+  @ExceptionHandler(IdempotencyFailureException.class)
+  @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+  public Map<String, Object> idempotencyFailure(IdempotencyFailureException ex) {
+    return Map.of("error", ex.getMessage());
+  }
+
+  @ExceptionHandler({ReservationQueueFullException.class, ReservationTimeoutException.class,
+      ReservationUnavailableException.class})
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  public Map<String, Object> unavailable(RuntimeException ex) {
     return Map.of("error", ex.getMessage());
   }
 
@@ -0,0 +1,37 @@
+package com.mrs.backend.api;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mrs.backend.schedule.ScheduleService;
+import com.mrs.backend.schedule.dto.ScheduleResponse;
+
+@RestController
+@RequestMapping("/api")
+public class ScheduleController {
+
+  private final ScheduleService scheduleService;
+
+  public ScheduleController(ScheduleService scheduleService) {
+    this.scheduleService = scheduleService;
+  }
+
+  @GetMapping("/schedule")
+  public ScheduleResponse schedule(@RequestParam LocalDate date) {
+    return scheduleService.day(date);
+  }
+
+  @ExceptionHandler(IllegalArgumentException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public Map<String, Object> badRequest(IllegalArgumentException ex) {
+    return Map.of("error", ex.getMessage());
+  }
+}
@@ -0,0 +1,78 @@
+package com.mrs.backend.api;
+
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mrs.backend.reservation.ReservationSequencer.ReservationQueueFullException;
+import com.mrs.backend.reservation.ReservationSequencer.ReservationTimeoutException;
+import com.mrs.backend.reservation.ReservationSequencer.ReservationUnavailableException;
+import com.mrs.backend.reservation.ReservationService.SeatAlreadyBookedException;
+import com.mrs.backend.reservation.SeatHoldService;
+import com.mrs.backend.reservation.dto.HoldSeatsRequest;
+import com.mrs.backend.reservation.dto.ReservationResponse;
+import com.mrs.backend.reservation.dto.SeatHoldResponse;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api")
+public class SeatHoldController {
+
+  private final SeatHoldService seatHoldService;
+
+  public SeatHoldController(SeatHoldService seatHoldService) {
+    this.seatHoldService = seatHoldService;
+  }
+
+  @PostMapping("/showtimes/{id}/holds")
+  @ResponseStatus(HttpStatus.CREATED)
+  public SeatHoldResponse hold(@PathVariable long id, @Valid @RequestBody HoldSeatsRequest req) {
+    return seatHoldService.hold(id, req);
+  }
+
+  @PostMapping("/holds/{holdId}/confirm")
+  @ResponseStatus(HttpStatus.CREATED)
+  public ReservationResponse confirm(@PathVariable String holdId) {
+    return seatHoldService.confirm(holdId);
+  }
+
+  @DeleteMapping("/holds/{holdId}")
+  @ResponseStatus(HttpStatus.NO_CONTENT)
+  public void release(@PathVariable String holdId) {
+    seatHoldService.release(holdId);
+  }
+
+  @ExceptionHandler(SeatAlreadyBookedException.class)
+  @ResponseStatus(HttpStatus.CONFLICT)
+  public Map<String, Object> conflict(SeatAlreadyBookedException ex) {
+    return Map.of("error", ex.getMessage(), "seatIds", ex.getSeatIds());
+  }
+
+  @ExceptionHandler({ReservationQueueFullException.class, ReservationTimeoutException.class,
+      ReservationUnavailableException.class})
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  public Map<String, Object> unavailable(RuntimeException ex) {
+    return Map.of("error", ex.getMessage());
+  }
+
+  @ExceptionHandler(IllegalArgumentException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public Map<String, Object> badRequest(IllegalArgumentException ex) {
+    return Map.of("error", ex.getMessage());
+  }
+
+  @ExceptionHandler(IllegalStateException.class)
+  @ResponseStatus(HttpStatus.UNAUTHORIZED)
+  public Map<String, Object> unauthorized(IllegalStateException ex) {
+    return Map.of("error", ex.getMessage());
+  }
+}
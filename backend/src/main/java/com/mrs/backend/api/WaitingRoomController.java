@@ -0,0 +1,49 @@
+package com.mrs.backend.api;
+
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mrs.backend.admission.AdmissionService;
+import com.mrs.backend.admission.dto.QueueStatusResponse;
+
+@RestController
+@RequestMapping("/api")
+public class WaitingRoomController {
+
+  private final AdmissionService admissionService;
+
+  public WaitingRoomController(AdmissionService admissionService) {
+    this.admissionService = admissionService;
+  }
+
+  @PostMapping("/showtimes/{id}/queue")
+  @ResponseStatus(HttpStatus.CREATED)
+  public QueueStatusResponse join(@PathVariable long id) {
+    return admissionService.join(id);
+  }
+
+  @GetMapping("/showtimes/{id}/queue/{token}")
+  public QueueStatusResponse status(@PathVariable long id, @PathVariable String token) {
+    return admissionService.status(id, token);
+  }
+
+  @ExceptionHandler(IllegalArgumentException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public Map<String, Object> badRequest(IllegalArgumentException ex) {
+    return Map.of("error", ex.getMessage());
+  }
+
+  @ExceptionHandler(IllegalStateException.class)
+  @ResponseStatus(HttpStatus.UNAUTHORIZED)
+  public Map<String, Object> unauthorized(IllegalStateException ex) {
+    return Map.of("error", ex.getMessage());
+  }
+}
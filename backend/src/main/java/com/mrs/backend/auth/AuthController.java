@@ -5,7 +5,6 @@ import java.util.Map;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -13,6 +12,8 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.mrs.backend.security.JwtService;
+import com.mrs.backend.security.PasswordHasher;
+import com.mrs.backend.security.PasswordHasher.PasswordHashingBusyException;
 import com.mrs.backend.user.User;
 import com.mrs.backend.user.UserRepository;
 import com.mrs.backend.user.UserRole;
@@ -24,12 +25,12 @@ import jakarta.validation.Valid;
 public class AuthController {
 
   private final UserRepository userRepository;
-  private final PasswordEncoder passwordEncoder;
+  private final PasswordHasher passwordHasher;
   private final JwtService jwtService;
 
-  public AuthController(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwtService) {
+  public AuthController(UserRepository userRepository, PasswordHasher passwordHasher, JwtService jwtService) {
     this.userRepository = userRepository;
-    this.passwordEncoder = passwordEncoder;
+    this.passwordHasher = passwordHasher;
     this.jwtService = jwtService;
   }
 
@@ -43,7 +44,7 @@ public class AuthController {
     User user = new User();
     user.setName(req.name());
     user.setEmail(req.email().trim().toLowerCase());
-    user.setPasswordHash(passwordEncoder.encode(req.password()));
+    user.setPasswordHash(passwordHasher.encode(req.password()));
     user.setRole(UserRole.USER);
     user.setCreatedAt(Instant.now());
 
@@ -64,9 +65,13 @@ public class AuthController {
     User user = userRepository.findByEmailIgnoreCase(req.email())
         .orElseThrow(() -> new IllegalArgumentException("Invalid credentials"));
 
-    if (!passwordEncoder.matches(req.password(), user.getPasswordHash())) {
+    if (!passwordHasher.matches(req.password(), user.getPasswordHash())) {
       throw new IllegalArgumentException("Invalid credentials");
     }
+    if (passwordHasher.needsRehash(user.getPasswordHash())) {
+      user.setPasswordHash(passwordHasher.encode(req.password()));
+      user = userRepository.save(user);
+    }
 
     String token = jwtService.generateToken(user);
     return Map.of(
@@ -78,6 +83,12 @@ public class AuthController {
             "role", user.getRole().name()));
   }
 
+  @ExceptionHandler(PasswordHashingBusyException.class)
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  public Map<String, Object> busy(PasswordHashingBusyException ex) {
+    return Map.of("error", ex.getMessage());
+  }
+
   @ExceptionHandler(IllegalArgumentException.class)
   @ResponseStatus(HttpStatus.BAD_REQUEST)
   public Map<String, Object> handleIllegalArgument(IllegalArgumentException ex) {
@@ -0,0 +1,167 @@
+package com.mrs.backend.booking;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.mrs.backend.booking.dto.BookingViewResponse;
+import com.mrs.backend.movie.MovieCatalogChangedEvent;
+import com.mrs.backend.reservation.ReservationService;
+import com.mrs.backend.reservation.dto.ShowtimeSeatAvailabilityResponse;
+import com.mrs.backend.seat.AuditoriumSeatMap;
+import com.mrs.backend.seat.SeatMapCache;
+import com.mrs.backend.showtime.Showtime;
+import com.mrs.backend.showtime.ShowtimeChangedEvent;
+import com.mrs.backend.showtime.ShowtimeRepository;
+import com.mrs.backend.showtime.dto.ShowtimeDetailResponse;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Everything the seat picker needs in one response. The showtime detail and
+ * seat map are cached; whatever is not cached is loaded concurrently with the
+ * live availability. Details are dropped when their showtime or movie changes,
+ * after a ttl, and least recently used first once {@code maxShowtimes} are held.
+ */
+@Service
+public class BookingViewService {
+
+  private final ShowtimeRepository showtimeRepository;
+  private final SeatMapCache seatMapCache;
+  private final ReservationService reservationService;
+  private final Duration ttl;
+
+  // access-ordered LRU; also the lock that orders puts against invalidation
+  private final Map<Long, CachedDetail> details;
+  private long generation;
+
+  private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+      Thread.ofVirtual().name("booking-view-", 0).factory());
+
+  public BookingViewService(ShowtimeRepository showtimeRepository,
+      SeatMapCache seatMapCache,
+      ReservationService reservationService,
+      MeterRegistry meterRegistry,
+      @Value("${app.seat-map.max-showtimes:100000}") int maxShowtimes,
+      @Value("${app.booking-view.cache-ttl-seconds:300}") long ttlSeconds) {
+    this.showtimeRepository = showtimeRepository;
+    this.seatMapCache = seatMapCache;
+    this.reservationService = reservationService;
+    this.ttl = Duration.ofSeconds(ttlSeconds);
+    this.details = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, CachedDetail> eldest) {
+        return size() > maxShowtimes;
+      }
+    };
+
+    Gauge.builder("booking.view.cache.showtimes", this, BookingViewService::cachedShowtimes).register(meterRegistry);
+  }
+
+  public BookingViewResponse view(long showtimeId) {
+    CompletableFuture<ShowtimeSeatAvailabilityResponse> availability =
+        CompletableFuture.supplyAsync(() -> reservationService.availability(showtimeId, null), executor);
+    ShowtimeDetailResponse cached = cachedDetail(showtimeId);
+    CompletableFuture<ShowtimeDetailResponse> detail = cached != null
+        ? CompletableFuture.completedFuture(cached)
+        : CompletableFuture.supplyAsync(() -> loadDetail(showtimeId), executor);
+
+    AuditoriumSeatMap seatMap = seatMapCache.forShowtime(showtimeId);
+    return new BookingViewResponse(join(detail), seatMap.toResponses(), join(availability));
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onShowtimeChanged(ShowtimeChangedEvent event) {
+    synchronized (details) {
+      generation++;
+      details.remove(event.showtimeId());
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onCatalogChanged(MovieCatalogChangedEvent event) {
+    synchronized (details) {
+      generation++;
+      details.values().removeIf(d -> d.detail().movieId() == event.movieId());
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${app.booking-view.cache-ttl-seconds:300}", timeUnit = TimeUnit.SECONDS)
+  public void evictExpired() {
+    synchronized (details) {
+      details.values().removeIf(d -> d.isExpired(ttl));
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private ShowtimeDetailResponse cachedDetail(long showtimeId) {
+    synchronized (details) {
+      CachedDetail cached = details.get(showtimeId);
+      return cached == null || cached.isExpired(ttl) ? null : cached.detail();
+    }
+  }
+
+  private double cachedShowtimes() {
+    synchronized (details) {
+      return details.size();
+    }
+  }
+
+  private ShowtimeDetailResponse loadDetail(long showtimeId) {
+    long loadedAt;
+    synchronized (details) {
+      loadedAt = generation;
+    }
+    Showtime s = showtimeRepository.findDetailById(showtimeId)
+        .orElseThrow(() -> new IllegalArgumentException("Showtime not found"));
+    ShowtimeDetailResponse detail = new ShowtimeDetailResponse(
+        s.getId(),
+        s.getMovie().getId(),
+        s.getMovie().getTitle(),
+        s.getAuditorium().getId(),
+        s.getAuditorium().getName(),
+        s.getStartTime().toString(),
+        s.getEndTime().toString(),
+        s.getPriceCents());
+    synchronized (details) {
+      // a change while the showtime was read may not be in what it read
+      if (generation == loadedAt) {
+        details.put(showtimeId, new CachedDetail(detail, System.nanoTime()));
+      }
+    }
+    return detail;
+  }
+
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw ex;
+    }
+  }
+
+  private record CachedDetail(ShowtimeDetailResponse detail, long loadedAtNanos) {
+    boolean isExpired(Duration ttl) {
+      return System.nanoTime() - loadedAtNanos > ttl.toNanos();
+    }
+  }
+}
@@ -0,0 +1,13 @@
+package com.mrs.backend.booking.dto;
+
+import java.util.List;
+
+import com.mrs.backend.reservation.dto.ShowtimeSeatAvailabilityResponse;
+import com.mrs.backend.seat.dto.SeatResponse;
+import com.mrs.backend.showtime.dto.ShowtimeDetailResponse;
+
+public record BookingViewResponse(
+    ShowtimeDetailResponse showtime,
+    List<SeatResponse> seats,
+    ShowtimeSeatAvailabilityResponse availability) {
+}
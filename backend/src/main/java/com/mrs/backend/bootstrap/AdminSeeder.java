@@ -5,9 +5,9 @@ import java.time.Instant;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import com.mrs.backend.security.PasswordHasher;
 import com.mrs.backend.user.User;
 import com.mrs.backend.user.UserRepository;
 import com.mrs.backend.user.UserRole;
@@ -16,7 +16,7 @@ import com.mrs.backend.user.UserRole;
 public class AdminSeeder implements ApplicationRunner {
 
   private final UserRepository userRepository;
-  private final PasswordEncoder passwordEncoder;
+  private final PasswordHasher passwordHasher;
 
   private final String adminEmail;
   private final String adminPassword;
@@ -24,12 +24,12 @@ public class AdminSeeder implements ApplicationRunner {
 
   public AdminSeeder(
       UserRepository userRepository,
-      PasswordEncoder passwordEncoder,
+      PasswordHasher passwordHasher,
       @Value("${app.admin.email}") String adminEmail,
       @Value("${app.admin.password}") String adminPassword,
       @Value("${app.admin.name:Admin}") String adminName) {
     this.userRepository = userRepository;
-    this.passwordEncoder = passwordEncoder;
+    this.passwordHasher = passwordHasher;
     this.adminEmail = adminEmail;
     this.adminPassword = adminPassword;
     this.adminName = adminName;
@@ -40,9 +40,21 @@ public class AdminSeeder implements ApplicationRunner {
     String normalizedEmail = adminEmail.trim().toLowerCase();
     User admin = userRepository.findByEmailIgnoreCase(normalizedEmail).orElseGet(User::new);
 
+    boolean passwordCurrent = admin.getPasswordHash() != null
+        && !passwordHasher.needsRehash(admin.getPasswordHash())
+        && passwordHasher.matches(adminPassword, admin.getPasswordHash());
+    if (passwordCurrent
+        && adminName.equals(admin.getName())
+        && normalizedEmail.equals(admin.getEmail())
+        && admin.getRole() == UserRole.SUPER_ADMIN) {
+      return;
+    }
+
     admin.setName(adminName);
     admin.setEmail(normalizedEmail);
-    admin.setPasswordHash(passwordEncoder.encode(adminPassword));
+    if (!passwordCurrent) {
+      admin.setPasswordHash(passwordHasher.encode(adminPassword));
+    }
     admin.setRole(UserRole.SUPER_ADMIN);
     if (admin.getCreatedAt() == null) {
       admin.setCreatedAt(Instant.now());
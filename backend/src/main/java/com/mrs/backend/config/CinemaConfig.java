@@ -0,0 +1,16 @@
+package com.mrs.backend.config;
+
+import java.time.ZoneId;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CinemaConfig {
+
+  @Bean
+  ZoneId cinemaTimeZone(@Value("${app.cinema.time-zone:UTC}") String timeZone) {
+    return ZoneId.of(timeZone);
+  }
+}
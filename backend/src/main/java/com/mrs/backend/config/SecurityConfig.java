@@ -41,18 +41,22 @@ public class SecurityConfig {
         .authorizeHttpRequests(auth -> auth
             .requestMatchers("/api/health").permitAll()
             .requestMatchers("/actuator/health").permitAll()
+            .requestMatchers("/actuator/**").hasAnyRole("ADMIN", "SUPER_ADMIN")
             .requestMatchers("/error").permitAll()
             .requestMatchers("/api/auth/**").permitAll()
             .requestMatchers("/api/genres").permitAll()
             .requestMatchers("/api/movies").permitAll()
             .requestMatchers("/api/movies/*").permitAll()
             .requestMatchers("/api/movies/*/showtimes").permitAll()
+            .requestMatchers(HttpMethod.GET, "/api/schedule").permitAll()
             .requestMatchers("/api/admin/**").authenticated()
             .requestMatchers(HttpMethod.GET, "/api/showtimes/{id}").permitAll()
             .requestMatchers(HttpMethod.GET, "/api/showtimes/*").permitAll()
             .requestMatchers(new RegexRequestMatcher("^/api/showtimes/\\d+$", HttpMethod.GET.name())).permitAll()
             .requestMatchers("/api/showtimes/*/seats").permitAll()
             .requestMatchers("/api/showtimes/*/availability").permitAll()
+            .requestMatchers(HttpMethod.GET, "/api/showtimes/*/booking-view").permitAll()
+            .requestMatchers("/api/showtimes/*/availability/stream").permitAll()
             .anyRequest().authenticated())
         .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
         .build();
@@ -68,8 +72,8 @@ public class SecurityConfig {
         .toList();
     cfg.setAllowedOrigins(origins);
     cfg.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-    cfg.setAllowedHeaders(List.of("Authorization", "Content-Type", "Accept"));
-    cfg.setExposedHeaders(List.of("Authorization"));
+    cfg.setAllowedHeaders(List.of("Authorization", "Content-Type", "Accept", "X-Queue-Token", "Idempotency-Key", "If-None-Match"));
+    cfg.setExposedHeaders(List.of("Authorization", "ETag"));
     cfg.setAllowCredentials(true);
 
     UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -78,7 +82,7 @@ public class SecurityConfig {
   }
 
   @Bean
-  PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  PasswordEncoder passwordEncoder(@Value("${app.password-hashing.bcrypt-strength:10}") int strength) {
+    return new BCryptPasswordEncoder(strength);
   }
 }
@@ -0,0 +1,24 @@
+package com.mrs.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.mrs.backend.admission.AdmissionInterceptor;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+  private final AdmissionInterceptor admissionInterceptor;
+
+  public WebConfig(AdmissionInterceptor admissionInterceptor) {
+    this.admissionInterceptor = admissionInterceptor;
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(admissionInterceptor)
+        .addPathPatterns("/api/showtimes/*/**")
+        .excludePathPatterns("/api/showtimes/*", "/api/showtimes/*/queue", "/api/showtimes/*/queue/*");
+  }
+}
@@ -0,0 +1,11 @@
+package com.mrs.backend.idempotency;
+
+import java.time.Instant;
+
+public record IdempotencyRecord(
+    String key,
+    String fingerprint,
+    boolean completed,
+    String responseBody,
+    Instant expiresAt) {
+}
@@ -0,0 +1,173 @@
+package com.mrs.backend.idempotency;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrs.backend.security.AuthUser;
+import com.mrs.backend.security.CurrentUserService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Runs a mutating operation at most once per (user, operation, key). The
+ * stores are consulted in order, so a node that has not seen a key locally
+ * still finds it in the shared table when that store is enabled.
+ */
+@Service
+public class IdempotencyService {
+
+  private static final int MAX_KEY_LENGTH = 200;
+
+  private final List<IdempotencyStore> stores;
+  private final CurrentUserService currentUserService;
+  private final ObjectMapper objectMapper;
+  private final Duration ttl;
+  private final Duration lease;
+
+  private final Counter executed;
+  private final Counter replayed;
+
+  public IdempotencyService(List<IdempotencyStore> stores,
+      CurrentUserService currentUserService,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      @Value("${app.idempotency.ttl-seconds:86400}") long ttlSeconds,
+      @Value("${app.idempotency.lease-seconds:30}") long leaseSeconds) {
+    this.stores = stores;
+    this.currentUserService = currentUserService;
+    this.objectMapper = objectMapper;
+    this.ttl = Duration.ofSeconds(ttlSeconds);
+    this.lease = Duration.ofSeconds(leaseSeconds);
+
+    this.executed = Counter.builder("idempotency.requests").tag("result", "executed").register(meterRegistry);
+    this.replayed = Counter.builder("idempotency.requests").tag("result", "replayed").register(meterRegistry);
+  }
+
+  public <T> T execute(String operation, String idempotencyKey, Object request, Class<T> responseType,
+      Supplier<T> action) {
+    if (idempotencyKey == null) {
+      return action.get();
+    }
+    if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+      throw new IllegalArgumentException("Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters");
+    }
+    Optional<AuthUser> user = currentUserService.getCurrentUser();
+    if (user.isEmpty()) {
+      return action.get();
+    }
+
+    String key = user.get().getId() + ":" + operation + ":" + idempotencyKey;
+    String fingerprint = fingerprint(request);
+
+    Optional<IdempotencyRecord> existing = find(key);
+    if (existing.isPresent()) {
+      return replay(existing.get(), fingerprint, responseType);
+    }
+
+    if (!begin(key, fingerprint)) {
+      return find(key)
+          .map(record -> replay(record, fingerprint, responseType))
+          .orElseThrow(() -> new IdempotencyConflictException("A request with this Idempotency-Key is already in progress"));
+    }
+
+    T response;
+    try {
+      response = action.get();
+    } catch (RuntimeException ex) {
+      stores.forEach(store -> store.abandon(key));
+      throw ex;
+    }
+
+    String body = serialize(response);
+    Instant expiresAt = Instant.now().plus(ttl);
+    stores.forEach(store -> store.complete(key, body, expiresAt));
+    executed.increment();
+    return response;
+  }
+
+  private Optional<IdempotencyRecord> find(String key) {
+    for (IdempotencyStore store : stores) {
+      Optional<IdempotencyRecord> record = store.find(key);
+      if (record.isPresent()) {
+        return record;
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Claims the key in every store. The in-progress entry only lives for the
+   * lease, so a key whose request died mid-flight is usable again after that
+   * instead of after the full response TTL.
+   */
+  private boolean begin(String key, String fingerprint) {
+    Instant leaseExpiresAt = Instant.now().plus(lease);
+    for (int i = 0; i < stores.size(); i++) {
+      if (!stores.get(i).begin(key, fingerprint, leaseExpiresAt)) {
+        for (int j = 0; j < i; j++) {
+          stores.get(j).abandon(key);
+        }
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private <T> T replay(IdempotencyRecord record, String fingerprint, Class<T> responseType) {
+    if (!record.fingerprint().equals(fingerprint)) {
+      throw new IllegalArgumentException("Idempotency-Key was already used with a different request");
+    }
+    if (!record.completed()) {
+      throw new IdempotencyConflictException("A request with this Idempotency-Key is already in progress");
+    }
+    replayed.increment();
+    try {
+      return objectMapper.readValue(record.responseBody(), responseType);
+    } catch (JsonProcessingException ex) {
+      throw new IdempotencyFailureException("Stored idempotent response is unreadable", ex);
+    }
+  }
+
+  private String serialize(Object value) {
+    try {
+      return objectMapper.writeValueAsString(value);
+    } catch (JsonProcessingException ex) {
+      throw new IdempotencyFailureException("Response is not serializable", ex);
+    }
+  }
+
+  private String fingerprint(Object request) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(serialize(request).getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IdempotencyFailureException("SHA-256 is not available", ex);
+    }
+  }
+
+  public static class IdempotencyConflictException extends RuntimeException {
+    public IdempotencyConflictException(String message) {
+      super(message);
+    }
+  }
+
+  /** A fault on the server side, not in the request: a response that cannot be stored or replayed. */
+  public static class IdempotencyFailureException extends RuntimeException {
+    public IdempotencyFailureException(String message, Throwable cause) {
+      super(message, cause);
+    }
+  }
+}
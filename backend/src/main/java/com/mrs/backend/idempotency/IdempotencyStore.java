@@ -0,0 +1,23 @@
+package com.mrs.backend.idempotency;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface IdempotencyStore {
+
+  Optional<IdempotencyRecord> find(String key);
+
+  /**
+   * Records an in-progress entry for the key, leased until
+   * {@code leaseExpiresAt}. Returns false if a completed entry or an unexpired
+   * lease already exists; an entry whose lease ran out is taken over.
+   */
+  boolean begin(String key, String fingerprint, Instant leaseExpiresAt);
+
+  /**
+   * Stores the response and keeps the entry until {@code expiresAt}.
+   */
+  void complete(String key, String responseBody, Instant expiresAt);
+
+  void abandon(String key);
+}
@@ -0,0 +1,59 @@
+package com.mrs.backend.idempotency;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Component
+@Order(1)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+  private final Map<String, IdempotencyRecord> records;
+
+  public InMemoryIdempotencyStore(@Value("${app.idempotency.max-entries:100000}") int maxEntries) {
+    this.records = new LinkedHashMap<>(1024, 0.75f, false) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+        return size() > maxEntries || eldest.getValue().expiresAt().isBefore(Instant.now());
+      }
+    };
+  }
+
+  @Override
+  public synchronized Optional<IdempotencyRecord> find(String key) {
+    IdempotencyRecord record = records.get(key);
+    if (record != null && record.expiresAt().isBefore(Instant.now())) {
+      records.remove(key);
+      return Optional.empty();
+    }
+    return Optional.ofNullable(record);
+  }
+
+  @Override
+  public synchronized boolean begin(String key, String fingerprint, Instant leaseExpiresAt) {
+    if (find(key).isPresent()) {
+      return false;
+    }
+    records.put(key, new IdempotencyRecord(key, fingerprint, false, null, leaseExpiresAt));
+    return true;
+  }
+
+  @Override
+  public synchronized void complete(String key, String responseBody, Instant expiresAt) {
+    // re-inserted so insertion order keeps following expiry for removeEldestEntry
+    IdempotencyRecord record = records.remove(key);
+    if (record != null) {
+      records.put(key, new IdempotencyRecord(key, record.fingerprint(), true, responseBody, expiresAt));
+    }
+  }
+
+  @Override
+  public synchronized void abandon(String key) {
+    records.remove(key);
+  }
+}
@@ -0,0 +1,67 @@
+package com.mrs.backend.idempotency;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Order(2)
+@ConditionalOnProperty(name = "app.idempotency.jdbc-enabled", havingValue = "true")
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public Optional<IdempotencyRecord> find(String key) {
+    return jdbcTemplate.query(
+        "select idem_key, fingerprint, completed, response_body, expires_at from idempotency_key "
+            + "where idem_key = ? and expires_at > now()",
+        (rs, rowNum) -> new IdempotencyRecord(
+            rs.getString("idem_key"),
+            rs.getString("fingerprint"),
+            rs.getBoolean("completed"),
+            rs.getString("response_body"),
+            rs.getTimestamp("expires_at").toInstant()),
+        key).stream().findFirst();
+  }
+
+  @Override
+  public boolean begin(String key, String fingerprint, Instant leaseExpiresAt) {
+    int rows = jdbcTemplate.update("""
+        insert into idempotency_key (idem_key, fingerprint, completed, response_body, expires_at)
+        values (?, ?, false, null, ?)
+        on conflict (idem_key) do update
+          set fingerprint = excluded.fingerprint, completed = false, response_body = null,
+              created_at = now(), expires_at = excluded.expires_at
+          where idempotency_key.expires_at <= now()
+        """, key, fingerprint, Timestamp.from(leaseExpiresAt));
+    return rows == 1;
+  }
+
+  @Override
+  public void complete(String key, String responseBody, Instant expiresAt) {
+    jdbcTemplate.update(
+        "update idempotency_key set completed = true, response_body = ?, expires_at = ? where idem_key = ?",
+        responseBody, Timestamp.from(expiresAt), key);
+  }
+
+  @Override
+  public void abandon(String key) {
+    jdbcTemplate.update("delete from idempotency_key where idem_key = ? and completed = false", key);
+  }
+
+  @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:600000}")
+  public void purgeExpired() {
+    jdbcTemplate.update("delete from idempotency_key where expires_at <= now()");
+  }
+}
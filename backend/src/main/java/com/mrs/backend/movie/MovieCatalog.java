@@ -0,0 +1,116 @@
+package com.mrs.backend.movie;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.mrs.backend.movie.dto.GenreResponse;
+import com.mrs.backend.movie.dto.MovieResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Immutable view of the public catalog. Readers only dereference the current
+ * snapshot; admin writes and a periodic refresh rebuild a new one on a
+ * background thread and swap it in whole.
+ */
+@Component
+public class MovieCatalog {
+
+  private final MovieRepository movieRepository;
+  private final GenreRepository genreRepository;
+
+  private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+  private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+  private final ExecutorService executor =
+      Executors.newSingleThreadExecutor(Thread.ofVirtual().name("movie-catalog-rebuild").factory());
+
+  private final Timer rebuildTimer;
+  private final Counter rebuildFailures;
+
+  public MovieCatalog(MovieRepository movieRepository, GenreRepository genreRepository, MeterRegistry meterRegistry) {
+    this.movieRepository = movieRepository;
+    this.genreRepository = genreRepository;
+
+    this.rebuildTimer = Timer.builder("movie.catalog.rebuild.duration").register(meterRegistry);
+    this.rebuildFailures = Counter.builder("movie.catalog.rebuild.failures").register(meterRegistry);
+    Gauge.builder("movie.catalog.movies", snapshot, s -> s.get() == null ? 0 : s.get().moviesById().size())
+        .register(meterRegistry);
+
+    rebuild();
+  }
+
+  public List<GenreResponse> genres() {
+    return snapshot.get().genres();
+  }
+
+  public MovieResponse movie(long id) {
+    MovieResponse movie = snapshot.get().moviesById().get(id);
+    if (movie == null) {
+      throw new IllegalArgumentException("Movie not found");
+    }
+    return movie;
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onCatalogChanged(MovieCatalogChangedEvent event) {
+    requestRebuild();
+  }
+
+  @Scheduled(
+      initialDelayString = "${app.catalog.refresh-interval-ms:300000}",
+      fixedDelayString = "${app.catalog.refresh-interval-ms:300000}")
+  public void refresh() {
+    requestRebuild();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private void requestRebuild() {
+    // requests arriving while a rebuild is queued fold into it
+    if (rebuildQueued.compareAndSet(false, true)) {
+      executor.execute(() -> {
+        rebuildQueued.set(false);
+        try {
+          rebuild();
+        } catch (RuntimeException ex) {
+          rebuildFailures.increment();
+        }
+      });
+    }
+  }
+
+  private void rebuild() {
+    rebuildTimer.record(() -> {
+      List<GenreResponse> genres = genreRepository.findAll(Sort.by("id")).stream()
+          .map(g -> new GenreResponse(g.getId(), g.getName()))
+          .toList();
+
+      Map<Long, MovieResponse> byId = new HashMap<>();
+      for (Movie m : movieRepository.findAllWithGenre()) {
+        byId.put(m.getId(), MovieService.toResponse(m));
+      }
+
+      snapshot.set(new Snapshot(genres, Map.copyOf(byId)));
+    });
+  }
+
+  private record Snapshot(List<GenreResponse> genres, Map<Long, MovieResponse> moviesById) {
+  }
+}
@@ -0,0 +1,4 @@
+package com.mrs.backend.movie;
+
+public record MovieCatalogChangedEvent(long movieId) {
+}
@@ -0,0 +1,6 @@
+package com.mrs.backend.movie;
+
+import java.time.Instant;
+
+public record MovieFilter(Boolean active, Long genreId, Instant showingFrom, Instant showingTo) {
+}
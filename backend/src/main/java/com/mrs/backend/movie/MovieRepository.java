@@ -1,6 +1,12 @@
 package com.mrs.backend.movie;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface MovieRepository extends JpaRepository<Movie, Long>, MovieRepositoryCustom {
 
-public interface MovieRepository extends JpaRepository<Movie, Long> {
+  @Query("select m from Movie m join fetch m.genre order by m.id")
+  List<Movie> findAllWithGenre();
 }
@@ -0,0 +1,46 @@
+package com.mrs.backend.movie;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.mrs.backend.movie.dto.MovieSummaryResponse;
+
+public interface MovieRepositoryCustom {
+
+  /**
+   * Keyset page of movie summaries. {@code afterKey} is the sort key of the last
+   * row of the previous page (title, or created_at as an ISO instant).
+   */
+  List<MovieSummaryResponse> findSummaryPage(MovieFilter filter, MovieSort sort, String afterKey, Long afterId,
+      int limit);
+
+  /**
+   * Active movies matching a web-search style query, best match first. The
+   * previous page ends at {@code afterRank}/{@code afterId}.
+   */
+  List<MovieSearchHit> search(String query, Float afterRank, Long afterId, int limit);
+
+  /**
+   * Same hits and order as {@link #search} for a query that is the single
+   * {@code lexeme}, read from the precomputed ranks in movie_search_term.
+   */
+  List<MovieSearchHit> searchLexeme(String lexeme, Float afterRank, Long afterId, int limit);
+
+  /**
+   * Text of the tsquery a search string parses to, so spellings that stem to
+   * the same lexemes compare equal.
+   */
+  String normalizeSearchQuery(String query);
+
+  /**
+   * Lexemes that occur in the most active movies, most frequent first.
+   */
+  List<String> findCommonSearchTerms(int limit);
+
+  /**
+   * Active movies with their confirmed reservation count, used as popularity.
+   */
+  List<MovieTitleEntry> findTitleEntries();
+
+  Optional<MovieTitleEntry> findTitleEntry(long id);
+}
@@ -0,0 +1,200 @@
+package com.mrs.backend.movie;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.mrs.backend.movie.dto.GenreResponse;
+import com.mrs.backend.movie.dto.MovieSummaryResponse;
+
+public class MovieRepositoryCustomImpl implements MovieRepositoryCustom {
+
+  private static final String SELECT_SUMMARY_SQL = """
+      select m.id, m.title, m.poster_url, m.active, m.created_at, g.id as genre_id, g.name as genre_name
+      from movie m
+      join genre g on g.id = m.genre_id
+      where true
+      """;
+
+  private static final String SEARCH_SQL = """
+      select * from (
+        select m.id, m.title, m.poster_url, m.active, m.created_at, g.id as genre_id, g.name as genre_name,
+               ts_rank(m.search_vector, q) as rank
+        from movie m
+        join genre g on g.id = m.genre_id
+        cross join websearch_to_tsquery('english', ?) q
+        where m.search_vector @@ q
+          and m.active
+      ) hits
+      """;
+
+  private static final String SEARCH_LEXEME_SQL = """
+      select * from (
+        select t.movie_id as id, m.title, m.poster_url, m.active, m.created_at, g.id as genre_id,
+               g.name as genre_name, t.rank
+        from movie_search_term t
+        join movie m on m.id = t.movie_id
+        join genre g on g.id = m.genre_id
+        where t.lexeme = ?
+      ) hits
+      """;
+
+  private static final String NORMALIZE_QUERY_SQL = "select websearch_to_tsquery('english', ?)::text";
+
+  private static final String COMMON_TERMS_SQL = """
+      select word
+      from ts_stat('select search_vector from movie where active')
+      order by ndoc desc, word
+      limit ?
+      """;
+
+  private static final String TITLE_ENTRIES_SQL = """
+      select m.id, m.title, m.active, coalesce(p.bookings, 0) as popularity
+      from movie m
+      left join (
+        select s.movie_id, count(*) as bookings
+        from reservation r
+        join showtime s on s.id = r.showtime_id
+        where r.status = 'CONFIRMED'
+        group by s.movie_id
+      ) p on p.movie_id = m.id
+      where m.active
+      order by popularity desc, m.title, m.id
+      """;
+
+  private static final String TITLE_ENTRY_SQL = """
+      select m.id, m.title, m.active,
+             (select count(*)
+              from reservation r
+              join showtime s on s.id = r.showtime_id
+              where s.movie_id = m.id and r.status = 'CONFIRMED') as popularity
+      from movie m
+      where m.id = ?
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public MovieRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public List<MovieSummaryResponse> findSummaryPage(MovieFilter filter, MovieSort sort, String afterKey,
+      Long afterId, int limit) {
+    StringBuilder sql = new StringBuilder(SELECT_SUMMARY_SQL);
+    List<Object> args = new ArrayList<>();
+
+    if (filter.active() != null) {
+      sql.append("  and m.active = ?\n");
+      args.add(filter.active());
+    }
+    if (filter.genreId() != null) {
+      sql.append("  and m.genre_id = ?\n");
+      args.add(filter.genreId());
+    }
+    if (filter.showingFrom() != null || filter.showingTo() != null) {
+      sql.append("  and exists (select 1 from showtime s where s.movie_id = m.id");
+      if (filter.showingFrom() != null) {
+        sql.append(" and s.start_time >= ?");
+        args.add(Timestamp.from(filter.showingFrom()));
+      }
+      if (filter.showingTo() != null) {
+        sql.append(" and s.start_time < ?");
+        args.add(Timestamp.from(filter.showingTo()));
+      }
+      sql.append(")\n");
+    }
+
+    if (sort == MovieSort.NEWEST) {
+      if (afterId != null) {
+        sql.append("  and (m.created_at, m.id) < (?, ?)\n");
+        args.add(Timestamp.from(Instant.parse(afterKey)));
+        args.add(afterId);
+      }
+      sql.append("order by m.created_at desc, m.id desc\n");
+    } else {
+      if (afterId != null) {
+        sql.append("  and (m.title, m.id) > (?, ?)\n");
+        args.add(afterKey);
+        args.add(afterId);
+      }
+      sql.append("order by m.title, m.id\n");
+    }
+    sql.append("limit ?\n");
+    args.add(limit);
+
+    return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> toSummary(rs), args.toArray());
+  }
+
+  @Override
+  public List<MovieSearchHit> search(String query, Float afterRank, Long afterId, int limit) {
+    return searchPage(SEARCH_SQL, query, afterRank, afterId, limit);
+  }
+
+  @Override
+  public List<MovieSearchHit> searchLexeme(String lexeme, Float afterRank, Long afterId, int limit) {
+    return searchPage(SEARCH_LEXEME_SQL, lexeme, afterRank, afterId, limit);
+  }
+
+  private List<MovieSearchHit> searchPage(String select, String term, Float afterRank, Long afterId, int limit) {
+    StringBuilder sql = new StringBuilder(select);
+    List<Object> args = new ArrayList<>();
+    args.add(term);
+
+    if (afterId != null) {
+      sql.append("where rank < ? or (rank = ? and id > ?)\n");
+      args.add(afterRank);
+      args.add(afterRank);
+      args.add(afterId);
+    }
+    sql.append("""
+        order by rank desc, id
+        limit ?
+        """);
+    args.add(limit);
+
+    return jdbcTemplate.query(sql.toString(),
+        (rs, rowNum) -> new MovieSearchHit(toSummary(rs), rs.getFloat("rank")), args.toArray());
+  }
+
+  @Override
+  public String normalizeSearchQuery(String query) {
+    return jdbcTemplate.queryForObject(NORMALIZE_QUERY_SQL, String.class, query);
+  }
+
+  @Override
+  public List<String> findCommonSearchTerms(int limit) {
+    return jdbcTemplate.queryForList(COMMON_TERMS_SQL, String.class, limit);
+  }
+
+  @Override
+  public List<MovieTitleEntry> findTitleEntries() {
+    return jdbcTemplate.query(TITLE_ENTRIES_SQL, (rs, rowNum) -> toTitleEntry(rs));
+  }
+
+  @Override
+  public Optional<MovieTitleEntry> findTitleEntry(long id) {
+    return jdbcTemplate.query(TITLE_ENTRY_SQL, (rs, rowNum) -> toTitleEntry(rs), id).stream().findFirst();
+  }
+
+  private static MovieTitleEntry toTitleEntry(ResultSet rs) throws SQLException {
+    return new MovieTitleEntry(rs.getLong("id"), rs.getString("title"), rs.getBoolean("active"),
+        rs.getLong("popularity"));
+  }
+
+  private static MovieSummaryResponse toSummary(ResultSet rs) throws SQLException {
+    return new MovieSummaryResponse(
+        rs.getLong("id"),
+        rs.getString("title"),
+        rs.getString("poster_url"),
+        rs.getBoolean("active"),
+        new GenreResponse(rs.getLong("genre_id"), rs.getString("genre_name")),
+        rs.getTimestamp("created_at").toInstant().toString());
+  }
+}
@@ -0,0 +1,209 @@
+package com.mrs.backend.movie;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Best hits of recent and common search queries. Postgres has to rank every
+ * match before it can return the first page, so a term found in a large part
+ * of the catalog costs tens of milliseconds however small the page is. The top
+ * {@code depth} hits of a query are kept under its normalised tsquery and pages
+ * inside them are cut in memory; the periodic refresh preloads the lexemes that
+ * occur in the most movies. Any catalog write drops everything.
+ *
+ * <p>Normalising is itself a database call, so the tsquery of each raw query
+ * is remembered as well; it only depends on the text search configuration.
+ * A query that normalises to one lexeme, which is what broad terms are, is
+ * read from the precomputed ranks in movie_search_term rather than ranked
+ * over every match, so even a miss stays a short index range scan.
+ */
+@Component
+public class MovieSearchCache {
+
+  // the text form of a tsquery that is one plain lexeme, e.g. 'love' or 'o''neil'
+  private static final Pattern SINGLE_LEXEME = Pattern.compile("'((?:[^'\\\\]|'')+)'");
+
+  private final MovieRepository movieRepository;
+  private final int depth;
+  private final int warmTerms;
+
+  // access-ordered LRU; also the lock that orders puts against invalidation
+  private final Map<String, Entry> entries;
+  private long generation;
+
+  // raw query -> normalised tsquery, access-ordered LRU
+  private final Map<String, String> normalized;
+
+  private final ExecutorService executor =
+      Executors.newSingleThreadExecutor(Thread.ofVirtual().name("movie-search-cache").factory());
+  private final AtomicBoolean warmPending = new AtomicBoolean();
+
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter warmFailures;
+
+  public MovieSearchCache(MovieRepository movieRepository, MeterRegistry meterRegistry,
+      @Value("${app.search.cache-depth:200}") int depth,
+      @Value("${app.search.cache-size:256}") int maxEntries,
+      @Value("${app.search.warm-terms:32}") int warmTerms,
+      @Value("${app.search.query-cache-size:1024}") int maxQueries) {
+    this.movieRepository = movieRepository;
+    this.depth = depth;
+    this.warmTerms = warmTerms;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+        return size() > maxEntries;
+      }
+    };
+    this.normalized = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+        return size() > maxQueries;
+      }
+    };
+
+    this.hits = Counter.builder("movie.search.cache.hits").register(meterRegistry);
+    this.misses = Counter.builder("movie.search.cache.misses").register(meterRegistry);
+    this.warmFailures = Counter.builder("movie.search.cache.warm.failures").register(meterRegistry);
+
+    scheduleWarm();
+  }
+
+  /**
+   * Same contract as {@link MovieRepositoryCustom#search}. Pages that run past
+   * the cached hits of a query are read from the database.
+   */
+  public List<MovieSearchHit> search(String query, Float afterRank, Long afterId, int limit) {
+    String key = normalize(query);
+    Entry entry = get(key);
+    if (entry == null) {
+      misses.increment();
+      entry = load(key, query);
+    } else {
+      hits.increment();
+    }
+
+    int from = 0;
+    if (afterId != null) {
+      while (from < entry.hits.size() && !isAfter(entry.hits.get(from), afterRank, afterId)) {
+        from++;
+      }
+    }
+    int to = Math.min(entry.hits.size(), from + limit);
+    if (to - from == limit || entry.complete) {
+      return List.copyOf(entry.hits.subList(from, to));
+    }
+    return find(key, query, afterRank, afterId, limit);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onCatalogChanged(MovieCatalogChangedEvent event) {
+    synchronized (entries) {
+      generation++;
+      entries.clear();
+    }
+    scheduleWarm();
+  }
+
+  @Scheduled(
+      initialDelayString = "${app.catalog.refresh-interval-ms:300000}",
+      fixedDelayString = "${app.catalog.refresh-interval-ms:300000}")
+  public void refresh() {
+    scheduleWarm();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private Entry get(String key) {
+    synchronized (entries) {
+      return entries.get(key);
+    }
+  }
+
+  private Entry load(String key, String query) {
+    long loadedAt;
+    synchronized (entries) {
+      loadedAt = generation;
+    }
+    List<MovieSearchHit> found = find(key, query, null, null, depth + 1);
+    Entry entry = found.size() > depth
+        ? new Entry(List.copyOf(found.subList(0, depth)), false)
+        : new Entry(List.copyOf(found), true);
+    synchronized (entries) {
+      // a catalog write while the query ran may not be in what it read
+      if (generation == loadedAt) {
+        entries.put(key, entry);
+      }
+    }
+    return entry;
+  }
+
+  private void scheduleWarm() {
+    // writes in a burst share one warm-up
+    if (!warmPending.compareAndSet(false, true)) {
+      return;
+    }
+    executor.execute(() -> {
+      warmPending.set(false);
+      try {
+        for (String term : movieRepository.findCommonSearchTerms(warmTerms)) {
+          String key = normalize(term);
+          if (get(key) == null) {
+            load(key, term);
+          }
+        }
+      } catch (RuntimeException ex) {
+        warmFailures.increment();
+      }
+    });
+  }
+
+  private String normalize(String query) {
+    synchronized (normalized) {
+      String key = normalized.get(query);
+      if (key != null) {
+        return key;
+      }
+    }
+    String key = movieRepository.normalizeSearchQuery(query);
+    synchronized (normalized) {
+      normalized.put(query, key);
+    }
+    return key;
+  }
+
+  private List<MovieSearchHit> find(String key, String query, Float afterRank, Long afterId, int limit) {
+    Matcher lexeme = SINGLE_LEXEME.matcher(key);
+    if (lexeme.matches()) {
+      return movieRepository.searchLexeme(lexeme.group(1).replace("''", "'"), afterRank, afterId, limit);
+    }
+    return movieRepository.search(query, afterRank, afterId, limit);
+  }
+
+  // hits are ordered by rank descending and then id
+  private static boolean isAfter(MovieSearchHit hit, float afterRank, long afterId) {
+    return hit.rank() < afterRank || (hit.rank() == afterRank && hit.movie().id() > afterId);
+  }
+
+  private record Entry(List<MovieSearchHit> hits, boolean complete) {
+  }
+}
@@ -0,0 +1,6 @@
+package com.mrs.backend.movie;
+
+import com.mrs.backend.movie.dto.MovieSummaryResponse;
+
+public record MovieSearchHit(MovieSummaryResponse movie, float rank) {
+}
@@ -1,24 +1,41 @@
 package com.mrs.backend.movie;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Base64;
 import java.util.List;
+import java.util.Locale;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.mrs.backend.movie.dto.GenreResponse;
+import com.mrs.backend.movie.dto.MoviePageResponse;
 import com.mrs.backend.movie.dto.MovieResponse;
+import com.mrs.backend.movie.dto.MovieSummaryResponse;
 import com.mrs.backend.movie.dto.MovieUpsertRequest;
 
 @Service
 public class MovieService {
 
+  private static final int MAX_PAGE_SIZE = 100;
+
   private final MovieRepository movieRepository;
   private final GenreRepository genreRepository;
+  private final MovieSearchCache searchCache;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ZoneId zone;
 
-  public MovieService(MovieRepository movieRepository, GenreRepository genreRepository) {
+  public MovieService(MovieRepository movieRepository, GenreRepository genreRepository,
+      MovieSearchCache searchCache, ApplicationEventPublisher eventPublisher, ZoneId cinemaTimeZone) {
     this.movieRepository = movieRepository;
     this.genreRepository = genreRepository;
+    this.searchCache = searchCache;
+    this.eventPublisher = eventPublisher;
+    this.zone = cinemaTimeZone;
   }
 
   @Transactional(readOnly = true)
@@ -30,11 +47,88 @@ public class MovieService {
 
   @Transactional(readOnly = true)
   public List<MovieResponse> listMovies() {
-    return movieRepository.findAll().stream()
-        .map(this::toResponse)
+    return movieRepository.findAllWithGenre().stream()
+        .map(MovieService::toResponse)
         .toList();
   }
 
+  public MoviePageResponse browse(Boolean active, Long genreId, LocalDate showingFrom, LocalDate showingTo,
+      String sort, String cursor, int limit) {
+    MovieSort parsedSort;
+    try {
+      parsedSort = MovieSort.valueOf(sort.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException ex) {
+      throw new IllegalArgumentException("sort must be one of title, newest");
+    }
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+    }
+    if (showingFrom != null && showingTo != null && showingTo.isBefore(showingFrom)) {
+      throw new IllegalArgumentException("showingTo must not be before showingFrom");
+    }
+
+    MovieFilter filter = new MovieFilter(active, genreId,
+        showingFrom == null ? null : showingFrom.atStartOfDay(zone).toInstant(),
+        showingTo == null ? null : showingTo.plusDays(1).atStartOfDay(zone).toInstant());
+
+    String afterKey = null;
+    Long afterId = null;
+    if (cursor != null && !cursor.isBlank()) {
+      try {
+        String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",", 2);
+        afterId = Long.parseLong(parts[0]);
+        afterKey = parts[1];
+        if (parsedSort == MovieSort.NEWEST) {
+          Instant.parse(afterKey);
+        }
+      } catch (RuntimeException ex) {
+        throw new IllegalArgumentException("Invalid cursor");
+      }
+    }
+
+    List<MovieSummaryResponse> rows = movieRepository.findSummaryPage(filter, parsedSort, afterKey, afterId, limit + 1);
+    if (rows.size() <= limit) {
+      return new MoviePageResponse(rows, null);
+    }
+    List<MovieSummaryResponse> items = rows.subList(0, limit);
+    MovieSummaryResponse last = items.get(limit - 1);
+    String key = parsedSort == MovieSort.NEWEST ? last.createdAt() : last.title();
+    String nextCursor = Base64.getUrlEncoder().withoutPadding()
+        .encodeToString((last.id() + "," + key).getBytes(StandardCharsets.UTF_8));
+    return new MoviePageResponse(List.copyOf(items), nextCursor);
+  }
+
+  public MoviePageResponse search(String query, String cursor, int limit) {
+    if (query == null || query.isBlank()) {
+      throw new IllegalArgumentException("q must not be blank");
+    }
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+    }
+
+    Float afterRank = null;
+    Long afterId = null;
+    if (cursor != null && !cursor.isBlank()) {
+      try {
+        String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",", 2);
+        afterId = Long.parseLong(parts[0]);
+        afterRank = Float.parseFloat(parts[1]);
+      } catch (RuntimeException ex) {
+        throw new IllegalArgumentException("Invalid cursor");
+      }
+    }
+
+    List<MovieSearchHit> hits = searchCache.search(query.trim(), afterRank, afterId, limit + 1);
+    List<MovieSummaryResponse> items = hits.stream().limit(limit).map(MovieSearchHit::movie).toList();
+    if (hits.size() <= limit) {
+      return new MoviePageResponse(items, null);
+    }
+    MovieSearchHit last = hits.get(limit - 1);
+    String nextCursor = Base64.getUrlEncoder().withoutPadding()
+        .encodeToString((last.movie().id() + "," + last.rank()).getBytes(StandardCharsets.UTF_8));
+    return new MoviePageResponse(items, nextCursor);
+  }
+
   @Transactional(readOnly = true)
   public MovieResponse getMovie(long id) {
     Movie m = movieRepository.findById(id)
@@ -55,7 +149,9 @@ public class MovieService {
     movie.setActive(Boolean.TRUE.equals(req.active()));
     movie.setCreatedAt(Instant.now());
 
-    return toResponse(movieRepository.save(movie));
+    Movie saved = movieRepository.save(movie);
+    eventPublisher.publishEvent(new MovieCatalogChangedEvent(saved.getId()));
+    return toResponse(saved);
   }
 
   @Transactional
@@ -72,7 +168,9 @@ public class MovieService {
     movie.setGenre(genre);
     movie.setActive(Boolean.TRUE.equals(req.active()));
 
-    return toResponse(movieRepository.save(movie));
+    Movie saved = movieRepository.save(movie);
+    eventPublisher.publishEvent(new MovieCatalogChangedEvent(saved.getId()));
+    return toResponse(saved);
   }
 
   @Transactional
@@ -81,9 +179,10 @@ public class MovieService {
       throw new IllegalArgumentException("Movie not found");
     }
     movieRepository.deleteById(id);
+    eventPublisher.publishEvent(new MovieCatalogChangedEvent(id));
   }
 
-  private MovieResponse toResponse(Movie m) {
+  static MovieResponse toResponse(Movie m) {
     Genre g = m.getGenre();
     GenreResponse gr = new GenreResponse(g.getId(), g.getName());
     return new MovieResponse(
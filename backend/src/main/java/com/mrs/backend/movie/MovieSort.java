@@ -0,0 +1,6 @@
+package com.mrs.backend.movie;
+
+public enum MovieSort {
+  TITLE,
+  NEWEST
+}
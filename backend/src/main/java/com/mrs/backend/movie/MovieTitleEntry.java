@@ -0,0 +1,4 @@
+package com.mrs.backend.movie;
+
+public record MovieTitleEntry(long id, String title, boolean active, long popularity) {
+}
@@ -0,0 +1,377 @@
+package com.mrs.backend.movie;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.mrs.backend.movie.dto.MovieSuggestionResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Typeahead over active movie titles. Titles are case- and accent-folded and
+ * every word start becomes one posting in a sorted array, so a prefix lookup is
+ * two binary searches plus a top-k scan of the matching range. One and two
+ * letter prefixes match a large share of the catalog, so their top results are
+ * precomputed instead of scanned. Admin writes patch the index for the
+ * affected movie; popularity (confirmed reservations) is refreshed by the
+ * periodic full rebuild.
+ */
+@Component
+public class MovieTitleIndex {
+
+  private static final int MAX_SUGGESTIONS = 20;
+  private static final int SHORT_PREFIX = 2;
+  private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+  private static final Pattern SPACES = Pattern.compile("\\s+");
+
+  private final MovieRepository movieRepository;
+
+  private final AtomicReference<Index> index = new AtomicReference<>(Index.of(List.of()));
+  private final ExecutorService executor =
+      Executors.newSingleThreadExecutor(Thread.ofVirtual().name("movie-title-index").factory());
+
+  private final Timer lookups;
+  private final Counter updateFailures;
+
+  public MovieTitleIndex(MovieRepository movieRepository, MeterRegistry meterRegistry) {
+    this.movieRepository = movieRepository;
+
+    this.lookups = Timer.builder("movie.suggest.duration").register(meterRegistry);
+    this.updateFailures = Counter.builder("movie.suggest.update.failures").register(meterRegistry);
+    Gauge.builder("movie.suggest.postings", index, i -> i.get().postings.length).register(meterRegistry);
+    Gauge.builder("movie.suggest.documents", index, i -> i.get().ids.length).register(meterRegistry);
+
+    rebuild();
+  }
+
+  public List<MovieSuggestionResponse> suggest(String prefix, int limit) {
+    if (prefix == null || prefix.isBlank()) {
+      throw new IllegalArgumentException("prefix must not be blank");
+    }
+    if (limit < 1 || limit > MAX_SUGGESTIONS) {
+      throw new IllegalArgumentException("limit must be between 1 and " + MAX_SUGGESTIONS);
+    }
+    String key = fold(prefix);
+    if (key.isEmpty()) {
+      return List.of();
+    }
+    return lookups.record(() -> index.get().top(key, limit));
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onCatalogChanged(MovieCatalogChangedEvent event) {
+    submit(() -> {
+      MovieTitleEntry entry = movieRepository.findTitleEntry(event.movieId())
+          .filter(MovieTitleEntry::active)
+          .orElse(null);
+      index.set(index.get().with(event.movieId(), entry));
+    });
+  }
+
+  @Scheduled(
+      initialDelayString = "${app.catalog.refresh-interval-ms:300000}",
+      fixedDelayString = "${app.catalog.refresh-interval-ms:300000}")
+  public void refresh() {
+    submit(this::rebuild);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private void submit(Runnable update) {
+    // a single writer thread keeps patches and rebuilds in order
+    executor.execute(() -> {
+      try {
+        update.run();
+      } catch (RuntimeException ex) {
+        updateFailures.increment();
+      }
+    });
+  }
+
+  private void rebuild() {
+    index.set(Index.of(movieRepository.findTitleEntries()));
+  }
+
+  static String fold(String s) {
+    String decomposed = MARKS.matcher(Normalizer.normalize(s, Normalizer.Form.NFD)).replaceAll("");
+    return SPACES.matcher(decomposed.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+  }
+
+  private static final class Index {
+
+    // per document; a removed document keeps its slot with id -1 until the next rebuild
+    private final long[] ids;
+    private final String[] titles;
+    private final String[] keys;
+    private final long[] popularity;
+    // (document << 16 | offset of a word start), ordered by the key suffix at that offset
+    private final long[] postings;
+    // best documents for every prefix of at most SHORT_PREFIX characters that has a match
+    private final Map<String, int[]> heads;
+
+    private Index(long[] ids, String[] titles, String[] keys, long[] popularity, long[] postings,
+        Map<String, int[]> heads) {
+      this.ids = ids;
+      this.titles = titles;
+      this.keys = keys;
+      this.popularity = popularity;
+      this.postings = postings;
+      this.heads = heads;
+    }
+
+    static Index of(Collection<MovieTitleEntry> entries) {
+      int n = entries.size();
+      long[] ids = new long[n];
+      String[] titles = new String[n];
+      String[] keys = new String[n];
+      long[] popularity = new long[n];
+      List<Long> postings = new ArrayList<>();
+      int doc = 0;
+      for (MovieTitleEntry e : entries) {
+        ids[doc] = e.id();
+        titles[doc] = e.title();
+        keys[doc] = fold(e.title());
+        popularity[doc] = e.popularity();
+        addPostings(postings, doc, keys[doc]);
+        doc++;
+      }
+      Index index = new Index(ids, titles, keys, popularity, sorted(keys, postings), new HashMap<>());
+      Set<String> prefixes = new HashSet<>();
+      for (long posting : index.postings) {
+        addShortPrefixes(prefixes, keys, posting);
+      }
+      index.updateHeads(prefixes);
+      return index;
+    }
+
+    /**
+     * Copy of this index with the given movie replaced by {@code entry}, or
+     * removed when {@code entry} is null.
+     */
+    Index with(long movieId, MovieTitleEntry entry) {
+      int n = ids.length;
+      long[] newIds = Arrays.copyOf(ids, entry == null ? n : n + 1);
+      int old = -1;
+      for (int doc = 0; doc < n; doc++) {
+        if (ids[doc] == movieId) {
+          old = doc;
+          newIds[doc] = -1;
+          break;
+        }
+      }
+      if (old < 0 && entry == null) {
+        return this;
+      }
+
+      int removed = old;
+      Set<String> touched = new HashSet<>();
+      long[] kept = Arrays.stream(postings).filter(p -> {
+        if ((int) (p >>> 16) != removed) {
+          return true;
+        }
+        addShortPrefixes(touched, keys, p);
+        return false;
+      }).toArray();
+      if (entry == null) {
+        Index index = new Index(newIds, titles, keys, popularity, kept, new HashMap<>(heads));
+        index.updateHeads(touched);
+        return index;
+      }
+
+      String[] newTitles = Arrays.copyOf(titles, n + 1);
+      String[] newKeys = Arrays.copyOf(keys, n + 1);
+      long[] newPopularity = Arrays.copyOf(popularity, n + 1);
+      newIds[n] = entry.id();
+      newTitles[n] = entry.title();
+      newKeys[n] = fold(entry.title());
+      newPopularity[n] = entry.popularity();
+
+      List<Long> added = new ArrayList<>();
+      addPostings(added, n, newKeys[n]);
+      long[] fresh = sorted(newKeys, added);
+      for (long posting : fresh) {
+        addShortPrefixes(touched, newKeys, posting);
+      }
+
+      long[] merged = new long[kept.length + fresh.length];
+      int i = 0;
+      int j = 0;
+      int k = 0;
+      while (i < kept.length && j < fresh.length) {
+        merged[k++] = compare(newKeys, kept[i], fresh[j]) <= 0 ? kept[i++] : fresh[j++];
+      }
+      while (i < kept.length) {
+        merged[k++] = kept[i++];
+      }
+      while (j < fresh.length) {
+        merged[k++] = fresh[j++];
+      }
+      Index index = new Index(newIds, newTitles, newKeys, newPopularity, merged, new HashMap<>(heads));
+      index.updateHeads(touched);
+      return index;
+    }
+
+    List<MovieSuggestionResponse> top(String prefix, int limit) {
+      int[] best;
+      if (prefix.length() <= SHORT_PREFIX) {
+        best = heads.getOrDefault(prefix, new int[0]);
+      } else {
+        best = rank(prefix, limit);
+      }
+
+      int size = Math.min(limit, best.length);
+      List<MovieSuggestionResponse> result = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        result.add(new MovieSuggestionResponse(ids[best[i]], titles[best[i]]));
+      }
+      return result;
+    }
+
+    /** Only called while the index is being built, before it is published. */
+    private void updateHeads(Collection<String> prefixes) {
+      for (String prefix : prefixes) {
+        int[] best = rank(prefix, MAX_SUGGESTIONS);
+        if (best.length == 0) {
+          heads.remove(prefix);
+        } else {
+          heads.put(prefix, best);
+        }
+      }
+    }
+
+    /** Best {@code limit} documents with a word starting with the prefix, best first. */
+    private int[] rank(String prefix, int limit) {
+      int from = bound(prefix, false);
+      int to = bound(prefix, true);
+
+      int[] best = new int[limit];
+      int size = 0;
+      for (int p = from; p < to; p++) {
+        int doc = (int) (postings[p] >>> 16);
+        if (size == limit && !ranksBefore(doc, best[size - 1])) {
+          continue;
+        }
+        if (contains(best, size, doc)) {
+          continue;
+        }
+        int pos = size == limit ? size - 1 : size++;
+        while (pos > 0 && ranksBefore(doc, best[pos - 1])) {
+          best[pos] = best[pos - 1];
+          pos--;
+        }
+        best[pos] = doc;
+      }
+      return size == limit ? best : Arrays.copyOf(best, size);
+    }
+
+    // documents are laid out by popularity and then title at rebuild, so the slot breaks ties
+    private boolean ranksBefore(int a, int b) {
+      return popularity[a] != popularity[b] ? popularity[a] > popularity[b] : a < b;
+    }
+
+    /**
+     * First posting whose suffix, cut to the prefix length, is at least
+     * ({@code upper} false) or strictly greater than ({@code upper} true) the
+     * prefix.
+     */
+    private int bound(String prefix, boolean upper) {
+      int lo = 0;
+      int hi = postings.length;
+      while (lo < hi) {
+        int mid = (lo + hi) >>> 1;
+        int c = comparePrefix(postings[mid], prefix);
+        if (c < 0 || (upper && c == 0)) {
+          lo = mid + 1;
+        } else {
+          hi = mid;
+        }
+      }
+      return lo;
+    }
+
+    private int comparePrefix(long posting, String prefix) {
+      String key = keys[(int) (posting >>> 16)];
+      int offset = (int) (posting & 0xFFFF);
+      int n = Math.min(key.length() - offset, prefix.length());
+      for (int i = 0; i < n; i++) {
+        int c = key.charAt(offset + i) - prefix.charAt(i);
+        if (c != 0) {
+          return c;
+        }
+      }
+      return key.length() - offset < prefix.length() ? -1 : 0;
+    }
+
+    private static boolean contains(int[] docs, int size, int doc) {
+      for (int i = 0; i < size; i++) {
+        if (docs[i] == doc) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private static void addPostings(List<Long> postings, int doc, String key) {
+      for (int i = 0; i < key.length(); i++) {
+        boolean wordStart = Character.isLetterOrDigit(key.charAt(i))
+            && (i == 0 || !Character.isLetterOrDigit(key.charAt(i - 1)));
+        if (wordStart) {
+          postings.add(((long) doc << 16) | i);
+        }
+      }
+    }
+
+    private static void addShortPrefixes(Set<String> prefixes, String[] keys, long posting) {
+      String key = keys[(int) (posting >>> 16)];
+      int offset = (int) (posting & 0xFFFF);
+      for (int length = 1; length <= SHORT_PREFIX && offset + length <= key.length(); length++) {
+        prefixes.add(key.substring(offset, offset + length));
+      }
+    }
+
+    private static long[] sorted(String[] keys, List<Long> postings) {
+      return postings.stream()
+          .sorted((a, b) -> compare(keys, a, b))
+          .mapToLong(Long::longValue)
+          .toArray();
+    }
+
+    private static int compare(String[] keys, long a, long b) {
+      String ka = keys[(int) (a >>> 16)];
+      String kb = keys[(int) (b >>> 16)];
+      int ia = (int) (a & 0xFFFF);
+      int ib = (int) (b & 0xFFFF);
+      while (ia < ka.length() && ib < kb.length()) {
+        int c = ka.charAt(ia++) - kb.charAt(ib++);
+        if (c != 0) {
+          return c;
+        }
+      }
+      int c = (ka.length() - ia) - (kb.length() - ib);
+      return c != 0 ? c : Long.compare(a, b);
+    }
+  }
+}
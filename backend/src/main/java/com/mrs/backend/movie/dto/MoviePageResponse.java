@@ -0,0 +1,6 @@
+package com.mrs.backend.movie.dto;
+
+import java.util.List;
+
+public record MoviePageResponse(List<MovieSummaryResponse> items, String nextCursor) {
+}
@@ -0,0 +1,4 @@
+package com.mrs.backend.movie.dto;
+
+public record MovieSuggestionResponse(Long id, String title) {
+}
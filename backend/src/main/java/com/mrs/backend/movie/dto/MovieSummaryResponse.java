@@ -0,0 +1,10 @@
+package com.mrs.backend.movie.dto;
+
+public record MovieSummaryResponse(
+    Long id,
+    String title,
+    String posterUrl,
+    boolean active,
+    GenreResponse genre,
+    String createdAt) {
+}
@@ -0,0 +1,215 @@
+package com.mrs.backend.planning;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+/**
+ * Packs shows into free auditorium windows. Every window is filled exactly
+ * with a bounded knapsack over the remaining show quota, and windows are
+ * visited greedily, first against quotas scaled down to the room available so
+ * no movie is starved, then against the full quotas to use what is left.
+ * Restarts shuffle the window order and jitter movie values so quota lands in
+ * different windows, and run in parallel on the planner's own pool. The
+ * restart that schedules the most screen minutes wins.
+ */
+final class PlanSolver {
+
+  private static final double VALUE_JITTER = 0.15;
+
+  private PlanSolver() {
+  }
+
+  /**
+   * @param slots     show length including the turnaround buffer, in grid slots
+   * @param runtime   minutes actually on screen
+   * @param quota     maximum number of shows
+   */
+  record Movie(int slots, int runtime, int quota) {
+  }
+
+  /**
+   * @param capacity  usable grid slots, counting one trailing buffer the last
+   *                  show does not need
+   */
+  record Window(int capacity) {
+  }
+
+  /** Movie indexes per window, in screening order. */
+  record Solution(int[][] shows, long minutes, int restart) {
+  }
+
+  static Solution solve(List<Movie> movies, List<Window> windows, int restarts, long deadlineNanos,
+      ExecutorService executor) {
+    List<Callable<Solution>> runs = IntStream.range(0, restarts)
+        .mapToObj(r -> (Callable<Solution>) () ->
+            r > 0 && System.nanoTime() > deadlineNanos ? null : run(movies, windows, r))
+        .toList();
+
+    List<Future<Solution>> results;
+    try {
+      results = executor.invokeAll(runs);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Planning was interrupted");
+    }
+    return results.stream()
+        .map(PlanSolver::join)
+        .filter(Objects::nonNull)
+        .min(Comparator.comparingLong((Solution s) -> -s.minutes()).thenComparingInt(Solution::restart))
+        .orElseThrow();
+  }
+
+  private static Solution join(Future<Solution> result) {
+    if (result.state() == Future.State.FAILED) {
+      Throwable cause = result.exceptionNow();
+      if (cause instanceof RuntimeException ex) {
+        throw ex;
+      }
+      if (cause instanceof Error err) {
+        throw err;
+      }
+      throw new CompletionException(cause);
+    }
+    return result.resultNow();
+  }
+
+  private static Solution run(List<Movie> movies, List<Window> windows, int restart) {
+    SplittableRandom random = new SplittableRandom(restart);
+    int m = movies.size();
+
+    double[] values = new double[m];
+    for (int i = 0; i < m; i++) {
+      double jitter = restart == 0 ? 0 : random.nextDouble(-VALUE_JITTER, VALUE_JITTER);
+      values[i] = movies.get(i).runtime() * (1 + jitter);
+    }
+
+    // the first pass is deterministic: biggest windows first
+    Integer[] order = new Integer[windows.size()];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    if (restart == 0) {
+      Arrays.sort(order, Comparator.comparingInt((Integer w) -> -windows.get(w).capacity()));
+    } else {
+      for (int i = order.length - 1; i > 0; i--) {
+        int j = random.nextInt(i + 1);
+        Integer t = order[i];
+        order[i] = order[j];
+        order[j] = t;
+      }
+    }
+
+    // first give every movie a share of its target proportional to what fits, then top up leftover room
+    long demand = 0;
+    long supply = 0;
+    for (Movie movie : movies) {
+      demand += (long) movie.quota() * movie.slots();
+    }
+    for (Window window : windows) {
+      supply += window.capacity();
+    }
+    double share = demand <= supply ? 1 : (double) supply / demand;
+
+    int[] planned = new int[m];
+    int[][] counts = new int[windows.size()][m];
+    int[] used = new int[windows.size()];
+    for (int pass = 0; pass < 2; pass++) {
+      int[] remaining = new int[m];
+      for (int i = 0; i < m; i++) {
+        int quota = pass == 0 ? (int) (movies.get(i).quota() * share) : movies.get(i).quota();
+        remaining[i] = Math.max(0, quota - planned[i]);
+      }
+      for (int w : order) {
+        int[] added = fill(movies, values, remaining, windows.get(w).capacity() - used[w]);
+        for (int i = 0; i < m; i++) {
+          counts[w][i] += added[i];
+          remaining[i] -= added[i];
+          planned[i] += added[i];
+          used[w] += added[i] * movies.get(i).slots();
+        }
+      }
+    }
+
+    int[][] shows = new int[windows.size()][];
+    long minutes = 0;
+    for (int w = 0; w < windows.size(); w++) {
+      shows[w] = interleave(counts[w]);
+    }
+    for (int i = 0; i < m; i++) {
+      minutes += (long) planned[i] * movies.get(i).runtime();
+    }
+    return new Solution(shows, minutes, restart);
+  }
+
+  /**
+   * Bounded knapsack over one window; returns how many shows of each movie to
+   * run. A movie's copies are split into pieces of 1, 2, 4, ... shows, so it
+   * adds a logarithmic number of items instead of one per show, and each item
+   * keeps its take decisions as one bit per capacity.
+   */
+  private static int[] fill(List<Movie> movies, double[] values, int[] remaining, int capacity) {
+    List<int[]> items = new ArrayList<>();
+    for (int i = 0; i < movies.size(); i++) {
+      int copies = Math.min(remaining[i], capacity / movies.get(i).slots());
+      for (int piece = 1; copies > 0; piece *= 2) {
+        int shows = Math.min(piece, copies);
+        items.add(new int[] {i, shows});
+        copies -= shows;
+      }
+    }
+
+    int words = (capacity >>> 6) + 1;
+    double[] best = new double[capacity + 1];
+    long[] taken = new long[items.size() * words];
+    for (int k = 0; k < items.size(); k++) {
+      int movie = items.get(k)[0];
+      int shows = items.get(k)[1];
+      int size = shows * movies.get(movie).slots();
+      double value = shows * values[movie];
+      for (int c = capacity; c >= size; c--) {
+        if (best[c - size] + value > best[c]) {
+          best[c] = best[c - size] + value;
+          taken[k * words + (c >>> 6)] |= 1L << c;
+        }
+      }
+    }
+
+    int[] counts = new int[movies.size()];
+    int c = capacity;
+    for (int k = items.size() - 1; k >= 0; k--) {
+      if ((taken[k * words + (c >>> 6)] & (1L << c)) != 0) {
+        int movie = items.get(k)[0];
+        counts[movie] += items.get(k)[1];
+        c -= items.get(k)[1] * movies.get(movie).slots();
+      }
+    }
+    return counts;
+  }
+
+  // round-robin so the same movie does not run back to back when avoidable
+  private static int[] interleave(int[] counts) {
+    int[] left = counts.clone();
+    int total = IntStream.of(counts).sum();
+    int[] sequence = new int[total];
+    int n = 0;
+    while (n < total) {
+      for (int i = 0; i < left.length; i++) {
+        if (left[i] > 0) {
+          left[i]--;
+          sequence[n++] = i;
+        }
+      }
+    }
+    return sequence;
+  }
+}
@@ -0,0 +1,269 @@
+package com.mrs.backend.planning;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.mrs.backend.movie.MovieRepository;
+import com.mrs.backend.planning.PlanSolver.Solution;
+import com.mrs.backend.planning.dto.PlanMovieRequest;
+import com.mrs.backend.planning.dto.PlanMovieResponse;
+import com.mrs.backend.planning.dto.PlanRequest;
+import com.mrs.backend.planning.dto.PlanResponse;
+import com.mrs.backend.planning.dto.PlanWindowRequest;
+import com.mrs.backend.showtime.AuditoriumRepository;
+import com.mrs.backend.showtime.ShowtimeRepository;
+import com.mrs.backend.showtime.ShowtimeService;
+import com.mrs.backend.showtime.ShowtimeSlot;
+import com.mrs.backend.showtime.dto.ShowtimeUpsertRequest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Proposes showtimes that fill the given auditorium windows as tightly as the
+ * turnaround buffer allows, without exceeding each movie's target show count.
+ * Existing showtimes inside the windows are kept and planned around. Nothing is
+ * saved; the plan can be posted to the bulk scheduling endpoint as is.
+ */
+@Service
+public class ShowtimePlanner {
+
+  private static final Duration BUFFER = ShowtimeService.AUDITORIUM_BUFFER;
+  private static final Duration MAX_HORIZON = Duration.ofDays(31);
+  private static final int MAX_MOVIES = 100;
+  private static final int MAX_WINDOWS = 2000;
+  private static final int DEFAULT_SLOT_MINUTES = 5;
+
+  private final ShowtimeRepository showtimeRepository;
+  private final MovieRepository movieRepository;
+  private final AuditoriumRepository auditoriumRepository;
+  private final int restarts;
+  private final Duration timeLimit;
+  private final ExecutorService executor;
+
+  private final Timer planTimer;
+
+  public ShowtimePlanner(ShowtimeRepository showtimeRepository,
+      MovieRepository movieRepository,
+      AuditoriumRepository auditoriumRepository,
+      MeterRegistry meterRegistry,
+      @Value("${app.planner.restarts:256}") int restarts,
+      @Value("${app.planner.time-limit-ms:5000}") long timeLimitMillis,
+      @Value("${app.planner.threads:4}") int threads) {
+    this.showtimeRepository = showtimeRepository;
+    this.movieRepository = movieRepository;
+    this.auditoriumRepository = auditoriumRepository;
+    this.restarts = Math.max(1, restarts);
+    this.timeLimit = Duration.ofMillis(timeLimitMillis);
+    // restarts are CPU bound; a fixed pool caps the cores planning takes however many plans run at once
+    this.executor = Executors.newFixedThreadPool(Math.max(1, threads),
+        Thread.ofPlatform().name("showtime-planner-", 0).daemon(true).factory());
+
+    this.planTimer = Timer.builder("showtime.plan.duration").register(meterRegistry);
+  }
+
+  public PlanResponse plan(PlanRequest req) {
+    return planTimer.record(() -> doPlan(req));
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private PlanResponse doPlan(PlanRequest req) {
+    long startedNanos = System.nanoTime();
+
+    int slotMinutes = req.slotMinutes() == null ? DEFAULT_SLOT_MINUTES : req.slotMinutes();
+    if (slotMinutes < 1 || slotMinutes > 60) {
+      throw new IllegalArgumentException("slotMinutes must be between 1 and 60");
+    }
+    if (req.movies().size() > MAX_MOVIES) {
+      throw new IllegalArgumentException("At most " + MAX_MOVIES + " movies can be planned at once");
+    }
+    if (req.windows().size() > MAX_WINDOWS) {
+      throw new IllegalArgumentException("At most " + MAX_WINDOWS + " windows can be planned at once");
+    }
+
+    Set<Long> movieIds = req.movies().stream().map(PlanMovieRequest::movieId).collect(Collectors.toSet());
+    if (movieIds.size() != req.movies().size()) {
+      throw new IllegalArgumentException("Each movie may only be listed once");
+    }
+    if (movieRepository.findAllById(movieIds).size() != movieIds.size()) {
+      throw new IllegalArgumentException("Movie not found");
+    }
+
+    Map<Long, List<Interval>> windows = windowsByAuditorium(req.windows());
+    if (auditoriumRepository.findAllById(windows.keySet()).size() != windows.size()) {
+      throw new IllegalArgumentException("Auditorium not found");
+    }
+    Instant from = windows.values().stream().flatMap(List::stream).map(Interval::start)
+        .min(Comparator.naturalOrder()).orElseThrow();
+    Instant to = windows.values().stream().flatMap(List::stream).map(Interval::end)
+        .max(Comparator.naturalOrder()).orElseThrow();
+    if (Duration.between(from, to).compareTo(MAX_HORIZON) > 0) {
+      throw new IllegalArgumentException("Windows must fall within " + MAX_HORIZON.toDays() + " days");
+    }
+
+    Map<Long, List<Interval>> blocked = new HashMap<>();
+    for (ShowtimeSlot s : showtimeRepository.findSlots(windows.keySet(), from.minus(BUFFER), to.plus(BUFFER))) {
+      blocked.computeIfAbsent(s.auditoriumId(), id -> new ArrayList<>())
+          .add(new Interval(s.startTime().minus(BUFFER), s.endTime().plus(BUFFER)));
+    }
+
+    long grid = Duration.ofMinutes(slotMinutes).toSeconds();
+    long bufferMinutes = BUFFER.toMinutes();
+    List<PlanSolver.Window> solverWindows = new ArrayList<>();
+    List<Long> windowAuditoriums = new ArrayList<>();
+    List<Instant> windowStarts = new ArrayList<>();
+    long availableMinutes = 0;
+    for (Map.Entry<Long, List<Interval>> e : windows.entrySet()) {
+      for (Interval free : subtract(e.getValue(), blocked.getOrDefault(e.getKey(), List.of()))) {
+        availableMinutes += Duration.between(free.start(), free.end()).toMinutes();
+        // shows start on the slot grid
+        Instant start = Instant.ofEpochSecond(Math.ceilDiv(free.start().getEpochSecond(), grid) * grid);
+        long minutes = Duration.between(start, free.end()).toMinutes();
+        int capacity = (int) ((minutes + bufferMinutes) / slotMinutes);
+        if (minutes > 0 && capacity > 0) {
+          solverWindows.add(new PlanSolver.Window(capacity));
+          windowAuditoriums.add(e.getKey());
+          windowStarts.add(start);
+        }
+      }
+    }
+
+    List<PlanSolver.Movie> solverMovies = req.movies().stream()
+        .map(m -> new PlanSolver.Movie(
+            (int) Math.ceilDiv(m.runtimeMinutes() + bufferMinutes, slotMinutes),
+            m.runtimeMinutes(),
+            m.targetShows()))
+        .toList();
+
+    Solution solution = PlanSolver.solve(solverMovies, solverWindows, restarts, startedNanos + timeLimit.toNanos(),
+        executor);
+
+    List<ShowtimeUpsertRequest> showtimes = new ArrayList<>();
+    int[] planned = new int[solverMovies.size()];
+    for (int w = 0; w < solverWindows.size(); w++) {
+      Instant start = windowStarts.get(w);
+      for (int movie : solution.shows()[w]) {
+        PlanMovieRequest m = req.movies().get(movie);
+        showtimes.add(new ShowtimeUpsertRequest(
+            m.movieId(),
+            windowAuditoriums.get(w),
+            start.toString(),
+            start.plus(Duration.ofMinutes(m.runtimeMinutes())).toString(),
+            m.priceCents()));
+        start = start.plus(Duration.ofMinutes((long) solverMovies.get(movie).slots() * slotMinutes));
+        planned[movie]++;
+      }
+    }
+    showtimes.sort(Comparator.comparing(ShowtimeUpsertRequest::auditoriumId)
+        .thenComparing(ShowtimeUpsertRequest::startTime));
+
+    List<PlanMovieResponse> movies = new ArrayList<>();
+    for (int i = 0; i < planned.length; i++) {
+      PlanMovieRequest m = req.movies().get(i);
+      movies.add(new PlanMovieResponse(m.movieId(), m.targetShows(), planned[i]));
+    }
+
+    return new PlanResponse(
+        showtimes,
+        movies,
+        availableMinutes,
+        solution.minutes(),
+        availableMinutes == 0 ? 0 : (double) solution.minutes() / availableMinutes,
+        Duration.ofNanos(System.nanoTime() - startedNanos).toMillis());
+  }
+
+  private static Map<Long, List<Interval>> windowsByAuditorium(List<PlanWindowRequest> requests) {
+    Map<Long, List<Interval>> byAuditorium = new LinkedHashMap<>();
+    for (PlanWindowRequest w : requests) {
+      Instant start;
+      Instant end;
+      try {
+        start = Instant.parse(w.startTime());
+        end = Instant.parse(w.endTime());
+      } catch (DateTimeParseException ex) {
+        throw new IllegalArgumentException("Invalid window time: " + ex.getParsedString());
+      }
+      if (!end.isAfter(start)) {
+        throw new IllegalArgumentException("Window endTime must be after startTime");
+      }
+      byAuditorium.computeIfAbsent(w.auditoriumId(), id -> new ArrayList<>()).add(new Interval(start, end));
+    }
+    byAuditorium.replaceAll((id, intervals) -> spaced(merge(intervals)));
+    return byAuditorium;
+  }
+
+  /**
+   * The sorted, disjoint {@code windows} with each one starting no sooner than
+   * the buffer after the one before it ends, so the last show of a window and
+   * the first of the next cannot be closer than the buffer either.
+   */
+  private static List<Interval> spaced(List<Interval> windows) {
+    List<Interval> spaced = new ArrayList<>();
+    for (Interval w : windows) {
+      Instant earliest = spaced.isEmpty() ? w.start() : spaced.get(spaced.size() - 1).end().plus(BUFFER);
+      Instant start = w.start().isBefore(earliest) ? earliest : w.start();
+      if (start.isBefore(w.end())) {
+        spaced.add(new Interval(start, w.end()));
+      }
+    }
+    return spaced;
+  }
+
+  private static List<Interval> merge(List<Interval> intervals) {
+    List<Interval> sorted = intervals.stream().sorted(Comparator.comparing(Interval::start)).toList();
+    List<Interval> merged = new ArrayList<>();
+    for (Interval i : sorted) {
+      Interval last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+      if (last != null && !i.start().isAfter(last.end())) {
+        merged.set(merged.size() - 1, new Interval(last.start(), i.end().isAfter(last.end()) ? i.end() : last.end()));
+      } else {
+        merged.add(i);
+      }
+    }
+    return merged;
+  }
+
+  /** Parts of the sorted, disjoint {@code windows} not covered by any of {@code blocked}. */
+  private static List<Interval> subtract(List<Interval> windows, List<Interval> blocked) {
+    List<Interval> cuts = merge(blocked);
+    List<Interval> free = new ArrayList<>();
+    for (Interval w : windows) {
+      Instant cursor = w.start();
+      for (Interval b : cuts) {
+        if (!b.end().isAfter(cursor) || !b.start().isBefore(w.end())) {
+          continue;
+        }
+        if (b.start().isAfter(cursor)) {
+          free.add(new Interval(cursor, b.start()));
+        }
+        cursor = b.end();
+      }
+      if (cursor.isBefore(w.end())) {
+        free.add(new Interval(cursor, w.end()));
+      }
+    }
+    return free;
+  }
+
+  private record Interval(Instant start, Instant end) {
+  }
+}
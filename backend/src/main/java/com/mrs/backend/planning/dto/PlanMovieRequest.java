@@ -0,0 +1,12 @@
+package com.mrs.backend.planning.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record PlanMovieRequest(
+    @NotNull Long movieId,
+    @Min(1) @Max(600) int runtimeMinutes,
+    @Min(0) int targetShows,
+    @Min(0) int priceCents) {
+}
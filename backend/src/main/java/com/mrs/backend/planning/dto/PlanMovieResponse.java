@@ -0,0 +1,4 @@
+package com.mrs.backend.planning.dto;
+
+public record PlanMovieResponse(long movieId, int targetShows, int plannedShows) {
+}
@@ -0,0 +1,12 @@
+package com.mrs.backend.planning.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+public record PlanRequest(
+    @NotEmpty List<@Valid PlanMovieRequest> movies,
+    @NotEmpty List<@Valid PlanWindowRequest> windows,
+    Integer slotMinutes) {
+}
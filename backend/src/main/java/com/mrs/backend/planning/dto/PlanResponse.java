@@ -0,0 +1,14 @@
+package com.mrs.backend.planning.dto;
+
+import java.util.List;
+
+import com.mrs.backend.showtime.dto.ShowtimeUpsertRequest;
+
+public record PlanResponse(
+    List<ShowtimeUpsertRequest> showtimes,
+    List<PlanMovieResponse> movies,
+    long availableMinutes,
+    long plannedMinutes,
+    double utilization,
+    long elapsedMillis) {
+}
@@ -0,0 +1,9 @@
+package com.mrs.backend.planning.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public record PlanWindowRequest(
+    @NotNull Long auditoriumId,
+    @NotNull String startTime,
+    @NotNull String endTime) {
+}
@@ -0,0 +1,244 @@
+package com.mrs.backend.reservation;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes seat availability to Server-Sent Events subscribers: a snapshot on
+ * connect, then one delta per inventory change. Each change is serialized once
+ * and handed to a per-showtime channel, which fans it out to a bounded queue
+ * per subscriber. Every subscriber has its own writer on a virtual thread, so
+ * request threads never block on clients and one slow client never delays the
+ * others; a client that lets its queue fill up is disconnected, and its
+ * EventSource reconnects to a fresh snapshot.
+ */
+@Service
+public class AvailabilityStreamService {
+
+  private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("keepalive").build();
+
+  private final SeatInventory seatInventory;
+  private final ObjectMapper objectMapper;
+  private final long timeoutMillis;
+  private final int channelQueueSize;
+  private final int subscriberQueueSize;
+
+  private final ConcurrentHashMap<Long, Channel> channels = new ConcurrentHashMap<>();
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  private final Counter deltas;
+  private final Counter dropped;
+  private final Counter slow;
+
+  public AvailabilityStreamService(SeatInventory seatInventory,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      @Value("${app.availability.stream.timeout-ms:1800000}") long timeoutMillis,
+      @Value("${app.availability.stream.channel-queue-size:1024}") int channelQueueSize,
+      @Value("${app.availability.stream.subscriber-queue-size:64}") int subscriberQueueSize) {
+    this.seatInventory = seatInventory;
+    this.objectMapper = objectMapper;
+    this.timeoutMillis = timeoutMillis;
+    this.channelQueueSize = channelQueueSize;
+    this.subscriberQueueSize = subscriberQueueSize;
+
+    this.deltas = Counter.builder("availability.stream.deltas").register(meterRegistry);
+    this.dropped = Counter.builder("availability.stream.dropped").register(meterRegistry);
+    this.slow = Counter.builder("availability.stream.slow").register(meterRegistry);
+    Gauge.builder("availability.stream.subscribers", channels,
+        c -> c.values().stream().mapToInt(channel -> channel.subscribers.size()).sum()).register(meterRegistry);
+  }
+
+  public SseEmitter subscribe(long showtimeId) {
+    seatInventory.availability(showtimeId);
+
+    SseEmitter emitter = newEmitter();
+    Subscriber subscriber = new Subscriber(showtimeId, emitter);
+    emitter.onCompletion(() -> unsubscribe(subscriber));
+    emitter.onTimeout(() -> unsubscribe(subscriber));
+    emitter.onError(ex -> unsubscribe(subscriber));
+
+    channels.compute(showtimeId, (id, existing) -> {
+      Channel c = existing != null ? existing : new Channel();
+      c.subscribers.add(subscriber);
+      return c;
+    });
+    subscriber.offer(SseEmitter.event()
+        .name("snapshot")
+        .data(serialize(seatInventory.availability(showtimeId)), MediaType.APPLICATION_JSON)
+        .build());
+    return emitter;
+  }
+
+  @EventListener
+  public void onSeatAvailabilityChanged(SeatAvailabilityChangedEvent event) {
+    Channel channel = channels.get(event.showtimeId());
+    if (channel == null) {
+      return;
+    }
+    deltas.increment();
+    channel.publish(SseEmitter.event()
+        .name("delta")
+        .data(serialize(event), MediaType.APPLICATION_JSON)
+        .build());
+  }
+
+  @Scheduled(fixedDelayString = "${app.availability.stream.heartbeat-ms:15000}")
+  public void heartbeat() {
+    channels.values().forEach(channel -> channel.subscribers.forEach(Subscriber::heartbeat));
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    channels.values().forEach(channel -> channel.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    executor.shutdownNow();
+  }
+
+  SseEmitter newEmitter() {
+    return new SseEmitter(timeoutMillis);
+  }
+
+  private void unsubscribe(Subscriber subscriber) {
+    channels.computeIfPresent(subscriber.showtimeId, (id, channel) -> {
+      channel.subscribers.remove(subscriber);
+      return channel.subscribers.isEmpty() ? null : channel;
+    });
+  }
+
+  private String serialize(Object value) {
+    try {
+      return objectMapper.writeValueAsString(value);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private final class Channel {
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ArrayBlockingQueue<Set<DataWithMediaType>> payloads = new ArrayBlockingQueue<>(channelQueueSize);
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private void publish(Set<DataWithMediaType> payload) {
+      if (!payloads.offer(payload)) {
+        // a lost delta would leave every client wrong; make them all start over from a snapshot
+        subscribers.forEach(Subscriber::disconnect);
+        return;
+      }
+      if (draining.compareAndSet(false, true)) {
+        executor.execute(this::drain);
+      }
+    }
+
+    /** Hands payloads on in order; offering to a subscriber never blocks. */
+    private void drain() {
+      do {
+        Set<DataWithMediaType> payload;
+        while ((payload = payloads.poll()) != null) {
+          for (Subscriber subscriber : subscribers) {
+            subscriber.offer(payload);
+          }
+        }
+        draining.set(false);
+      } while (!payloads.isEmpty() && draining.compareAndSet(false, true));
+    }
+  }
+
+  private final class Subscriber {
+
+    private final long showtimeId;
+    private final SseEmitter emitter;
+    private final ArrayBlockingQueue<Set<DataWithMediaType>> queue = new ArrayBlockingQueue<>(subscriberQueueSize);
+    private final AtomicBoolean writing = new AtomicBoolean();
+    private volatile boolean closed;
+
+    private Subscriber(long showtimeId, SseEmitter emitter) {
+      this.showtimeId = showtimeId;
+      this.emitter = emitter;
+    }
+
+    private void offer(Set<DataWithMediaType> payload) {
+      if (closed) {
+        return;
+      }
+      if (!queue.offer(payload)) {
+        disconnect();
+        return;
+      }
+      schedule();
+    }
+
+    /** A full queue already keeps the connection busy, so the heartbeat is skipped then. */
+    private void heartbeat() {
+      if (!closed && queue.offer(HEARTBEAT)) {
+        schedule();
+      }
+    }
+
+    /**
+     * Drops a client that fell behind. The emitter is completed by the writer,
+     * because completing it here would wait for a send that is stuck on the
+     * client's socket.
+     */
+    private void disconnect() {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      slow.increment();
+      queue.clear();
+      unsubscribe(this);
+      schedule();
+    }
+
+    private void schedule() {
+      if (writing.compareAndSet(false, true)) {
+        executor.execute(this::write);
+      }
+    }
+
+    private void write() {
+      do {
+        Set<DataWithMediaType> payload;
+        while (!closed && (payload = queue.poll()) != null) {
+          try {
+            emitter.send(payload);
+          } catch (IOException | IllegalStateException ex) {
+            dropped.increment();
+            closed = true;
+            queue.clear();
+            unsubscribe(this);
+            // writing stays set: nothing is sent to this emitter again
+            return;
+          }
+        }
+        if (closed) {
+          emitter.complete();
+          return;
+        }
+        writing.set(false);
+      } while ((closed || !queue.isEmpty()) && writing.compareAndSet(false, true));
+    }
+  }
+}
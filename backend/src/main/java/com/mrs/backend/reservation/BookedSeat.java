@@ -0,0 +1,4 @@
+package com.mrs.backend.reservation;
+
+public record BookedSeat(Long showtimeId, Long seatId) {
+}
@@ -0,0 +1,62 @@
+package com.mrs.backend.reservation;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel for hold expiry. Scheduling and expiring are O(1) per
+ * hold; advancing only visits the buckets whose ticks have elapsed, so there is
+ * no sweep over every live hold.
+ */
+final class HoldExpiryWheel {
+
+  private final long tickMillis;
+  private final Queue<Entry>[] buckets;
+  private final int mask;
+  private volatile long processedTick;
+
+  @SuppressWarnings("unchecked")
+  HoldExpiryWheel(long tickMillis, int wheelSize, long nowMillis) {
+    if (Integer.bitCount(wheelSize) != 1) {
+      throw new IllegalArgumentException("wheelSize must be a power of two");
+    }
+    this.tickMillis = tickMillis;
+    this.buckets = new Queue[wheelSize];
+    for (int i = 0; i < wheelSize; i++) {
+      buckets[i] = new ConcurrentLinkedQueue<>();
+    }
+    this.mask = wheelSize - 1;
+    this.processedTick = nowMillis / tickMillis;
+  }
+
+  void schedule(SeatHold hold) {
+    long deadlineTick = Math.floorDiv(hold.expiresAt().toEpochMilli() + tickMillis - 1, tickMillis);
+    // a deadline already behind the wheel goes into the next bucket to visit, not one lap later
+    long bucketTick = Math.max(deadlineTick, processedTick + 1);
+    buckets[(int) (bucketTick & mask)].add(new Entry(deadlineTick, hold));
+  }
+
+  synchronized void advance(long nowMillis, Consumer<SeatHold> expired) {
+    long currentTick = nowMillis / tickMillis;
+    long lastTick = Math.min(currentTick, processedTick + buckets.length);
+    for (long tick = processedTick + 1; tick <= lastTick; tick++) {
+      expireBucket(currentTick, buckets[(int) (tick & mask)], expired);
+    }
+    processedTick = Math.max(processedTick, currentTick);
+  }
+
+  private void expireBucket(long currentTick, Queue<Entry> bucket, Consumer<SeatHold> expired) {
+    for (Iterator<Entry> it = bucket.iterator(); it.hasNext();) {
+      Entry entry = it.next();
+      if (entry.deadlineTick() <= currentTick) {
+        it.remove();
+        expired.accept(entry.hold());
+      }
+    }
+  }
+
+  private record Entry(long deadlineTick, SeatHold hold) {
+  }
+}
@@ -7,8 +7,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface ReservationRepository extends JpaRepository<Reservation, Long> {
-  List<Reservation> findByUserIdOrderByCreatedAtDesc(Long userId);
+public interface ReservationRepository extends JpaRepository<Reservation, Long>, ReservationRepositoryCustom {
 
   @Query("select r from Reservation r join fetch r.showtime s join fetch s.movie join fetch s.auditorium join fetch r.user order by r.createdAt desc")
   List<Reservation> findAllWithDetailsOrderByCreatedAtDesc();
@@ -0,0 +1,17 @@
+package com.mrs.backend.reservation;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.mrs.backend.reservation.dto.ReservationResponse;
+
+public interface ReservationRepositoryCustom {
+
+  /**
+   * One page of a user's reservations, newest first, with showtime details and
+   * seat labels aggregated in the same statement. Pass a null
+   * {@code beforeCreatedAt} for the first page.
+   */
+  List<ReservationResponse> findPageForUser(long userId, ReservationScope scope, Instant beforeCreatedAt,
+      Long beforeId, int limit);
+}
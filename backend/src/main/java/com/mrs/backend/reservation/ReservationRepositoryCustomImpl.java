@@ -0,0 +1,89 @@
+package com.mrs.backend.reservation;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.mrs.backend.reservation.dto.ReservationResponse;
+
+public class ReservationRepositoryCustomImpl implements ReservationRepositoryCustom {
+
+  private static final String SELECT_PAGE_SQL = """
+      select r.id, r.showtime_id, m.title, a.name as auditorium_name, s.start_time, s.end_time,
+             r.status, r.total_amount_cents, r.created_at,
+             coalesce(array_agg(se.id order by se.row_label, se.seat_number)
+                 filter (where se.id is not null), '{}') as seat_ids,
+             coalesce(array_agg(se.row_label || '-' || se.seat_number order by se.row_label, se.seat_number)
+                 filter (where se.id is not null), '{}') as seat_labels
+      from reservation r
+      join showtime s on s.id = r.showtime_id
+      join movie m on m.id = s.movie_id
+      join auditorium a on a.id = s.auditorium_id
+      left join reservation_seat rs on rs.reservation_id = r.id
+      left join seat se on se.id = rs.seat_id
+      where r.user_id = ?
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public ReservationRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public List<ReservationResponse> findPageForUser(long userId, ReservationScope scope, Instant beforeCreatedAt,
+      Long beforeId, int limit) {
+    StringBuilder sql = new StringBuilder(SELECT_PAGE_SQL);
+    List<Object> args = new ArrayList<>();
+    args.add(userId);
+
+    if (scope == ReservationScope.UPCOMING) {
+      sql.append("  and s.start_time >= now()\n");
+    } else if (scope == ReservationScope.PAST) {
+      sql.append("  and s.start_time < now()\n");
+    }
+    if (beforeCreatedAt != null) {
+      sql.append("  and (r.created_at, r.id) < (?, ?)\n");
+      args.add(Timestamp.from(beforeCreatedAt));
+      args.add(beforeId);
+    }
+    sql.append("""
+        group by r.id, m.title, a.name, s.start_time, s.end_time
+        order by r.created_at desc, r.id desc
+        limit ?
+        """);
+    args.add(limit);
+
+    return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> toResponse(rs), args.toArray());
+  }
+
+  private static ReservationResponse toResponse(ResultSet rs) throws SQLException {
+    return new ReservationResponse(
+        rs.getLong("id"),
+        rs.getLong("showtime_id"),
+        rs.getString("title"),
+        rs.getString("auditorium_name"),
+        rs.getTimestamp("start_time").toInstant().toString(),
+        rs.getTimestamp("end_time").toInstant().toString(),
+        rs.getString("status"),
+        rs.getInt("total_amount_cents"),
+        rs.getTimestamp("created_at").toInstant().toString(),
+        Arrays.asList((Long[]) toArray(rs.getArray("seat_ids"))),
+        Arrays.asList((String[]) toArray(rs.getArray("seat_labels"))));
+  }
+
+  private static Object toArray(Array array) throws SQLException {
+    try {
+      return array.getArray();
+    } finally {
+      array.free();
+    }
+  }
+}
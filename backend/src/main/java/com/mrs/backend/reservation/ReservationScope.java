@@ -0,0 +1,7 @@
+package com.mrs.backend.reservation;
+
+public enum ReservationScope {
+  ALL,
+  UPCOMING,
+  PAST
+}
@@ -1,18 +1,23 @@
 package com.mrs.backend.reservation;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface ReservationSeatRepository extends JpaRepository<ReservationSeat, ReservationSeatId> {
+public interface ReservationSeatRepository extends JpaRepository<ReservationSeat, ReservationSeatId>,
+    ReservationSeatRepositoryCustom {
 
   @Query("select rs.seat.id from ReservationSeat rs where rs.showtime.id = :showtimeId and rs.reservation.status <> com.mrs.backend.reservation.ReservationStatus.CANCELLED")
   List<Long> findBookedSeatIds(@Param("showtimeId") long showtimeId);
 
-  @Query("select rs.seat.id from ReservationSeat rs where rs.reservation.id = :reservationId")
-  List<Long> findSeatIdsForReservation(@Param("reservationId") long reservationId);
+  @Query("select new com.mrs.backend.reservation.BookedSeat(rs.showtime.id, rs.seat.id) from ReservationSeat rs where rs.showtime.id in :showtimeIds and rs.reservation.status <> com.mrs.backend.reservation.ReservationStatus.CANCELLED")
+  List<BookedSeat> findBookedSeats(@Param("showtimeIds") Collection<Long> showtimeIds);
+
+  @Query("select new com.mrs.backend.reservation.ShowtimeSeatCount(rs.showtime.id, count(rs)) from ReservationSeat rs where rs.showtime.id in :showtimeIds and rs.reservation.status <> com.mrs.backend.reservation.ReservationStatus.CANCELLED group by rs.showtime.id")
+  List<ShowtimeSeatCount> countBookedSeats(@Param("showtimeIds") Collection<Long> showtimeIds);
 
   @Query("select count(rs) from ReservationSeat rs where rs.showtime.id = :showtimeId and rs.reservation.status = :status")
   long countSeatsByShowtimeAndReservationStatus(@Param("showtimeId") long showtimeId, @Param("status") ReservationStatus status);
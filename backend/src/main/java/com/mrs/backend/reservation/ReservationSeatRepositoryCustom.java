@@ -0,0 +1,14 @@
+package com.mrs.backend.reservation;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ReservationSeatRepositoryCustom {
+  List<Long> insertSeats(long reservationId, long showtimeId, Collection<Long> seatIds);
+
+  /**
+   * Marks the seats of a cancelled reservation as released so they can be
+   * booked again; returns the released seat ids.
+   */
+  List<Long> releaseSeats(long reservationId);
+}
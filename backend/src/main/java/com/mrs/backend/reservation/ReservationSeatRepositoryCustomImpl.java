@@ -0,0 +1,46 @@
+package com.mrs.backend.reservation;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class ReservationSeatRepositoryCustomImpl implements ReservationSeatRepositoryCustom {
+
+  private static final String INSERT_SEATS_SQL = """
+      insert into reservation_seat (reservation_id, showtime_id, seat_id)
+      select ?, ?, unnest(?::bigint[])
+      on conflict (showtime_id, seat_id) where not cancelled do nothing
+      returning seat_id
+      """;
+
+  private static final String RELEASE_SEATS_SQL = """
+      update reservation_seat
+      set cancelled = true
+      where reservation_id = ? and not cancelled
+      returning seat_id
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public ReservationSeatRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public List<Long> insertSeats(long reservationId, long showtimeId, Collection<Long> seatIds) {
+    return jdbcTemplate.query(con -> {
+      PreparedStatement ps = con.prepareStatement(INSERT_SEATS_SQL);
+      ps.setLong(1, reservationId);
+      ps.setLong(2, showtimeId);
+      ps.setArray(3, con.createArrayOf("bigint", seatIds.toArray()));
+      return ps;
+    }, (rs, rowNum) -> rs.getLong(1));
+  }
+
+  @Override
+  public List<Long> releaseSeats(long reservationId) {
+    return jdbcTemplate.query(RELEASE_SEATS_SQL, (rs, rowNum) -> rs.getLong(1), reservationId);
+  }
+}
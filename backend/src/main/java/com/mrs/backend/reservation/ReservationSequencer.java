@@ -0,0 +1,330 @@
+package com.mrs.backend.reservation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.mrs.backend.reservation.ReservationService.SeatAlreadyBookedException;
+import com.mrs.backend.reservation.ReservationWriter.PendingReservation;
+import com.mrs.backend.reservation.dto.ReservationResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Opt-in single-writer mode: every showtime gets its own bounded queue drained
+ * by one virtual thread, which writes whatever has accumulated in a single
+ * transaction. Seat conflicts are already decided by {@link SeatInventory}
+ * before a command is queued, so only winners ever reach the database.
+ */
+@Component
+public class ReservationSequencer {
+
+  private final ReservationWriter reservationWriter;
+  private final SeatInventory seatInventory;
+  private final boolean enabled;
+  private final int queueCapacity;
+  private final int maxBatchSize;
+  private final long idleTimeoutMillis;
+  private final long submitTimeoutMillis;
+  private final long shutdownTimeoutMillis;
+
+  private final ConcurrentHashMap<Long, Lane> lanes = new ConcurrentHashMap<>();
+  private volatile boolean shutdown;
+
+  private final DistributionSummary batchSize;
+  private final Counter rejected;
+  private final Counter timedOut;
+
+  public ReservationSequencer(ReservationWriter reservationWriter,
+      SeatInventory seatInventory,
+      MeterRegistry meterRegistry,
+      @Value("${app.reservations.sequencer.enabled:false}") boolean enabled,
+      @Value("${app.reservations.sequencer.queue-capacity:1024}") int queueCapacity,
+      @Value("${app.reservations.sequencer.max-batch-size:32}") int maxBatchSize,
+      @Value("${app.reservations.sequencer.idle-timeout-ms:30000}") long idleTimeoutMillis,
+      @Value("${app.reservations.sequencer.submit-timeout-ms:10000}") long submitTimeoutMillis,
+      @Value("${app.reservations.sequencer.shutdown-timeout-ms:5000}") long shutdownTimeoutMillis) {
+    this.reservationWriter = reservationWriter;
+    this.seatInventory = seatInventory;
+    this.enabled = enabled;
+    this.queueCapacity = queueCapacity;
+    this.maxBatchSize = maxBatchSize;
+    this.idleTimeoutMillis = idleTimeoutMillis;
+    this.submitTimeoutMillis = submitTimeoutMillis;
+    this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+
+    this.batchSize = DistributionSummary.builder("reservation.sequencer.batch.size").register(meterRegistry);
+    this.rejected = Counter.builder("reservation.sequencer.rejected").register(meterRegistry);
+    this.timedOut = Counter.builder("reservation.sequencer.timeouts").register(meterRegistry);
+    Gauge.builder("reservation.sequencer.queue.depth", lanes,
+        l -> l.values().stream().mapToInt(lane -> lane.queue.size()).sum()).register(meterRegistry);
+    Gauge.builder("reservation.sequencer.lanes", lanes, ConcurrentHashMap::size).register(meterRegistry);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public ReservationResponse submit(long userId, SeatClaim claim) {
+    Command command = new Command(userId, claim, new CompletableFuture<>());
+
+    boolean[] accepted = new boolean[1];
+    boolean[] closed = new boolean[1];
+    lanes.compute(claim.showtimeId(), (showtimeId, lane) -> {
+      if (shutdown) {
+        closed[0] = true;
+        return lane;
+      }
+      boolean created = lane == null;
+      if (created) {
+        lane = new Lane(showtimeId);
+      }
+      accepted[0] = lane.queue.offer(command);
+      if (created) {
+        // started after the offer, so a lane that sees shutdown right away still fails the command
+        lane.thread = Thread.ofVirtual().name("reservation-lane-" + showtimeId).start(lane);
+      }
+      return lane;
+    });
+
+    if (closed[0]) {
+      seatInventory.abort(claim);
+      throw unavailable();
+    }
+    if (!accepted[0]) {
+      seatInventory.abort(claim);
+      rejected.increment();
+      throw new ReservationQueueFullException("Too many concurrent reservations for this showtime, please retry");
+    }
+
+    try {
+      command.result().get(submitTimeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException ex) {
+      // the lane skips a command that already failed; if it is mid-write the booking may still land
+      if (command.result().completeExceptionally(ex)) {
+        timedOut.increment();
+        throw new ReservationTimeoutException(
+            "The reservation did not complete in time; check your reservations before retrying");
+      }
+    } catch (ExecutionException ex) {
+      // rethrown unwrapped below
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      if (command.result().completeExceptionally(ex)) {
+        throw new ReservationTimeoutException("The reservation was interrupted, please retry");
+      }
+    }
+
+    try {
+      return command.result().join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw ex;
+    }
+  }
+
+  /**
+   * Stops accepting commands and lets every lane finish the batch it is
+   * writing, so no transaction is cut off halfway. Whatever is still queued
+   * then, or once the timeout has passed, fails as unavailable.
+   */
+  @PreDestroy
+  public void shutdown() {
+    shutdown = true;
+    List<Lane> open = List.copyOf(lanes.values());
+    open.forEach(lane -> lane.queue.offer(WAKE));
+
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMillis);
+    for (Lane lane : open) {
+      try {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0 || !lane.thread.join(Duration.ofNanos(remaining))) {
+          // still writing; its batch completes on its own, the queue must not wait for it
+          lane.close();
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        lane.close();
+      }
+    }
+  }
+
+  private static ReservationUnavailableException unavailable() {
+    return new ReservationUnavailableException(
+        "Reservations are unavailable while the service restarts, please retry");
+  }
+
+  private void process(long showtimeId, List<Command> batch) {
+    // callers that gave up waiting already got an error; release their seats instead of writing
+    batch.removeIf(command -> {
+      if (command.result().isDone()) {
+        seatInventory.abort(command.claim());
+        return true;
+      }
+      return false;
+    });
+    if (batch.isEmpty()) {
+      return;
+    }
+    batchSize.record(batch.size());
+
+    if (batch.size() > 1) {
+      try {
+        List<ReservationResponse> responses = reservationWriter.writeAll(showtimeId,
+            batch.stream().map(c -> new PendingReservation(c.userId(), c.claim().seatIds())).toList());
+        for (int i = 0; i < batch.size(); i++) {
+          seatInventory.commit(batch.get(i).claim());
+          batch.get(i).result().complete(responses.get(i));
+        }
+        return;
+      } catch (RuntimeException ex) {
+        // one bad command rolls back the whole group; retry them one by one
+      }
+    }
+
+    for (Command command : batch) {
+      processOne(showtimeId, command);
+    }
+  }
+
+  private void processOne(long showtimeId, Command command) {
+    try {
+      ReservationResponse response = reservationWriter.write(command.userId(), showtimeId, command.claim().seatIds());
+      seatInventory.commit(command.claim());
+      command.result().complete(response);
+    } catch (RuntimeException ex) {
+      seatInventory.abort(command.claim());
+      if (ex instanceof SeatAlreadyBookedException) {
+        seatInventory.refresh(showtimeId);
+      }
+      command.result().completeExceptionally(ex);
+    }
+  }
+
+  private final class Lane implements Runnable {
+
+    private final long showtimeId;
+    private final ArrayBlockingQueue<Command> queue = new ArrayBlockingQueue<>(queueCapacity);
+    private volatile Thread thread;
+
+    private Lane(long showtimeId) {
+      this.showtimeId = showtimeId;
+    }
+
+    @Override
+    public void run() {
+      List<Command> batch = new ArrayList<>(maxBatchSize);
+      while (true) {
+        if (shutdown) {
+          close();
+          return;
+        }
+        Command first;
+        try {
+          first = queue.poll(idleTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+          close();
+          return;
+        }
+
+        if (first == null) {
+          if (retire()) {
+            return;
+          }
+          continue;
+        }
+        if (first == WAKE) {
+          continue;
+        }
+
+        batch.add(first);
+        queue.drainTo(batch, maxBatchSize - 1);
+        batch.remove(WAKE);
+        if (shutdown) {
+          fail(batch);
+          batch.clear();
+          continue;
+        }
+        try {
+          process(showtimeId, batch);
+        } catch (RuntimeException ex) {
+          batch.forEach(c -> c.result().completeExceptionally(ex));
+        }
+        batch.clear();
+      }
+    }
+
+    /**
+     * Stops accepting commands and fails everything still queued, so no caller
+     * is left waiting on a lane that will never drain.
+     */
+    private void close() {
+      lanes.remove(showtimeId, this);
+      List<Command> remaining = new ArrayList<>();
+      queue.drainTo(remaining);
+      fail(remaining);
+    }
+
+    private void fail(List<Command> commands) {
+      ReservationUnavailableException ex = unavailable();
+      for (Command command : commands) {
+        if (command != WAKE && command.result().completeExceptionally(ex)) {
+          seatInventory.abort(command.claim());
+        }
+      }
+    }
+
+    private boolean retire() {
+      boolean[] retired = new boolean[1];
+      lanes.computeIfPresent(showtimeId, (id, lane) -> {
+        if (lane == this && queue.isEmpty()) {
+          retired[0] = true;
+          return null;
+        }
+        return lane;
+      });
+      return retired[0];
+    }
+  }
+
+  private record Command(long userId, SeatClaim claim, CompletableFuture<ReservationResponse> result) {
+  }
+
+  /** Queued on shutdown to wake lanes that are waiting for work. */
+  private static final Command WAKE = new Command(0, null, null);
+
+  public static class ReservationQueueFullException extends RuntimeException {
+    public ReservationQueueFullException(String message) {
+      super(message);
+    }
+  }
+
+  public static class ReservationUnavailableException extends RuntimeException {
+    public ReservationUnavailableException(String message) {
+      super(message);
+    }
+  }
+
+  public static class ReservationTimeoutException extends RuntimeException {
+    public ReservationTimeoutException(String message) {
+      super(message);
+    }
+  }
+}
@@ -1,165 +1,180 @@
 package com.mrs.backend.reservation;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
 import java.util.Set;
-import java.util.stream.Collectors;
 
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import com.mrs.backend.reservation.ReservationWriter.Cancellation;
+import com.mrs.backend.reservation.dto.AutoReserveRequest;
+import com.mrs.backend.reservation.dto.ReservationPageResponse;
 import com.mrs.backend.reservation.dto.ReservationResponse;
 import com.mrs.backend.reservation.dto.ReserveSeatsRequest;
 import com.mrs.backend.reservation.dto.ShowtimeSeatAvailabilityResponse;
-import com.mrs.backend.seat.Seat;
-import com.mrs.backend.seat.SeatRepository;
+import com.mrs.backend.reservation.dto.ShowtimeSeatBitmapResponse;
+import com.mrs.backend.security.AuthUser;
 import com.mrs.backend.security.CurrentUserService;
-import com.mrs.backend.showtime.Showtime;
-import com.mrs.backend.showtime.ShowtimeRepository;
-import com.mrs.backend.user.User;
 
 @Service
 public class ReservationService {
 
-  private final ShowtimeRepository showtimeRepository;
-  private final SeatRepository seatRepository;
+  private static final int AUTO_RESERVE_ATTEMPTS = 3;
+  private static final int MAX_PAGE_SIZE = 100;
+
   private final ReservationRepository reservationRepository;
-  private final ReservationSeatRepository reservationSeatRepository;
   private final CurrentUserService currentUserService;
-
-  public ReservationService(ShowtimeRepository showtimeRepository,
-      SeatRepository seatRepository,
-      ReservationRepository reservationRepository,
-      ReservationSeatRepository reservationSeatRepository,
-      CurrentUserService currentUserService) {
-    this.showtimeRepository = showtimeRepository;
-    this.seatRepository = seatRepository;
+  private final SeatInventory seatInventory;
+  private final ReservationWriter reservationWriter;
+  private final ReservationSequencer reservationSequencer;
+
+  public ReservationService(ReservationRepository reservationRepository,
+      CurrentUserService currentUserService,
+      SeatInventory seatInventory,
+      ReservationWriter reservationWriter,
+      ReservationSequencer reservationSequencer) {
     this.reservationRepository = reservationRepository;
-    this.reservationSeatRepository = reservationSeatRepository;
     this.currentUserService = currentUserService;
+    this.seatInventory = seatInventory;
+    this.reservationWriter = reservationWriter;
+    this.reservationSequencer = reservationSequencer;
   }
 
-  @Transactional(readOnly = true)
-  public ShowtimeSeatAvailabilityResponse availability(long showtimeId) {
-    List<Long> booked = reservationSeatRepository.findBookedSeatIds(showtimeId);
-    return new ShowtimeSeatAvailabilityResponse(showtimeId, booked);
+  public ShowtimeSeatAvailabilityResponse availability(long showtimeId, Long sinceVersion) {
+    return sinceVersion == null
+        ? seatInventory.availability(showtimeId)
+        : seatInventory.availabilitySince(showtimeId, sinceVersion);
+  }
+
+  public ShowtimeSeatBitmapResponse availabilityBitmap(long showtimeId) {
+    SeatBitmap bitmap = seatInventory.bitmap(showtimeId);
+    Base64.Encoder base64 = Base64.getEncoder();
+    return new ShowtimeSeatBitmapResponse(bitmap.showtimeId(), bitmap.version(), bitmap.seatCount(),
+        base64.encodeToString(bitmap.booked()), base64.encodeToString(bitmap.held()));
+  }
+
+  public SeatBitmap availabilityBitmapBytes(long showtimeId) {
+    return seatInventory.bitmap(showtimeId);
+  }
+
+  public long availabilityVersion(long showtimeId) {
+    return seatInventory.version(showtimeId);
   }
 
-  @Transactional
   public ReservationResponse reserve(long showtimeId, ReserveSeatsRequest req) {
-    User user = currentUserService.getCurrentUser()
+    AuthUser user = currentUserService.getCurrentUser()
         .orElseThrow(() -> new IllegalStateException("Unauthorized"));
 
-    Showtime showtime = showtimeRepository.findById(showtimeId)
-        .orElseThrow(() -> new IllegalArgumentException("Showtime not found"));
-
-    Set<Long> uniqueSeatIds = new HashSet<>(req.seatIds());
+    Set<Long> uniqueSeatIds = new LinkedHashSet<>(req.seatIds());
     if (uniqueSeatIds.isEmpty()) {
       throw new IllegalArgumentException("seatIds must not be empty");
     }
 
-    List<Seat> seats = seatRepository.findAllById(uniqueSeatIds);
-    if (seats.size() != uniqueSeatIds.size()) {
-      throw new IllegalArgumentException("One or more seats not found");
-    }
+    return complete(user.getId(), seatInventory.claim(showtimeId, uniqueSeatIds));
+  }
+
+  public ReservationResponse reserveBest(long showtimeId, AutoReserveRequest req) {
+    AuthUser user = currentUserService.getCurrentUser()
+        .orElseThrow(() -> new IllegalStateException("Unauthorized"));
 
-    for (Seat seat : seats) {
-      if (!seat.getAuditorium().getId().equals(showtime.getAuditorium().getId())) {
-        throw new IllegalArgumentException("Seat does not belong to showtime auditorium");
+    Set<Long> collided = new HashSet<>();
+    for (int attempt = 1; ; attempt++) {
+      SeatClaim claim = seatInventory.claimBest(showtimeId, req.partySize(), req.preferredRows(), collided);
+      try {
+        return complete(user.getId(), claim);
+      } catch (SeatAlreadyBookedException ex) {
+        if (attempt >= AUTO_RESERVE_ATTEMPTS || ex.getSeatIds().isEmpty()) {
+          throw ex;
+        }
+        // the next block must not reuse seats the database already holds
+        collided.addAll(ex.getSeatIds());
       }
     }
+  }
 
-    Reservation reservation = new Reservation();
-    reservation.setUser(user);
-    reservation.setShowtime(showtime);
-    reservation.setStatus(ReservationStatus.CONFIRMED);
-    reservation.setTotalAmountCents(showtime.getPriceCents() * seats.size());
-    reservation.setCreatedAt(Instant.now());
-
-    Reservation saved = reservationRepository.save(reservation);
+  public ReservationResponse complete(long userId, SeatClaim claim) {
+    if (reservationSequencer.isEnabled()) {
+      return reservationSequencer.submit(userId, claim);
+    }
 
+    boolean committed = false;
     try {
-      for (Seat seat : seats) {
-        ReservationSeat rs = new ReservationSeat();
-        rs.setId(new ReservationSeatId(saved.getId(), seat.getId()));
-        rs.setReservation(saved);
-        rs.setSeat(seat);
-        rs.setShowtime(showtime);
-        reservationSeatRepository.save(rs);
+      ReservationResponse response = reservationWriter.write(userId, claim.showtimeId(), claim.seatIds());
+      committed = true;
+      return response;
+    } catch (SeatAlreadyBookedException ex) {
+      seatInventory.refresh(claim.showtimeId());
+      throw ex;
+    } finally {
+      if (committed) {
+        seatInventory.commit(claim);
+      } else {
+        seatInventory.abort(claim);
       }
-    } catch (DataIntegrityViolationException ex) {
-      throw new SeatAlreadyBookedException("One or more selected seats are already booked");
     }
-
-    return new ReservationResponse(
-        saved.getId(),
-        showtimeId,
-        showtime.getMovie().getTitle(),
-        showtime.getAuditorium().getName(),
-        showtime.getStartTime().toString(),
-        showtime.getEndTime().toString(),
-        saved.getStatus().name(),
-        saved.getTotalAmountCents(),
-        saved.getCreatedAt().toString(),
-        seats.stream().map(Seat::getId).toList(),
-        seats.stream().map(seat -> seat.getRowLabel() + "-" + seat.getSeatNumber()).toList());
   }
 
-  @Transactional(readOnly = true)
-  public List<ReservationResponse> myReservations() {
-    User user = currentUserService.getCurrentUser()
+  public ReservationPageResponse myReservations(String scope, String cursor, int limit) {
+    AuthUser user = currentUserService.getCurrentUser()
         .orElseThrow(() -> new IllegalStateException("Unauthorized"));
 
-    return reservationRepository.findByUserIdOrderByCreatedAtDesc(user.getId()).stream()
-        .map(r -> {
-          List<Long> seatIds = reservationSeatRepository.findSeatIdsForReservation(r.getId());
-
-          Map<Long, String> idToLabel = seatRepository.findAllById(seatIds).stream()
-              .collect(Collectors.toMap(Seat::getId, s -> s.getRowLabel() + "-" + s.getSeatNumber()));
-
-          List<String> seatLabels = seatIds.stream().map(idToLabel::get).toList();
-          return new ReservationResponse(
-              r.getId(),
-              r.getShowtime().getId(),
-              r.getShowtime().getMovie().getTitle(),
-              r.getShowtime().getAuditorium().getName(),
-              r.getShowtime().getStartTime().toString(),
-              r.getShowtime().getEndTime().toString(),
-              r.getStatus().name(),
-              r.getTotalAmountCents(),
-              r.getCreatedAt().toString(),
-              seatIds,
-              seatLabels);
-        })
-        .toList();
-  }
-
-  @Transactional
-  public void cancel(long reservationId) {
-    User user = currentUserService.getCurrentUser()
-        .orElseThrow(() -> new IllegalStateException("Unauthorized"));
-
-    Reservation r = reservationRepository.findById(reservationId)
-        .orElseThrow(() -> new IllegalArgumentException("Reservation not found"));
+    ReservationScope parsedScope;
+    try {
+      parsedScope = ReservationScope.valueOf(scope.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException ex) {
+      throw new IllegalArgumentException("scope must be one of all, upcoming, past");
+    }
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+    }
 
-    if (!r.getUser().getId().equals(user.getId())) {
-      throw new IllegalArgumentException("Not allowed");
+    Instant beforeCreatedAt = null;
+    Long beforeId = null;
+    if (cursor != null && !cursor.isBlank()) {
+      try {
+        String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",", 2);
+        beforeCreatedAt = Instant.parse(parts[0]);
+        beforeId = Long.parseLong(parts[1]);
+      } catch (RuntimeException ex) {
+        throw new IllegalArgumentException("Invalid cursor");
+      }
     }
 
-    if (!r.getShowtime().getStartTime().isAfter(Instant.now())) {
-      throw new IllegalArgumentException("Only upcoming reservations can be cancelled");
+    List<ReservationResponse> rows = reservationRepository.findPageForUser(user.getId(), parsedScope,
+        beforeCreatedAt, beforeId, limit + 1);
+    if (rows.size() <= limit) {
+      return new ReservationPageResponse(rows, null);
     }
+    List<ReservationResponse> items = rows.subList(0, limit);
+    ReservationResponse last = items.get(limit - 1);
+    String nextCursor = Base64.getUrlEncoder().withoutPadding()
+        .encodeToString((last.createdAt() + "," + last.id()).getBytes(StandardCharsets.UTF_8));
+    return new ReservationPageResponse(List.copyOf(items), nextCursor);
+  }
+
+  public void cancel(long reservationId) {
+    AuthUser user = currentUserService.getCurrentUser()
+        .orElseThrow(() -> new IllegalStateException("Unauthorized"));
 
-    r.setStatus(ReservationStatus.CANCELLED);
-    reservationRepository.save(r);
+    Cancellation cancellation = reservationWriter.cancel(user.getId(), reservationId);
+    seatInventory.release(cancellation.showtimeId(), cancellation.seatIds());
   }
 
   public static class SeatAlreadyBookedException extends RuntimeException {
-    public SeatAlreadyBookedException(String message) {
+    private final List<Long> seatIds;
+
+    public SeatAlreadyBookedException(String message, List<Long> seatIds) {
       super(message);
+      this.seatIds = seatIds;
+    }
+
+    public List<Long> getSeatIds() {
+      return seatIds;
     }
   }
 }
@@ -0,0 +1,135 @@
+package com.mrs.backend.reservation;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mrs.backend.reservation.ReservationService.SeatAlreadyBookedException;
+import com.mrs.backend.reservation.dto.ReservationResponse;
+import com.mrs.backend.seat.Seat;
+import com.mrs.backend.seat.SeatRepository;
+import com.mrs.backend.showtime.Showtime;
+import com.mrs.backend.showtime.ShowtimeRepository;
+import com.mrs.backend.user.UserRepository;
+
+@Service
+public class ReservationWriter {
+
+  private final ShowtimeRepository showtimeRepository;
+  private final SeatRepository seatRepository;
+  private final ReservationRepository reservationRepository;
+  private final ReservationSeatRepository reservationSeatRepository;
+  private final UserRepository userRepository;
+
+  public ReservationWriter(ShowtimeRepository showtimeRepository,
+      SeatRepository seatRepository,
+      ReservationRepository reservationRepository,
+      ReservationSeatRepository reservationSeatRepository,
+      UserRepository userRepository) {
+    this.showtimeRepository = showtimeRepository;
+    this.seatRepository = seatRepository;
+    this.reservationRepository = reservationRepository;
+    this.reservationSeatRepository = reservationSeatRepository;
+    this.userRepository = userRepository;
+  }
+
+  @Transactional
+  public ReservationResponse write(long userId, long showtimeId, Collection<Long> seatIds) {
+    return writeAll(showtimeId, List.of(new PendingReservation(userId, seatIds))).get(0);
+  }
+
+  @Transactional
+  public List<ReservationResponse> writeAll(long showtimeId, List<PendingReservation> pending) {
+    Showtime showtime = showtimeRepository.findDetailById(showtimeId)
+        .orElseThrow(() -> new IllegalArgumentException("Showtime not found"));
+
+    Set<Long> allSeatIds = new HashSet<>();
+    pending.forEach(p -> allSeatIds.addAll(p.seatIds()));
+    Map<Long, Seat> seatsById = seatRepository.findAllById(allSeatIds).stream()
+        .collect(Collectors.toMap(Seat::getId, Function.identity()));
+
+    List<ReservationResponse> responses = new ArrayList<>(pending.size());
+    for (PendingReservation p : pending) {
+      responses.add(insert(showtime, p, seatsById));
+    }
+    return responses;
+  }
+
+  private ReservationResponse insert(Showtime showtime, PendingReservation pending, Map<Long, Seat> seatsById) {
+    List<Seat> seats = new ArrayList<>(pending.seatIds().size());
+    for (Long seatId : pending.seatIds()) {
+      Seat seat = seatsById.get(seatId);
+      if (seat == null) {
+        throw new IllegalArgumentException("One or more seats not found");
+      }
+      if (!seat.getAuditorium().getId().equals(showtime.getAuditorium().getId())) {
+        throw new IllegalArgumentException("Seat does not belong to showtime auditorium");
+      }
+      seats.add(seat);
+    }
+
+    Reservation reservation = new Reservation();
+    reservation.setUser(userRepository.getReferenceById(pending.userId()));
+    reservation.setShowtime(showtime);
+    reservation.setStatus(ReservationStatus.CONFIRMED);
+    reservation.setTotalAmountCents(showtime.getPriceCents() * seats.size());
+    reservation.setCreatedAt(Instant.now());
+
+    Reservation saved = reservationRepository.save(reservation);
+
+    List<Long> inserted = reservationSeatRepository.insertSeats(saved.getId(), showtime.getId(), pending.seatIds());
+    if (inserted.size() != seats.size()) {
+      Set<Long> collided = new LinkedHashSet<>(pending.seatIds());
+      inserted.forEach(collided::remove);
+      throw new SeatAlreadyBookedException("One or more selected seats are already booked", List.copyOf(collided));
+    }
+
+    return new ReservationResponse(
+        saved.getId(),
+        showtime.getId(),
+        showtime.getMovie().getTitle(),
+        showtime.getAuditorium().getName(),
+        showtime.getStartTime().toString(),
+        showtime.getEndTime().toString(),
+        saved.getStatus().name(),
+        saved.getTotalAmountCents(),
+        saved.getCreatedAt().toString(),
+        seats.stream().map(Seat::getId).toList(),
+        seats.stream().map(seat -> seat.getRowLabel() + "-" + seat.getSeatNumber()).toList());
+  }
+
+  @Transactional
+  public Cancellation cancel(long userId, long reservationId) {
+    Reservation r = reservationRepository.findById(reservationId)
+        .orElseThrow(() -> new IllegalArgumentException("Reservation not found"));
+
+    if (r.getUser().getId() != userId) {
+      throw new IllegalArgumentException("Not allowed");
+    }
+
+    if (!r.getShowtime().getStartTime().isAfter(Instant.now())) {
+      throw new IllegalArgumentException("Only upcoming reservations can be cancelled");
+    }
+
+    r.setStatus(ReservationStatus.CANCELLED);
+    reservationRepository.save(r);
+
+    return new Cancellation(r.getShowtime().getId(), reservationSeatRepository.releaseSeats(r.getId()));
+  }
+
+  public record PendingReservation(long userId, Collection<Long> seatIds) {
+  }
+
+  public record Cancellation(long showtimeId, List<Long> seatIds) {
+  }
+}
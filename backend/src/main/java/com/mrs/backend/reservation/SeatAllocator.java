@@ -0,0 +1,53 @@
+package com.mrs.backend.reservation;
+
+import java.util.BitSet;
+
+/**
+ * Picks the best block of adjacent free seats: rows nearest the middle of the
+ * room win, and within a row the block closest to the row centre wins. Runs of
+ * free seats are found with word-level {@link BitSet} scans, so the cost is
+ * proportional to the number of rows and runs rather than seats.
+ */
+final class SeatAllocator {
+
+  private static final double ROW_WEIGHT = 2.0;
+
+  private SeatAllocator() {
+  }
+
+  static int bestBlock(SeatLayout layout, BitSet taken, int partySize, int[] rows) {
+    double centreRow = (layout.rowCount() - 1) / 2.0;
+    double bestScore = Double.MAX_VALUE;
+    int bestStart = -1;
+
+    for (int row : rows) {
+      int start = layout.rowStart(row);
+      int end = layout.rowEnd(row);
+      if (end - start < partySize) {
+        continue;
+      }
+      double rowCentre = (start + end - 1) / 2.0;
+      double rowPenalty = Math.abs(row - centreRow) * ROW_WEIGHT;
+      if (rowPenalty >= bestScore) {
+        continue;
+      }
+
+      int pos = taken.nextClearBit(start);
+      while (pos < end) {
+        int nextTaken = taken.nextSetBit(pos);
+        int runEnd = layout.blockEnd(pos, nextTaken < 0 || nextTaken > end ? end : nextTaken);
+        if (runEnd - pos >= partySize) {
+          int blockStart = (int) Math.round(rowCentre - (partySize - 1) / 2.0);
+          blockStart = Math.max(pos, Math.min(blockStart, runEnd - partySize));
+          double score = rowPenalty + Math.abs(blockStart + (partySize - 1) / 2.0 - rowCentre);
+          if (score < bestScore) {
+            bestScore = score;
+            bestStart = blockStart;
+          }
+        }
+        pos = taken.nextClearBit(runEnd);
+      }
+    }
+    return bestStart;
+  }
+}
@@ -0,0 +1,11 @@
+package com.mrs.backend.reservation;
+
+import java.util.List;
+
+public record SeatAvailabilityChangedEvent(
+    long showtimeId,
+    long version,
+    List<Long> bookedSeatIds,
+    List<Long> releasedSeatIds,
+    List<Long> heldSeatIds) {
+}
@@ -0,0 +1,23 @@
+package com.mrs.backend.reservation;
+
+/**
+ * Booked and held seats of one showtime as bitmaps indexed by seat position in
+ * the auditorium layout (the order of the seat-map endpoint). Bit {@code i}
+ * is bit {@code i % 8} of byte {@code i / 8}, least significant bit first.
+ * Trailing zero bytes are left out, so an empty set is an empty array.
+ */
+public record SeatBitmap(long showtimeId, long version, int seatCount, byte[] booked, byte[] held) {
+
+  /**
+   * The booked bitmap and then the held bitmap, each padded to
+   * {@code ceil(seatCount / 8)} bytes, so the held section starts at that
+   * offset.
+   */
+  public byte[] toBytes() {
+    int sectionLength = (seatCount + 7) / 8;
+    byte[] bytes = new byte[2 * sectionLength];
+    System.arraycopy(booked, 0, bytes, 0, booked.length);
+    System.arraycopy(held, 0, bytes, sectionLength, held.length);
+    return bytes;
+  }
+}
@@ -0,0 +1,32 @@
+package com.mrs.backend.reservation;
+
+import java.util.List;
+
+public final class SeatClaim {
+
+  private final ShowtimeSeats seats;
+  private final int[] positions;
+  private final List<Long> seatIds;
+
+  SeatClaim(ShowtimeSeats seats, int[] positions, List<Long> seatIds) {
+    this.seats = seats;
+    this.positions = positions;
+    this.seatIds = seatIds;
+  }
+
+  public long showtimeId() {
+    return seats.showtimeId();
+  }
+
+  public List<Long> seatIds() {
+    return seatIds;
+  }
+
+  ShowtimeSeats seats() {
+    return seats;
+  }
+
+  int[] positions() {
+    return positions;
+  }
+}
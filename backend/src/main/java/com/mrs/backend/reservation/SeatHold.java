@@ -0,0 +1,6 @@
+package com.mrs.backend.reservation;
+
+import java.time.Instant;
+
+record SeatHold(String id, Long userId, SeatClaim claim, Instant expiresAt) {
+}
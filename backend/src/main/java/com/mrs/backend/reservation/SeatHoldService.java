@@ -0,0 +1,152 @@
+package com.mrs.backend.reservation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.mrs.backend.reservation.dto.HoldSeatsRequest;
+import com.mrs.backend.reservation.dto.ReservationResponse;
+import com.mrs.backend.reservation.dto.SeatHoldResponse;
+import com.mrs.backend.security.AuthUser;
+import com.mrs.backend.security.CurrentUserService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Service
+public class SeatHoldService {
+
+  private final SeatInventory seatInventory;
+  private final ReservationService reservationService;
+  private final CurrentUserService currentUserService;
+  private final Duration ttl;
+  private final int maxSeats;
+
+  private final Map<String, SeatHold> holds = new ConcurrentHashMap<>();
+  private final Map<String, String> holdIdByUserShowtime = new ConcurrentHashMap<>();
+  private final HoldExpiryWheel expiryWheel;
+
+  private final Counter expired;
+
+  public SeatHoldService(SeatInventory seatInventory,
+      ReservationService reservationService,
+      CurrentUserService currentUserService,
+      MeterRegistry meterRegistry,
+      @Value("${app.holds.ttl-seconds:180}") long ttlSeconds,
+      @Value("${app.holds.max-seats:10}") int maxSeats,
+      @Value("${app.holds.tick-ms:1000}") long tickMillis) {
+    this.seatInventory = seatInventory;
+    this.reservationService = reservationService;
+    this.currentUserService = currentUserService;
+    this.ttl = Duration.ofSeconds(ttlSeconds);
+    this.maxSeats = maxSeats;
+    this.expiryWheel = new HoldExpiryWheel(tickMillis, 512, System.currentTimeMillis());
+
+    this.expired = Counter.builder("seat.holds.expired").register(meterRegistry);
+    Gauge.builder("seat.holds.active", holds, Map::size).register(meterRegistry);
+  }
+
+  public SeatHoldResponse hold(long showtimeId, HoldSeatsRequest req) {
+    AuthUser user = currentUserService.getCurrentUser()
+        .orElseThrow(() -> new IllegalStateException("Unauthorized"));
+
+    Set<Long> uniqueSeatIds = new LinkedHashSet<>(req.seatIds());
+    if (uniqueSeatIds.isEmpty()) {
+      throw new IllegalArgumentException("seatIds must not be empty");
+    }
+    if (uniqueSeatIds.size() > maxSeats) {
+      throw new IllegalArgumentException("A hold may contain at most " + maxSeats + " seats");
+    }
+
+    String userShowtimeKey = user.getId() + ":" + showtimeId;
+    String previousId = holdIdByUserShowtime.get(userShowtimeKey);
+    SeatHold previous = previousId == null ? null : holds.get(previousId);
+    // taken out while the new seats are claimed, so expiry cannot release it halfway
+    if (previous != null && !holds.remove(previousId, previous)) {
+      previous = null;
+    }
+
+    SeatClaim claim;
+    try {
+      claim = previous == null
+          ? seatInventory.claim(showtimeId, uniqueSeatIds)
+          : seatInventory.reclaim(previous.claim(), uniqueSeatIds);
+    } catch (RuntimeException ex) {
+      if (previous != null) {
+        restore(previous);
+      }
+      throw ex;
+    }
+    SeatHold hold = new SeatHold(UUID.randomUUID().toString(), user.getId(), claim, Instant.now().plus(ttl));
+    holds.put(hold.id(), hold);
+    holdIdByUserShowtime.put(userShowtimeKey, hold.id());
+    expiryWheel.schedule(hold);
+
+    return new SeatHoldResponse(hold.id(), showtimeId, claim.seatIds(), hold.expiresAt().toString());
+  }
+
+  public ReservationResponse confirm(String holdId) {
+    AuthUser user = currentUserService.getCurrentUser()
+        .orElseThrow(() -> new IllegalStateException("Unauthorized"));
+
+    SeatHold hold = take(holdId, user);
+    return reservationService.complete(user.getId(), hold.claim());
+  }
+
+  public void release(String holdId) {
+    AuthUser user = currentUserService.getCurrentUser()
+        .orElseThrow(() -> new IllegalStateException("Unauthorized"));
+
+    seatInventory.abort(take(holdId, user).claim());
+  }
+
+  @Scheduled(fixedRateString = "${app.holds.tick-ms:1000}")
+  public void expireHolds() {
+    expiryWheel.advance(System.currentTimeMillis(), hold -> {
+      if (discard(hold)) {
+        expired.increment();
+      }
+    });
+  }
+
+  private SeatHold take(String holdId, AuthUser user) {
+    SeatHold hold = holds.get(holdId);
+    if (hold == null || !hold.expiresAt().isAfter(Instant.now())) {
+      throw new IllegalArgumentException("Hold not found or expired");
+    }
+    if (!hold.userId().equals(user.getId())) {
+      throw new IllegalArgumentException("Not allowed");
+    }
+    if (!holds.remove(holdId, hold)) {
+      throw new IllegalArgumentException("Hold not found or expired");
+    }
+    holdIdByUserShowtime.remove(hold.userId() + ":" + hold.claim().showtimeId(), holdId);
+    return hold;
+  }
+
+  /** Puts back a hold that could not be replaced; one that expired meanwhile is released now. */
+  private void restore(SeatHold hold) {
+    holds.put(hold.id(), hold);
+    if (!hold.expiresAt().isAfter(Instant.now()) && discard(hold)) {
+      expired.increment();
+    }
+  }
+
+  private boolean discard(SeatHold hold) {
+    if (hold == null || !holds.remove(hold.id(), hold)) {
+      return false;
+    }
+    holdIdByUserShowtime.remove(hold.userId() + ":" + hold.claim().showtimeId(), hold.id());
+    seatInventory.abort(hold.claim());
+    return true;
+  }
+}
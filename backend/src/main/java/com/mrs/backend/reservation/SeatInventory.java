@@ -0,0 +1,310 @@
+package com.mrs.backend.reservation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.mrs.backend.reservation.ReservationService.SeatAlreadyBookedException;
+import com.mrs.backend.reservation.dto.ShowtimeSeatAvailabilityResponse;
+import com.mrs.backend.seat.SeatMapCache;
+import com.mrs.backend.showtime.ShowtimeChangedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+public class SeatInventory {
+
+  private static final int RECONCILE_CHUNK_SIZE = 500;
+
+  private final SeatMapCache seatMapCache;
+  private final ReservationSeatRepository reservationSeatRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Duration idleEviction;
+  private final int changeLogSize;
+
+  private final ConcurrentHashMap<Long, ShowtimeSeats> showtimes = new ConcurrentHashMap<>();
+  // pending seats of invalidated entries, restored when the showtime is loaded again
+  private final ConcurrentHashMap<Long, Set<Long>> carriedPending = new ConcurrentHashMap<>();
+  private final AtomicLong versions = new AtomicLong(System.currentTimeMillis() * 1000);
+
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter rejections;
+  private final Counter corrections;
+
+  public SeatInventory(SeatMapCache seatMapCache,
+      ReservationSeatRepository reservationSeatRepository,
+      ApplicationEventPublisher eventPublisher,
+      MeterRegistry meterRegistry,
+      @Value("${app.inventory.idle-eviction-seconds:900}") long idleEvictionSeconds,
+      @Value("${app.inventory.change-log-size:256}") int changeLogSize) {
+    this.seatMapCache = seatMapCache;
+    this.reservationSeatRepository = reservationSeatRepository;
+    this.eventPublisher = eventPublisher;
+    this.idleEviction = Duration.ofSeconds(idleEvictionSeconds);
+    this.changeLogSize = changeLogSize;
+
+    this.hits = Counter.builder("seat.inventory.requests").tag("result", "hit").register(meterRegistry);
+    this.misses = Counter.builder("seat.inventory.requests").tag("result", "miss").register(meterRegistry);
+    this.rejections = Counter.builder("seat.inventory.rejections").register(meterRegistry);
+    this.corrections = Counter.builder("seat.inventory.reconcile.corrections").register(meterRegistry);
+    Gauge.builder("seat.inventory.showtimes", showtimes, Map::size).register(meterRegistry);
+  }
+
+  public ShowtimeSeatAvailabilityResponse availability(long showtimeId) {
+    return seats(showtimeId).availability();
+  }
+
+  public ShowtimeSeatAvailabilityResponse availabilitySince(long showtimeId, long sinceVersion) {
+    ShowtimeSeats seats = seats(showtimeId);
+    ShowtimeSeatAvailabilityResponse changes = seats.availabilitySince(sinceVersion);
+    return changes != null ? changes : seats.availability();
+  }
+
+  public SeatBitmap bitmap(long showtimeId) {
+    return seats(showtimeId).bitmap();
+  }
+
+  public long version(long showtimeId) {
+    return seats(showtimeId).version();
+  }
+
+  public SeatClaim claim(long showtimeId, Collection<Long> seatIds) {
+    ShowtimeSeats seats = seats(showtimeId);
+
+    int[] positions = new int[seatIds.size()];
+    int i = 0;
+    for (Long seatId : seatIds) {
+      int pos = seats.positionOf(seatId);
+      if (pos < 0) {
+        throw new IllegalArgumentException("Seat does not belong to showtime auditorium");
+      }
+      positions[i++] = pos;
+    }
+
+    List<Long> conflicts = seats.claim(positions);
+    if (!conflicts.isEmpty()) {
+      rejections.increment();
+      throw new SeatAlreadyBookedException("One or more selected seats are already booked", conflicts);
+    }
+    return new SeatClaim(seats, positions, List.copyOf(seatIds));
+  }
+
+  /**
+   * Replaces {@code previous} with a claim on {@code seatIds}. The previous
+   * seats are only released once the new ones are secured, so a conflict
+   * leaves the previous claim as it was.
+   */
+  public SeatClaim reclaim(SeatClaim previous, Collection<Long> seatIds) {
+    ShowtimeSeats seats = seats(previous.showtimeId());
+
+    int[] positions = new int[seatIds.size()];
+    int i = 0;
+    for (Long seatId : seatIds) {
+      int pos = seats.positionOf(seatId);
+      if (pos < 0) {
+        throw new IllegalArgumentException("Seat does not belong to showtime auditorium");
+      }
+      positions[i++] = pos;
+    }
+
+    List<Long> conflicts = seats.reclaim(positions(seats, previous), positions);
+    if (!conflicts.isEmpty()) {
+      rejections.increment();
+      throw new SeatAlreadyBookedException("One or more selected seats are already booked", conflicts);
+    }
+    return new SeatClaim(seats, positions, List.copyOf(seatIds));
+  }
+
+  /**
+   * Claims the best block of adjacent free seats. Seats in {@code excludedSeatIds}
+   * are treated as taken, so a retry can step past seats the database already
+   * reported as booked before the in-memory state catches up.
+   */
+  public SeatClaim claimBest(long showtimeId, int partySize, Collection<String> preferredRows,
+      Collection<Long> excludedSeatIds) {
+    ShowtimeSeats seats = seats(showtimeId);
+    SeatLayout layout = seats.layout();
+
+    int[] rows;
+    if (preferredRows == null || preferredRows.isEmpty()) {
+      rows = IntStream.range(0, layout.rowCount()).toArray();
+    } else {
+      rows = new int[preferredRows.size()];
+      int i = 0;
+      for (String label : preferredRows) {
+        int row = layout.rowIndexOf(label);
+        if (row < 0) {
+          throw new IllegalArgumentException("Unknown row: " + label);
+        }
+        rows[i++] = row;
+      }
+    }
+
+    int[] positions = seats.claimBest(partySize, rows, seats.positionsOf(excludedSeatIds));
+    if (positions == null) {
+      rejections.increment();
+      throw new SeatAlreadyBookedException("Not enough adjacent seats available", List.of());
+    }
+    return new SeatClaim(seats, positions, Arrays.stream(positions).mapToObj(seats::seatIdAt).toList());
+  }
+
+  public void commit(SeatClaim claim) {
+    ShowtimeSeats seats = current(claim);
+    if (seats != null) {
+      seats.commit(positions(seats, claim));
+    }
+  }
+
+  public void abort(SeatClaim claim) {
+    ShowtimeSeats seats = current(claim);
+    if (seats != null) {
+      seats.abort(positions(seats, claim));
+    }
+  }
+
+  public void release(long showtimeId, Collection<Long> seatIds) {
+    ShowtimeSeats seats = showtimes.get(showtimeId);
+    if (seats == null) {
+      return;
+    }
+    seats.release(seats.positionsOf(seatIds));
+  }
+
+  public void invalidate(long showtimeId) {
+    ShowtimeSeats removed = showtimes.remove(showtimeId);
+    if (removed == null) {
+      return;
+    }
+    List<Long> held = removed.pendingSeatIds();
+    if (!held.isEmpty()) {
+      carriedPending.merge(showtimeId, new HashSet<>(held), (a, b) -> {
+        a.addAll(b);
+        return a;
+      });
+    }
+  }
+
+  public void refresh(long showtimeId) {
+    if (showtimes.containsKey(showtimeId)) {
+      reconcile(List.of(showtimeId));
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onShowtimeChanged(ShowtimeChangedEvent event) {
+    invalidate(event.showtimeId());
+  }
+
+  @Scheduled(
+      initialDelayString = "${app.inventory.reconcile-interval-ms:30000}",
+      fixedDelayString = "${app.inventory.reconcile-interval-ms:30000}")
+  public void reconcile() {
+    long now = System.nanoTime();
+    // entries with pending seats stay, so live holds and claims are never dropped
+    showtimes.values().removeIf(s -> now - s.lastAccessNanos() > idleEviction.toNanos() && !s.hasPending());
+
+    List<Long> ids = new ArrayList<>(showtimes.keySet());
+    for (int from = 0; from < ids.size(); from += RECONCILE_CHUNK_SIZE) {
+      reconcile(ids.subList(from, Math.min(ids.size(), from + RECONCILE_CHUNK_SIZE)));
+    }
+  }
+
+  private void reconcile(List<Long> showtimeIds) {
+    Map<Long, Long> versionsBefore = new HashMap<>();
+    for (Long id : showtimeIds) {
+      ShowtimeSeats seats = showtimes.get(id);
+      if (seats != null) {
+        versionsBefore.put(id, seats.version());
+      }
+    }
+
+    Map<Long, List<Long>> bookedByShowtime = reservationSeatRepository.findBookedSeats(versionsBefore.keySet())
+        .stream()
+        .collect(Collectors.groupingBy(BookedSeat::showtimeId,
+            Collectors.mapping(BookedSeat::seatId, Collectors.toList())));
+
+    versionsBefore.forEach((id, expected) -> {
+      ShowtimeSeats seats = showtimes.get(id);
+      if (seats == null) {
+        return;
+      }
+      int corrected = seats.reconcile(bookedByShowtime.getOrDefault(id, List.of()), expected);
+      if (corrected > 0) {
+        corrections.increment(corrected);
+      }
+    });
+  }
+
+  private ShowtimeSeats seats(long showtimeId) {
+    ShowtimeSeats seats = showtimes.get(showtimeId);
+    if (seats != null) {
+      hits.increment();
+      seats.touch();
+      return seats;
+    }
+
+    misses.increment();
+    ShowtimeSeats loaded = load(showtimeId);
+    Set<Long> held = carriedPending.remove(showtimeId);
+    if (held != null) {
+      loaded.restorePending(held);
+    }
+    ShowtimeSeats existing = showtimes.putIfAbsent(showtimeId, loaded);
+    if (existing == null) {
+      return loaded;
+    }
+    if (held != null) {
+      existing.restorePending(held);
+    }
+    return existing;
+  }
+
+  /**
+   * The live entry for the claim's showtime, or null when it is not loaded. A
+   * claim can outlive the entry it was made against when the showtime is
+   * invalidated; if nothing has been loaded since, its seats are dropped from
+   * the carried pending set instead.
+   */
+  private ShowtimeSeats current(SeatClaim claim) {
+    ShowtimeSeats seats = showtimes.get(claim.showtimeId());
+    if (seats == null) {
+      carriedPending.computeIfPresent(claim.showtimeId(), (id, held) -> {
+        held.removeAll(claim.seatIds());
+        return held.isEmpty() ? null : held;
+      });
+    }
+    return seats;
+  }
+
+  private static int[] positions(ShowtimeSeats seats, SeatClaim claim) {
+    return seats == claim.seats() ? claim.positions() : seats.positionsOf(claim.seatIds());
+  }
+
+  private ShowtimeSeats load(long showtimeId) {
+    long auditoriumId = seatMapCache.auditoriumOf(showtimeId);
+    SeatLayout layout = SeatLayout.of(seatMapCache.forAuditorium(auditoriumId));
+
+    return new ShowtimeSeats(showtimeId, auditoriumId, layout,
+        reservationSeatRepository.findBookedSeatIds(showtimeId),
+        versions::incrementAndGet, changeLogSize, eventPublisher::publishEvent);
+  }
+}
@@ -0,0 +1,81 @@
+package com.mrs.backend.reservation;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.mrs.backend.seat.AuditoriumSeatMap;
+
+/**
+ * Auditorium seats flattened into layout order (row label, then seat number).
+ * Rows are contiguous position ranges, and {@code breaks} marks every position
+ * that does not sit directly next to the previous one (row starts and gaps in
+ * seat numbering such as aisles).
+ */
+final class SeatLayout {
+
+  private final long[] seatIds;
+  private final String[] rowLabels;
+  private final int[] rowStarts;
+  private final BitSet breaks;
+  private final Map<String, Integer> rowIndex;
+
+  private SeatLayout(long[] seatIds, String[] rowLabels, int[] rowStarts, BitSet breaks) {
+    this.seatIds = seatIds;
+    this.rowLabels = rowLabels;
+    this.rowStarts = rowStarts;
+    this.breaks = breaks;
+    this.rowIndex = new HashMap<>(rowLabels.length * 2);
+    for (int r = 0; r < rowLabels.length; r++) {
+      rowIndex.put(rowLabels[r], r);
+    }
+  }
+
+  static SeatLayout of(AuditoriumSeatMap map) {
+    String[] labels = new String[map.rowCount()];
+    int[] starts = new int[map.rowCount() + 1];
+    BitSet breaks = new BitSet(map.seatCount());
+    for (int row = 0; row < labels.length; row++) {
+      labels[row] = map.rowLabel(row);
+      starts[row] = map.rowStart(row);
+      breaks.set(map.rowStart(row));
+      for (int pos = map.rowStart(row) + 1; pos < map.rowEnd(row); pos++) {
+        if (map.seatNumberAt(pos) != map.seatNumberAt(pos - 1) + 1) {
+          breaks.set(pos);
+        }
+      }
+    }
+    starts[labels.length] = map.seatCount();
+
+    return new SeatLayout(map.seatIds(), labels, starts, breaks);
+  }
+
+  long[] seatIds() {
+    return seatIds;
+  }
+
+  int rowCount() {
+    return rowLabels.length;
+  }
+
+  int rowStart(int row) {
+    return rowStarts[row];
+  }
+
+  int rowEnd(int row) {
+    return rowStarts[row + 1];
+  }
+
+  int rowIndexOf(String label) {
+    return rowIndex.getOrDefault(label, -1);
+  }
+
+  /**
+   * First position after {@code pos} that starts a new contiguous block, or
+   * {@code limit} if the block runs to the end of the range.
+   */
+  int blockEnd(int pos, int limit) {
+    int next = breaks.nextSetBit(pos + 1);
+    return next < 0 || next > limit ? limit : next;
+  }
+}
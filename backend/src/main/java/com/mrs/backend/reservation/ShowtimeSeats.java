@@ -0,0 +1,382 @@
+package com.mrs.backend.reservation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import com.mrs.backend.reservation.dto.ShowtimeSeatAvailabilityResponse;
+
+final class ShowtimeSeats {
+
+  private final long showtimeId;
+  private final long auditoriumId;
+  private final SeatLayout layout;
+  private final long[] seatIds;
+  private final long[] sortedSeatIds;
+  private final int[] sortedPositions;
+  private final LongSupplier versions;
+  private final Consumer<SeatAvailabilityChangedEvent> listener;
+  private final ConcurrentLinkedQueue<SeatAvailabilityChangedEvent> outbox = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean publishing = new AtomicBoolean();
+
+  private BitSet booked;
+  private final BitSet pending = new BitSet();
+  private long version;
+  private volatile long lastAccessNanos = System.nanoTime();
+
+  private final long[] logVersions;
+  private final int[][] logPositions;
+  private int logNext;
+  private long logFloor;
+
+  ShowtimeSeats(long showtimeId, long auditoriumId, SeatLayout layout, Collection<Long> bookedSeatIds,
+      LongSupplier versions, int changeLogSize, Consumer<SeatAvailabilityChangedEvent> listener) {
+    this.showtimeId = showtimeId;
+    this.auditoriumId = auditoriumId;
+    this.layout = layout;
+    this.seatIds = layout.seatIds();
+    this.versions = versions;
+    this.listener = listener;
+
+    Integer[] order = new Integer[seatIds.length];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (a, b) -> Long.compare(seatIds[a], seatIds[b]));
+    this.sortedSeatIds = new long[seatIds.length];
+    this.sortedPositions = new int[seatIds.length];
+    for (int i = 0; i < order.length; i++) {
+      sortedSeatIds[i] = seatIds[order[i]];
+      sortedPositions[i] = order[i];
+    }
+
+    this.booked = toBitSet(bookedSeatIds);
+    this.version = versions.getAsLong();
+    this.logFloor = version;
+    this.logVersions = new long[changeLogSize];
+    this.logPositions = new int[changeLogSize][];
+  }
+
+  long showtimeId() {
+    return showtimeId;
+  }
+
+  long auditoriumId() {
+    return auditoriumId;
+  }
+
+  int seatCount() {
+    return seatIds.length;
+  }
+
+  long seatIdAt(int position) {
+    return seatIds[position];
+  }
+
+  SeatLayout layout() {
+    return layout;
+  }
+
+  int positionOf(long seatId) {
+    int idx = Arrays.binarySearch(sortedSeatIds, seatId);
+    return idx < 0 ? -1 : sortedPositions[idx];
+  }
+
+  int[] positionsOf(Collection<Long> ids) {
+    return ids.stream()
+        .mapToInt(this::positionOf)
+        .filter(pos -> pos >= 0)
+        .toArray();
+  }
+
+  void touch() {
+    lastAccessNanos = System.nanoTime();
+  }
+
+  long lastAccessNanos() {
+    return lastAccessNanos;
+  }
+
+  synchronized long version() {
+    return version;
+  }
+
+  synchronized boolean hasPending() {
+    return !pending.isEmpty();
+  }
+
+  synchronized List<Long> pendingSeatIds() {
+    return toSeatIds(pending);
+  }
+
+  /**
+   * Marks seats pending that were claimed against an earlier entry for this
+   * showtime. Seats that are booked or no longer in the layout are skipped.
+   */
+  void restorePending(Collection<Long> pendingSeatIds) {
+    synchronized (this) {
+      BitSet restored = toBitSet(pendingSeatIds);
+      restored.andNot(booked);
+      restored.andNot(pending);
+      if (restored.isEmpty()) {
+        return;
+      }
+      pending.or(restored);
+      record(restored.stream().toArray(), List.of(), List.of(), toSeatIds(restored));
+    }
+    publish();
+  }
+
+  synchronized ShowtimeSeatAvailabilityResponse availability() {
+    return new ShowtimeSeatAvailabilityResponse(showtimeId, version, null,
+        toSeatIds(booked), toSeatIds(pending), List.of());
+  }
+
+  synchronized SeatBitmap bitmap() {
+    return new SeatBitmap(showtimeId, version, seatIds.length, booked.toByteArray(), pending.toByteArray());
+  }
+
+  /**
+   * Current state of every seat that changed after {@code sinceVersion}, or
+   * null when the change log no longer reaches back that far.
+   */
+  synchronized ShowtimeSeatAvailabilityResponse availabilitySince(long sinceVersion) {
+    if (sinceVersion < logFloor || sinceVersion > version) {
+      return null;
+    }
+    BitSet changed = new BitSet(seatIds.length);
+    int size = logVersions.length;
+    for (int i = 1; i <= size; i++) {
+      int slot = Math.floorMod(logNext - i, size);
+      if (logPositions[slot] == null || logVersions[slot] <= sinceVersion) {
+        break;
+      }
+      for (int pos : logPositions[slot]) {
+        changed.set(pos);
+      }
+    }
+
+    BitSet nowBooked = (BitSet) changed.clone();
+    nowBooked.and(booked);
+    BitSet nowHeld = (BitSet) changed.clone();
+    nowHeld.and(pending);
+    BitSet nowFree = (BitSet) changed.clone();
+    nowFree.andNot(booked);
+    nowFree.andNot(pending);
+    return new ShowtimeSeatAvailabilityResponse(showtimeId, version, sinceVersion,
+        toSeatIds(nowBooked), toSeatIds(nowHeld), toSeatIds(nowFree));
+  }
+
+  List<Long> claim(int[] positions) {
+    List<Long> conflicts = new ArrayList<>();
+    synchronized (this) {
+      for (int pos : positions) {
+        if (booked.get(pos) || pending.get(pos)) {
+          conflicts.add(seatIds[pos]);
+        }
+      }
+      if (!conflicts.isEmpty()) {
+        return conflicts;
+      }
+      for (int pos : positions) {
+        pending.set(pos);
+      }
+      record(positions, List.of(), List.of(), toSeatIds(positions));
+    }
+    publish();
+    return conflicts;
+  }
+
+  /**
+   * Moves a claim from the {@code held} positions to the {@code wanted} ones in
+   * one step: seats in both stay pending, new seats are claimed and the rest
+   * of the held seats are released. Nothing changes when a new seat is taken;
+   * the conflicting seat ids are returned instead.
+   */
+  List<Long> reclaim(int[] held, int[] wanted) {
+    List<Long> conflicts = new ArrayList<>();
+    synchronized (this) {
+      BitSet keep = new BitSet(seatIds.length);
+      for (int pos : held) {
+        keep.set(pos);
+      }
+      BitSet added = new BitSet(seatIds.length);
+      for (int pos : wanted) {
+        if (keep.get(pos)) {
+          keep.clear(pos);
+          continue;
+        }
+        if (booked.get(pos) || pending.get(pos)) {
+          conflicts.add(seatIds[pos]);
+        }
+        added.set(pos);
+      }
+      if (!conflicts.isEmpty()) {
+        return conflicts;
+      }
+      // what is left in keep are the held seats that were not wanted again
+      pending.andNot(keep);
+      pending.or(added);
+      BitSet changed = (BitSet) keep.clone();
+      changed.or(added);
+      if (changed.isEmpty()) {
+        return conflicts;
+      }
+      record(changed.stream().toArray(), List.of(), toSeatIds(keep), toSeatIds(added));
+    }
+    publish();
+    return conflicts;
+  }
+
+  /**
+   * Finds the best block of {@code partySize} adjacent free seats within the
+   * given rows, skipping the excluded positions, and marks it pending. Returns
+   * the claimed positions, or null when no such block exists.
+   */
+  int[] claimBest(int partySize, int[] rows, int[] excluded) {
+    int[] positions = new int[partySize];
+    synchronized (this) {
+      BitSet taken = (BitSet) booked.clone();
+      taken.or(pending);
+      for (int pos : excluded) {
+        taken.set(pos);
+      }
+      int start = SeatAllocator.bestBlock(layout, taken, partySize, rows);
+      if (start < 0) {
+        return null;
+      }
+      pending.set(start, start + partySize);
+
+      for (int i = 0; i < partySize; i++) {
+        positions[i] = start + i;
+      }
+      record(positions, List.of(), List.of(), toSeatIds(positions));
+    }
+    publish();
+    return positions;
+  }
+
+  void commit(int[] positions) {
+    synchronized (this) {
+      for (int pos : positions) {
+        pending.clear(pos);
+        booked.set(pos);
+      }
+      record(positions, toSeatIds(positions), List.of(), List.of());
+    }
+    publish();
+  }
+
+  void abort(int[] positions) {
+    synchronized (this) {
+      for (int pos : positions) {
+        pending.clear(pos);
+      }
+      record(positions, List.of(), toSeatIds(positions), List.of());
+    }
+    publish();
+  }
+
+  void release(int[] positions) {
+    synchronized (this) {
+      for (int pos : positions) {
+        booked.clear(pos);
+      }
+      record(positions, List.of(), toSeatIds(positions), List.of());
+    }
+    publish();
+  }
+
+  /**
+   * Replaces the booked set with a fresh database read, unless the state
+   * changed after that read started. Returns the number of corrected seats, or
+   * -1 when the reconciliation was skipped.
+   */
+  int reconcile(Collection<Long> bookedSeatIds, long expectedVersion) {
+    BitSet changed;
+    synchronized (this) {
+      if (version != expectedVersion) {
+        return -1;
+      }
+      BitSet fresh = toBitSet(bookedSeatIds);
+      BitSet added = (BitSet) fresh.clone();
+      added.andNot(booked);
+      BitSet removed = (BitSet) booked.clone();
+      removed.andNot(fresh);
+      booked = fresh;
+
+      changed = (BitSet) added.clone();
+      changed.or(removed);
+      if (changed.isEmpty()) {
+        return 0;
+      }
+      record(changed.stream().toArray(), toSeatIds(added), toSeatIds(removed), List.of());
+    }
+    publish();
+    return changed.cardinality();
+  }
+
+  private void record(int[] positions, List<Long> bookedIds, List<Long> releasedIds, List<Long> heldIds) {
+    version = versions.getAsLong();
+    if (logPositions[logNext] != null) {
+      logFloor = logVersions[logNext];
+    }
+    logVersions[logNext] = version;
+    logPositions[logNext] = positions;
+    logNext = (logNext + 1) % logVersions.length;
+
+    // queued under the lock, so the outbox is in version order; delivered by publish()
+    outbox.add(new SeatAvailabilityChangedEvent(showtimeId, version, bookedIds, releasedIds, heldIds));
+  }
+
+  /**
+   * Delivers recorded changes to the listener outside the monitor. One thread
+   * drains at a time, so listeners still see changes in version order; a
+   * thread that finds another one draining leaves its change to that thread.
+   */
+  private void publish() {
+    while (!outbox.isEmpty() && publishing.compareAndSet(false, true)) {
+      try {
+        SeatAvailabilityChangedEvent event;
+        while ((event = outbox.poll()) != null) {
+          listener.accept(event);
+        }
+      } finally {
+        publishing.set(false);
+      }
+    }
+  }
+
+  private BitSet toBitSet(Collection<Long> ids) {
+    BitSet bits = new BitSet(seatIds.length);
+    for (Long id : ids) {
+      int pos = positionOf(id);
+      if (pos >= 0) {
+        bits.set(pos);
+      }
+    }
+    return bits;
+  }
+
+  private List<Long> toSeatIds(int[] positions) {
+    List<Long> ids = new ArrayList<>(positions.length);
+    for (int pos : positions) {
+      ids.add(seatIds[pos]);
+    }
+    return ids;
+  }
+
+  private List<Long> toSeatIds(BitSet bits) {
+    List<Long> ids = new ArrayList<>(bits.cardinality());
+    for (int pos = bits.nextSetBit(0); pos >= 0; pos = bits.nextSetBit(pos + 1)) {
+      ids.add(seatIds[pos]);
+    }
+    return ids;
+  }
+}
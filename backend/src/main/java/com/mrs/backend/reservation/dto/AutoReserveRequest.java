@@ -0,0 +1,12 @@
+package com.mrs.backend.reservation.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+public record AutoReserveRequest(
+    @Min(1) @Max(20) int partySize,
+    List<@NotBlank String> preferredRows) {
+}
@@ -0,0 +1,10 @@
+package com.mrs.backend.reservation.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+public record HoldSeatsRequest(
+    @NotEmpty List<@NotNull Long> seatIds) {
+}
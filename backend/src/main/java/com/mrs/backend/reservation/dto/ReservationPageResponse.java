@@ -0,0 +1,8 @@
+package com.mrs.backend.reservation.dto;
+
+import java.util.List;
+
+public record ReservationPageResponse(
+    List<ReservationResponse> items,
+    String nextCursor) {
+}
@@ -3,7 +3,8 @@ package com.mrs.backend.reservation.dto;
 import java.util.List;
 
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 
 public record ReserveSeatsRequest(
-    @NotEmpty List<Long> seatIds) {
+    @NotEmpty List<@NotNull Long> seatIds) {
 }
@@ -0,0 +1,10 @@
+package com.mrs.backend.reservation.dto;
+
+import java.util.List;
+
+public record SeatHoldResponse(
+    String id,
+    Long showtimeId,
+    List<Long> seatIds,
+    String expiresAt) {
+}
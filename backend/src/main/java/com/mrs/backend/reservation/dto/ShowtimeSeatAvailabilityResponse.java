@@ -4,5 +4,9 @@ import java.util.List;
 
 public record ShowtimeSeatAvailabilityResponse(
     Long showtimeId,
-    List<Long> bookedSeatIds) {
+    long version,
+    Long sinceVersion,
+    List<Long> bookedSeatIds,
+    List<Long> heldSeatIds,
+    List<Long> releasedSeatIds) {
 }
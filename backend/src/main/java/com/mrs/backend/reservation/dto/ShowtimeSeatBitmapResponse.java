@@ -0,0 +1,9 @@
+package com.mrs.backend.reservation.dto;
+
+public record ShowtimeSeatBitmapResponse(
+    Long showtimeId,
+    long version,
+    int seatCount,
+    String booked,
+    String held) {
+}
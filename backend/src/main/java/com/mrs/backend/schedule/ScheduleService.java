@@ -0,0 +1,236 @@
+package com.mrs.backend.schedule;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.mrs.backend.reservation.ReservationSeatRepository;
+import com.mrs.backend.reservation.SeatAvailabilityChangedEvent;
+import com.mrs.backend.reservation.ShowtimeSeatCount;
+import com.mrs.backend.schedule.dto.ScheduleMovieResponse;
+import com.mrs.backend.schedule.dto.ScheduleResponse;
+import com.mrs.backend.schedule.dto.ScheduleShowtimeResponse;
+import com.mrs.backend.seat.AuditoriumSeatCount;
+import com.mrs.backend.seat.SeatRepository;
+import com.mrs.backend.showtime.Showtime;
+import com.mrs.backend.showtime.ShowtimeChangedEvent;
+import com.mrs.backend.showtime.ShowtimeRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Everything showing on one cinema-local day, grouped by movie, with seats
+ * remaining per showtime. The day's layout is built from two queries and cached
+ * until a showtime changes. Booked seat counts are cached per showtime beside
+ * it, so a booking that commits or is released re-reads one count rather than
+ * the whole day.
+ */
+@Service
+public class ScheduleService {
+
+  private final ShowtimeRepository showtimeRepository;
+  private final SeatRepository seatRepository;
+  private final ReservationSeatRepository reservationSeatRepository;
+  private final ZoneId zone;
+  private final Duration ttl;
+
+  private final ConcurrentHashMap<LocalDate, CachedDay> days = new ConcurrentHashMap<>();
+  private final AtomicLong generation = new AtomicLong();
+
+  // per showtime: the booked count, or the stamp of a change that has not been re-read yet
+  private final ConcurrentHashMap<Long, BookedSeats> booked = new ConcurrentHashMap<>();
+  private final AtomicLong seatChanges = new AtomicLong();
+  private volatile long prunedThrough;
+
+  private final Counter hits;
+  private final Counter misses;
+
+  public ScheduleService(ShowtimeRepository showtimeRepository,
+      SeatRepository seatRepository,
+      ReservationSeatRepository reservationSeatRepository,
+      ZoneId cinemaTimeZone,
+      MeterRegistry meterRegistry,
+      @Value("${app.schedule.cache-ttl-seconds:300}") long ttlSeconds) {
+    this.showtimeRepository = showtimeRepository;
+    this.seatRepository = seatRepository;
+    this.reservationSeatRepository = reservationSeatRepository;
+    this.zone = cinemaTimeZone;
+    this.ttl = Duration.ofSeconds(ttlSeconds);
+
+    this.hits = Counter.builder("schedule.cache.requests").tag("result", "hit").register(meterRegistry);
+    this.misses = Counter.builder("schedule.cache.requests").tag("result", "miss").register(meterRegistry);
+    Gauge.builder("schedule.cache.days", days, Map::size).register(meterRegistry);
+  }
+
+  public ScheduleResponse day(LocalDate date) {
+    CachedDay cached = days.get(date);
+    if (cached != null && !cached.isExpired(ttl)) {
+      hits.increment();
+      return cached.withSeatsRemaining(bookedSeats(cached.capacity().keySet(), false));
+    }
+
+    misses.increment();
+    long expectedGeneration = generation.get();
+    CachedDay loaded = load(date);
+    // skip caching if a showtime changed while this day was being read
+    if (generation.get() == expectedGeneration) {
+      days.put(date, loaded);
+    }
+    // a reloaded day re-reads every count, so the ttl also bounds how stale a count can get
+    return loaded.withSeatsRemaining(bookedSeats(loaded.capacity().keySet(), true));
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onShowtimeChanged(ShowtimeChangedEvent event) {
+    // a showtime may have moved onto a day that did not contain it before
+    generation.incrementAndGet();
+    days.clear();
+  }
+
+  @EventListener
+  public void onSeatAvailabilityChanged(SeatAvailabilityChangedEvent event) {
+    if (event.bookedSeatIds().isEmpty() && event.releasedSeatIds().isEmpty()) {
+      return;
+    }
+    booked.put(event.showtimeId(), BookedSeats.changed(seatChanges.incrementAndGet()));
+  }
+
+  @Scheduled(fixedDelayString = "${app.schedule.cache-ttl-seconds:300}", timeUnit = TimeUnit.SECONDS)
+  public void evictExpired() {
+    days.values().removeIf(day -> day.isExpired(ttl));
+    // a read that began before the clear may have missed a change whose marker is gone, so it is not kept
+    prunedThrough = Long.MAX_VALUE;
+    booked.clear();
+    prunedThrough = seatChanges.get();
+  }
+
+  /**
+   * Booked seats per showtime, reading the ones not cached (or all of them when
+   * {@code reload}) in one query. A count read while its showtime changed is
+   * returned but not kept.
+   */
+  private Map<Long, Long> bookedSeats(Set<Long> showtimeIds, boolean reload) {
+    Map<Long, Long> counts = new HashMap<>();
+    List<Long> missing = new ArrayList<>();
+    for (Long id : showtimeIds) {
+      BookedSeats cached = reload ? null : booked.get(id);
+      if (cached == null || cached.isChanged()) {
+        missing.add(id);
+      } else {
+        counts.put(id, cached.seats());
+      }
+    }
+    if (missing.isEmpty()) {
+      return counts;
+    }
+
+    long readAt = seatChanges.get();
+    Map<Long, Long> read = reservationSeatRepository.countBookedSeats(missing).stream()
+        .collect(Collectors.toMap(ShowtimeSeatCount::showtimeId, ShowtimeSeatCount::seats));
+    for (Long id : missing) {
+      long seats = read.getOrDefault(id, 0L);
+      counts.put(id, seats);
+      booked.compute(id, (key, current) -> {
+        boolean changedSince = current == null ? readAt < prunedThrough : current.changedAt() > readAt;
+        return changedSince ? current : BookedSeats.counted(seats, readAt);
+      });
+    }
+    return counts;
+  }
+
+  private CachedDay load(LocalDate date) {
+    List<Showtime> showtimes = showtimeRepository.findWithDetailsByStartTimeBetween(
+            date.atStartOfDay(zone).toInstant(),
+            date.plusDays(1).atStartOfDay(zone).toInstant())
+        .stream()
+        .filter(s -> s.getMovie().isActive())
+        .toList();
+
+    Set<Long> auditoriumIds = showtimes.stream().map(s -> s.getAuditorium().getId()).collect(Collectors.toSet());
+
+    Map<Long, Long> seats = auditoriumIds.isEmpty() ? Map.of()
+        : seatRepository.countByAuditoriumIds(auditoriumIds).stream()
+            .collect(Collectors.toMap(AuditoriumSeatCount::auditoriumId, AuditoriumSeatCount::seats));
+    Map<Long, Long> capacity = showtimes.stream()
+        .collect(Collectors.toUnmodifiableMap(Showtime::getId,
+            s -> seats.getOrDefault(s.getAuditorium().getId(), 0L)));
+
+    Map<Long, List<Showtime>> byMovie = new LinkedHashMap<>();
+    showtimes.stream()
+        .sorted(Comparator.comparing((Showtime s) -> s.getMovie().getTitle()).thenComparing(Showtime::getStartTime))
+        .forEach(s -> byMovie.computeIfAbsent(s.getMovie().getId(), id -> new ArrayList<>()).add(s));
+
+    List<ScheduleMovieResponse> movies = byMovie.values().stream()
+        .map(group -> new ScheduleMovieResponse(
+            group.get(0).getMovie().getId(),
+            group.get(0).getMovie().getTitle(),
+            group.get(0).getMovie().getPosterUrl(),
+            group.stream()
+                .map(s -> new ScheduleShowtimeResponse(
+                    s.getId(),
+                    s.getAuditorium().getId(),
+                    s.getAuditorium().getName(),
+                    s.getStartTime().toString(),
+                    s.getEndTime().toString(),
+                    s.getPriceCents(),
+                    capacity.get(s.getId())))
+                .toList()))
+        .toList();
+
+    return new CachedDay(new ScheduleResponse(date.toString(), zone.getId(), movies), capacity, System.nanoTime());
+  }
+
+  /**
+   * A day as laid out at load time; {@code layout} carries each showtime's
+   * capacity where the response has seats remaining.
+   */
+  private record CachedDay(ScheduleResponse layout, Map<Long, Long> capacity, long loadedAtNanos) {
+    boolean isExpired(Duration ttl) {
+      return System.nanoTime() - loadedAtNanos > ttl.toNanos();
+    }
+
+    ScheduleResponse withSeatsRemaining(Map<Long, Long> booked) {
+      List<ScheduleMovieResponse> movies = layout.movies().stream()
+          .map(m -> new ScheduleMovieResponse(m.movieId(), m.title(), m.posterUrl(), m.showtimes().stream()
+              .map(s -> new ScheduleShowtimeResponse(s.id(), s.auditoriumId(), s.auditoriumName(),
+                  s.startTime(), s.endTime(), s.priceCents(),
+                  Math.max(0, capacity.get(s.id()) - booked.getOrDefault(s.id(), 0L))))
+              .toList()))
+          .toList();
+      return new ScheduleResponse(layout.date(), layout.timeZone(), movies);
+    }
+  }
+
+  private record BookedSeats(long seats, long changedAt) {
+    static BookedSeats counted(long seats, long readAt) {
+      return new BookedSeats(seats, readAt);
+    }
+
+    static BookedSeats changed(long stamp) {
+      return new BookedSeats(-1, stamp);
+    }
+
+    boolean isChanged() {
+      return seats < 0;
+    }
+  }
+}
@@ -0,0 +1,10 @@
+package com.mrs.backend.schedule.dto;
+
+import java.util.List;
+
+public record ScheduleMovieResponse(
+    Long movieId,
+    String title,
+    String posterUrl,
+    List<ScheduleShowtimeResponse> showtimes) {
+}
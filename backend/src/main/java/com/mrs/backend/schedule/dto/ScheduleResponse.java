@@ -0,0 +1,6 @@
+package com.mrs.backend.schedule.dto;
+
+import java.util.List;
+
+public record ScheduleResponse(String date, String timeZone, List<ScheduleMovieResponse> movies) {
+}
@@ -0,0 +1,11 @@
+package com.mrs.backend.schedule.dto;
+
+public record ScheduleShowtimeResponse(
+    Long id,
+    Long auditoriumId,
+    String auditoriumName,
+    String startTime,
+    String endTime,
+    int priceCents,
+    long seatsRemaining) {
+}
@@ -0,0 +1,4 @@
+package com.mrs.backend.seat;
+
+public record AuditoriumSeatCount(Long auditoriumId, long seats) {
+}
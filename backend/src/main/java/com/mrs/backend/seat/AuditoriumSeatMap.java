@@ -0,0 +1,105 @@
+package com.mrs.backend.seat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.mrs.backend.seat.dto.SeatResponse;
+
+/**
+ * Immutable seat map of one auditorium in layout order (row label, then seat
+ * number). Seats are held in parallel primitive arrays and each row label is
+ * stored once, so a few hundred seats cost a few kilobytes.
+ */
+public final class AuditoriumSeatMap {
+
+  private final long auditoriumId;
+  private final String auditoriumName;
+  private final long[] seatIds;
+  private final int[] seatNumbers;
+  private final String[] rowLabels;
+  // position of the first seat of each row, plus the seat count as a sentinel
+  private final int[] rowStarts;
+
+  private AuditoriumSeatMap(long auditoriumId, String auditoriumName, long[] seatIds, int[] seatNumbers,
+      String[] rowLabels, int[] rowStarts) {
+    this.auditoriumId = auditoriumId;
+    this.auditoriumName = auditoriumName;
+    this.seatIds = seatIds;
+    this.seatNumbers = seatNumbers;
+    this.rowLabels = rowLabels;
+    this.rowStarts = rowStarts;
+  }
+
+  static AuditoriumSeatMap of(long auditoriumId, String auditoriumName, List<Seat> orderedSeats) {
+    int n = orderedSeats.size();
+    long[] seatIds = new long[n];
+    int[] seatNumbers = new int[n];
+    List<String> labels = new ArrayList<>();
+    List<Integer> starts = new ArrayList<>();
+
+    for (int pos = 0; pos < n; pos++) {
+      Seat seat = orderedSeats.get(pos);
+      seatIds[pos] = seat.getId();
+      seatNumbers[pos] = seat.getSeatNumber();
+      if (labels.isEmpty() || !seat.getRowLabel().equals(labels.get(labels.size() - 1))) {
+        labels.add(seat.getRowLabel().intern());
+        starts.add(pos);
+      }
+    }
+    starts.add(n);
+
+    return new AuditoriumSeatMap(auditoriumId, auditoriumName, seatIds, seatNumbers,
+        labels.toArray(String[]::new), starts.stream().mapToInt(Integer::intValue).toArray());
+  }
+
+  public long auditoriumId() {
+    return auditoriumId;
+  }
+
+  public String auditoriumName() {
+    return auditoriumName;
+  }
+
+  public int seatCount() {
+    return seatIds.length;
+  }
+
+  public long seatIdAt(int position) {
+    return seatIds[position];
+  }
+
+  public int seatNumberAt(int position) {
+    return seatNumbers[position];
+  }
+
+  public int rowCount() {
+    return rowLabels.length;
+  }
+
+  public String rowLabel(int row) {
+    return rowLabels[row];
+  }
+
+  public int rowStart(int row) {
+    return rowStarts[row];
+  }
+
+  public int rowEnd(int row) {
+    return rowStarts[row + 1];
+  }
+
+  /** Seat ids in layout order. The array is shared and must not be modified. */
+  public long[] seatIds() {
+    return seatIds;
+  }
+
+  public List<SeatResponse> toResponses() {
+    List<SeatResponse> seats = new ArrayList<>(seatIds.length);
+    for (int row = 0; row < rowLabels.length; row++) {
+      for (int pos = rowStarts[row]; pos < rowStarts[row + 1]; pos++) {
+        seats.add(new SeatResponse(seatIds[pos], rowLabels[row], seatNumbers[pos]));
+      }
+    }
+    return seats;
+  }
+}
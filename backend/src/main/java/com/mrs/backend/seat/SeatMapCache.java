@@ -0,0 +1,103 @@
+package com.mrs.backend.seat;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.mrs.backend.showtime.Auditorium;
+import com.mrs.backend.showtime.AuditoriumRepository;
+import com.mrs.backend.showtime.ShowtimeChangedEvent;
+import com.mrs.backend.showtime.ShowtimeRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Seat maps per auditorium and the auditorium of each showtime. Both change
+ * rarely, so they are loaded once and kept until a layout or showtime change
+ * event says otherwise.
+ */
+@Component
+public class SeatMapCache {
+
+  private final ShowtimeRepository showtimeRepository;
+  private final AuditoriumRepository auditoriumRepository;
+  private final SeatRepository seatRepository;
+  private final int maxShowtimes;
+
+  private final ConcurrentHashMap<Long, AuditoriumSeatMap> auditoriums = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<Long, Long> showtimeAuditoriums = new ConcurrentHashMap<>();
+
+  private final Counter hits;
+  private final Counter misses;
+
+  public SeatMapCache(ShowtimeRepository showtimeRepository,
+      AuditoriumRepository auditoriumRepository,
+      SeatRepository seatRepository,
+      MeterRegistry meterRegistry,
+      @Value("${app.seat-map.max-showtimes:100000}") int maxShowtimes) {
+    this.showtimeRepository = showtimeRepository;
+    this.auditoriumRepository = auditoriumRepository;
+    this.seatRepository = seatRepository;
+    this.maxShowtimes = maxShowtimes;
+
+    this.hits = Counter.builder("seat.map.cache.requests").tag("result", "hit").register(meterRegistry);
+    this.misses = Counter.builder("seat.map.cache.requests").tag("result", "miss").register(meterRegistry);
+    Gauge.builder("seat.map.cache.auditoriums", auditoriums, Map::size).register(meterRegistry);
+    Gauge.builder("seat.map.cache.showtimes", showtimeAuditoriums, Map::size).register(meterRegistry);
+  }
+
+  public AuditoriumSeatMap forShowtime(long showtimeId) {
+    return forAuditorium(auditoriumOf(showtimeId));
+  }
+
+  public long auditoriumOf(long showtimeId) {
+    Long auditoriumId = showtimeAuditoriums.get(showtimeId);
+    if (auditoriumId != null) {
+      return auditoriumId;
+    }
+    auditoriumId = showtimeRepository.findAuditoriumIdById(showtimeId)
+        .orElseThrow(() -> new IllegalArgumentException("Showtime not found"));
+    if (showtimeAuditoriums.size() >= maxShowtimes) {
+      // entries are tiny and cheap to reload; dropping them all keeps the bound simple
+      showtimeAuditoriums.clear();
+    }
+    showtimeAuditoriums.put(showtimeId, auditoriumId);
+    return auditoriumId;
+  }
+
+  public AuditoriumSeatMap forAuditorium(long auditoriumId) {
+    AuditoriumSeatMap map = auditoriums.get(auditoriumId);
+    if (map != null) {
+      hits.increment();
+      return map;
+    }
+
+    misses.increment();
+    Auditorium auditorium = auditoriumRepository.findById(auditoriumId)
+        .orElseThrow(() -> new IllegalArgumentException("Auditorium not found"));
+    AuditoriumSeatMap loaded = AuditoriumSeatMap.of(auditoriumId, auditorium.getName(),
+        seatRepository.findByAuditoriumIdOrderByRowLabelAscSeatNumberAsc(auditoriumId));
+    AuditoriumSeatMap existing = auditoriums.putIfAbsent(auditoriumId, loaded);
+    return existing != null ? existing : loaded;
+  }
+
+  // runs ahead of the seat inventory so a reload there sees the new auditorium
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onShowtimeChanged(ShowtimeChangedEvent event) {
+    showtimeAuditoriums.remove(event.showtimeId());
+  }
+
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onSeatLayoutChanged(SeatLayoutChangedEvent event) {
+    auditoriums.remove(event.auditoriumId());
+  }
+}
@@ -1,11 +1,17 @@
 package com.mrs.backend.seat;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface SeatRepository extends JpaRepository<Seat, Long> {
   List<Seat> findByAuditoriumIdOrderByRowLabelAscSeatNumberAsc(Long auditoriumId);
 
   long countByAuditoriumId(Long auditoriumId);
+
+  @Query("select new com.mrs.backend.seat.AuditoriumSeatCount(s.auditorium.id, count(s)) from Seat s where s.auditorium.id in :auditoriumIds group by s.auditorium.id")
+  List<AuditoriumSeatCount> countByAuditoriumIds(@Param("auditoriumIds") Collection<Long> auditoriumIds);
 }
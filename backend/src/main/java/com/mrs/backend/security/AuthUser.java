@@ -8,32 +8,68 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import com.mrs.backend.user.User;
+import com.mrs.backend.user.UserRole;
 
 public class AuthUser implements UserDetails {
 
-  private final User user;
+  private final Long id;
+  private final String email;
+  private final String name;
+  private final UserRole role;
+  private final int authVersion;
+  private final String passwordHash;
 
-  public AuthUser(User user) {
-    this.user = user;
+  public AuthUser(Long id, String email, String name, UserRole role, int authVersion) {
+    this(id, email, name, role, authVersion, null);
   }
 
-  public User getUser() {
-    return user;
+  private AuthUser(Long id, String email, String name, UserRole role, int authVersion, String passwordHash) {
+    this.id = id;
+    this.email = email;
+    this.name = name;
+    this.role = role;
+    this.authVersion = authVersion;
+    this.passwordHash = passwordHash;
+  }
+
+  public static AuthUser of(User user) {
+    return new AuthUser(user.getId(), user.getEmail(), user.getName(), user.getRole(), user.getAuthVersion(),
+        user.getPasswordHash());
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public String getEmail() {
+    return email;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public UserRole getRole() {
+    return role;
+  }
+
+  public int getAuthVersion() {
+    return authVersion;
   }
 
   @Override
   public Collection<? extends GrantedAuthority> getAuthorities() {
-    return List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
+    return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
   }
 
   @Override
   public String getPassword() {
-    return user.getPasswordHash();
+    return passwordHash;
   }
 
   @Override
   public String getUsername() {
-    return user.getEmail();
+    return email;
   }
 
   @Override
@@ -0,0 +1,60 @@
+package com.mrs.backend.security;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.mrs.backend.user.UserRepository;
+
+/**
+ * Current auth version per user, used to reject tokens issued before a role
+ * change. Entries are re-read after the TTL, so a change made on another node
+ * is picked up within that window; changes made here apply immediately.
+ */
+@Component
+public class AuthVersionCache {
+
+  private final UserRepository userRepository;
+  private final long ttlNanos;
+
+  private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+  public AuthVersionCache(UserRepository userRepository,
+      @Value("${app.jwt.auth-version-ttl-seconds:60}") long ttlSeconds) {
+    this.userRepository = userRepository;
+    this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+  }
+
+  public boolean isCurrent(long userId, int tokenVersion) {
+    long now = System.nanoTime();
+    Entry entry = entries.get(userId);
+    if (entry == null || now - entry.loadedAtNanos() > ttlNanos) {
+      entry = userRepository.findAuthVersionById(userId)
+          .map(version -> new Entry(version, now))
+          .orElse(null);
+      if (entry == null) {
+        entries.remove(userId);
+        return false;
+      }
+      entries.put(userId, entry);
+    }
+    return entry.version() == tokenVersion;
+  }
+
+  public void update(long userId, int version) {
+    entries.put(userId, new Entry(version, System.nanoTime()));
+  }
+
+  @Scheduled(fixedDelayString = "${app.jwt.auth-version-ttl-seconds:60}", timeUnit = TimeUnit.SECONDS)
+  public void evictExpired() {
+    long now = System.nanoTime();
+    entries.values().removeIf(entry -> now - entry.loadedAtNanos() > ttlNanos);
+  }
+
+  private record Entry(int version, long loadedAtNanos) {
+  }
+}
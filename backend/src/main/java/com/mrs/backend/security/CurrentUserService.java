@@ -6,16 +6,14 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
-import com.mrs.backend.user.User;
-
 @Service
 public class CurrentUserService {
 
-  public Optional<User> getCurrentUser() {
+  public Optional<AuthUser> getCurrentUser() {
     Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
     if (authentication == null || !(authentication.getPrincipal() instanceof AuthUser authUser)) {
       return Optional.empty();
     }
-    return Optional.of(authUser.getUser());
+    return Optional.of(authUser);
   }
 }
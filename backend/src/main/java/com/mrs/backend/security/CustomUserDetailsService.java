@@ -19,7 +19,7 @@ public class CustomUserDetailsService implements UserDetailsService {
   @Override
   public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
     return userRepository.findByEmailIgnoreCase(username)
-        .map(AuthUser::new)
+        .map(AuthUser::of)
         .orElseThrow(() -> new UsernameNotFoundException("User not found"));
   }
 }
@@ -2,6 +2,7 @@ package com.mrs.backend.security;
 
 import java.io.IOException;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -22,10 +23,17 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
   private final JwtService jwtService;
   private final UserDetailsService userDetailsService;
+  private final AuthVersionCache authVersionCache;
+  private final boolean statelessPrincipal;
 
-  public JwtAuthFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+  public JwtAuthFilter(JwtService jwtService,
+      UserDetailsService userDetailsService,
+      AuthVersionCache authVersionCache,
+      @Value("${app.jwt.stateless-principal:true}") boolean statelessPrincipal) {
     this.jwtService = jwtService;
     this.userDetailsService = userDetailsService;
+    this.authVersionCache = authVersionCache;
+    this.statelessPrincipal = statelessPrincipal;
   }
 
   @Override
@@ -44,7 +52,13 @@ public class JwtAuthFilter extends OncePerRequestFilter {
       String email = claims.get("email", String.class);
 
       if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-        UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+        UserDetails userDetails = statelessPrincipal
+            ? currentPrincipal(claims)
+            : userDetailsService.loadUserByUsername(email);
+        if (userDetails == null) {
+          filterChain.doFilter(request, response);
+          return;
+        }
         UsernamePasswordAuthenticationToken auth =
             new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
         auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -56,4 +70,9 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     filterChain.doFilter(request, response);
   }
+
+  private AuthUser currentPrincipal(Claims claims) {
+    AuthUser principal = jwtService.toAuthUser(claims);
+    return authVersionCache.isCurrent(principal.getId(), principal.getAuthVersion()) ? principal : null;
+  }
 }
@@ -1,32 +1,60 @@
 package com.mrs.backend.security;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.crypto.SecretKey;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import com.mrs.backend.user.User;
+import com.mrs.backend.user.UserRole;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Service
 public class JwtService {
 
   private final SecretKey key;
   private final long expirationSeconds;
+  private final JwtParser parser;
+  private final int cacheMaxEntries;
+
+  private final ConcurrentHashMap<String, VerifiedToken> verified = new ConcurrentHashMap<>();
+
+  private final Counter cacheHits;
+  private final Counter cacheMisses;
+  private final Counter cacheEvictions;
 
   public JwtService(
       @Value("${app.jwt.secret}") String secret,
-      @Value("${app.jwt.expiration-seconds:86400}") long expirationSeconds) {
+      @Value("${app.jwt.expiration-seconds:86400}") long expirationSeconds,
+      @Value("${app.jwt.cache.max-entries:10000}") int cacheMaxEntries,
+      MeterRegistry meterRegistry) {
     this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
     this.expirationSeconds = expirationSeconds;
+    this.parser = Jwts.parser().verifyWith(key).build();
+    this.cacheMaxEntries = cacheMaxEntries;
+
+    this.cacheHits = Counter.builder("jwt.cache.requests").tag("result", "hit").register(meterRegistry);
+    this.cacheMisses = Counter.builder("jwt.cache.requests").tag("result", "miss").register(meterRegistry);
+    this.cacheEvictions = Counter.builder("jwt.cache.evictions").register(meterRegistry);
+    Gauge.builder("jwt.cache.size", verified, Map::size).register(meterRegistry);
   }
 
   public String generateToken(User user) {
@@ -40,16 +68,92 @@ public class JwtService {
         .claims(Map.of(
             "email", user.getEmail(),
             "role", user.getRole().name(),
-            "name", user.getName()))
+            "name", user.getName(),
+            "ver", user.getAuthVersion()))
         .signWith(key)
         .compact();
   }
 
+  public AuthUser toAuthUser(Claims claims) {
+    Integer version = claims.get("ver", Integer.class);
+    return new AuthUser(
+        Long.valueOf(claims.getSubject()),
+        claims.get("email", String.class),
+        claims.get("name", String.class),
+        UserRole.valueOf(claims.get("role", String.class)),
+        version == null ? 0 : version);
+  }
+
+  /**
+   * Verifies the token and returns its claims. Tokens that already verified
+   * are served from a bounded cache keyed by a SHA-256 digest of the token
+   * until they expire.
+   */
   public Claims parseClaims(String token) {
-    return Jwts.parser()
-        .verifyWith(key)
-        .build()
-        .parseSignedClaims(token)
-        .getPayload();
+    String digest = digest(token);
+    long now = System.currentTimeMillis();
+
+    VerifiedToken cached = verified.get(digest);
+    if (cached != null) {
+      if (cached.expiresAtMillis() > now) {
+        cacheHits.increment();
+        return cached.claims();
+      }
+      if (verified.remove(digest, cached)) {
+        cacheEvictions.increment();
+      }
+    }
+
+    cacheMisses.increment();
+    Claims claims = parser.parseSignedClaims(token).getPayload();
+    if (claims.getExpiration() != null) {
+      if (verified.size() >= cacheMaxEntries) {
+        evict(now);
+      }
+      verified.put(digest, new VerifiedToken(claims, claims.getExpiration().getTime()));
+    }
+    return claims;
+  }
+
+  @Scheduled(fixedDelayString = "${app.jwt.cache.purge-interval-ms:60000}")
+  public void purgeExpired() {
+    evictExpired(System.currentTimeMillis());
+  }
+
+  private void evict(long now) {
+    if (evictExpired(now) > 0) {
+      return;
+    }
+    Iterator<String> it = verified.keySet().iterator();
+    for (int i = 0; i < cacheMaxEntries / 10 + 1 && it.hasNext(); i++) {
+      it.next();
+      it.remove();
+      cacheEvictions.increment();
+    }
+  }
+
+  private int evictExpired(long now) {
+    int removed = 0;
+    Iterator<VerifiedToken> it = verified.values().iterator();
+    while (it.hasNext()) {
+      if (it.next().expiresAtMillis() <= now) {
+        it.remove();
+        removed++;
+      }
+    }
+    cacheEvictions.increment(removed);
+    return removed;
+  }
+
+  private static String digest(String token) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().encodeToString(hash);
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private record VerifiedToken(Claims claims, long expiresAtMillis) {
   }
 }
@@ -0,0 +1,129 @@
+package com.mrs.backend.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs password hashing on a small dedicated pool so a burst of logins cannot
+ * occupy every request thread. Work that cannot be queued, or that waited
+ * longer than the queue timeout, is rejected instead of piling up.
+ */
+@Service
+public class PasswordHasher {
+
+  private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d{2})\\$");
+
+  private final PasswordEncoder passwordEncoder;
+  private final int bcryptStrength;
+  private final long queueTimeoutNanos;
+  private final ThreadPoolExecutor executor;
+
+  private final Timer encodeTimer;
+  private final Timer matchTimer;
+  private final Counter rejected;
+
+  public PasswordHasher(PasswordEncoder passwordEncoder,
+      MeterRegistry meterRegistry,
+      @Value("${app.password-hashing.bcrypt-strength:10}") int bcryptStrength,
+      @Value("${app.password-hashing.max-concurrency:0}") int maxConcurrency,
+      @Value("${app.password-hashing.queue-capacity:64}") int queueCapacity,
+      @Value("${app.password-hashing.queue-timeout-ms:2000}") long queueTimeoutMillis) {
+    this.passwordEncoder = passwordEncoder;
+    this.bcryptStrength = bcryptStrength;
+    this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMillis);
+
+    int threads = maxConcurrency > 0 ? maxConcurrency : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    AtomicInteger threadIds = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        r -> {
+          Thread t = new Thread(r, "password-hasher-" + threadIds.incrementAndGet());
+          t.setDaemon(true);
+          return t;
+        });
+
+    this.encodeTimer = Timer.builder("password.hash.duration").tag("operation", "encode").register(meterRegistry);
+    this.matchTimer = Timer.builder("password.hash.duration").tag("operation", "matches").register(meterRegistry);
+    this.rejected = Counter.builder("password.hash.rejected").register(meterRegistry);
+    Gauge.builder("password.hash.queue.depth", executor, e -> e.getQueue().size()).register(meterRegistry);
+  }
+
+  public String encode(String rawPassword) {
+    return run(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+  }
+
+  public boolean matches(String rawPassword, String encodedPassword) {
+    return run(() -> matchTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+  }
+
+  /**
+   * True when the hash was produced with a different bcrypt cost than the one
+   * currently configured, so it should be replaced after a successful match.
+   */
+  public boolean needsRehash(String encodedPassword) {
+    Matcher m = BCRYPT_COST.matcher(encodedPassword);
+    return !m.find() || Integer.parseInt(m.group(1)) != bcryptStrength;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private <T> T run(Callable<T> task) {
+    long queuedAt = System.nanoTime();
+    Future<T> future;
+    try {
+      future = executor.submit(() -> {
+        if (System.nanoTime() - queuedAt > queueTimeoutNanos) {
+          throw new PasswordHashingBusyException("Too many sign-in attempts right now, please retry");
+        }
+        return task.call();
+      });
+    } catch (RejectedExecutionException ex) {
+      rejected.increment();
+      throw new PasswordHashingBusyException("Too many sign-in attempts right now, please retry");
+    }
+
+    try {
+      return future.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      future.cancel(true);
+      throw new PasswordHashingBusyException("Interrupted while waiting for password hashing");
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof PasswordHashingBusyException busy) {
+        rejected.increment();
+        throw busy;
+      }
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(ex.getCause());
+    }
+  }
+
+  public static class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+      super(message);
+    }
+  }
+}
@@ -0,0 +1,4 @@
+package com.mrs.backend.showtime;
+
+public record ShowtimeChangedEvent(long showtimeId) {
+}
@@ -0,0 +1,10 @@
+package com.mrs.backend.showtime;
+
+import java.time.Instant;
+
+public record ShowtimeDraft(long movieId, long auditoriumId, Instant startTime, Instant endTime, int priceCents) {
+
+  ShowtimeSlot slot() {
+    return new ShowtimeSlot(auditoriumId, startTime, endTime);
+  }
+}
@@ -0,0 +1,6 @@
+package com.mrs.backend.showtime;
+
+import java.time.Instant;
+
+public record ShowtimeFilter(Instant from, Instant to, Long movieId, Long auditoriumId) {
+}
@@ -0,0 +1,69 @@
+package com.mrs.backend.showtime;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks proposed showtimes against each other and against what is already
+ * booked into the same auditoriums. Each auditorium's slots are sorted by start
+ * once and swept while tracking the latest end seen so far, so a whole batch is
+ * checked in O(n log n) instead of one range query per showtime. The rule is
+ * the one V9 enforces: two slots clash when each starts less than the buffer
+ * after the other ends.
+ */
+final class ShowtimeOverlaps {
+
+  private ShowtimeOverlaps() {
+  }
+
+  /**
+   * Proposed slots that sit less than {@code buffer} away from another proposed
+   * or existing slot in the same auditorium.
+   */
+  static List<ShowtimeSlot> conflicts(Collection<ShowtimeSlot> existing, Collection<ShowtimeSlot> proposed,
+      Duration buffer) {
+    Map<Long, List<Entry>> byAuditorium = new HashMap<>();
+    for (ShowtimeSlot slot : existing) {
+      byAuditorium.computeIfAbsent(slot.auditoriumId(), id -> new ArrayList<>()).add(new Entry(slot, false));
+    }
+    for (ShowtimeSlot slot : proposed) {
+      byAuditorium.computeIfAbsent(slot.auditoriumId(), id -> new ArrayList<>()).add(new Entry(slot, true));
+    }
+
+    Set<ShowtimeSlot> conflicts = new LinkedHashSet<>();
+    byAuditorium.keySet().stream().sorted().forEach(auditoriumId -> {
+      List<Entry> entries = byAuditorium.get(auditoriumId);
+      entries.sort(Comparator.comparing((Entry e) -> e.slot().startTime()));
+
+      Instant latestEnd = null;
+      for (int i = 0; i < entries.size(); i++) {
+        ShowtimeSlot slot = entries.get(i).slot();
+        if (entries.get(i).proposed()) {
+          // an earlier start clashes only if the latest end so far reaches past this start,
+          // and a later start only if the very next one does
+          boolean clashesEarlier = latestEnd != null && slot.startTime().isBefore(latestEnd.plus(buffer));
+          boolean clashesLater = i + 1 < entries.size()
+              && entries.get(i + 1).slot().startTime().isBefore(slot.endTime().plus(buffer));
+          if (clashesEarlier || clashesLater) {
+            conflicts.add(slot);
+          }
+        }
+        if (latestEnd == null || slot.endTime().isAfter(latestEnd)) {
+          latestEnd = slot.endTime();
+        }
+      }
+    });
+    return List.copyOf(conflicts);
+  }
+
+  private record Entry(ShowtimeSlot slot, boolean proposed) {
+  }
+}
@@ -0,0 +1,15 @@
+package com.mrs.backend.showtime;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import com.mrs.backend.showtime.dto.ShowtimeResponse;
+
+public interface ShowtimeRepositoryCustom {
+  List<ShowtimeResponse> findPage(ShowtimeFilter filter, Instant afterStartTime, Long afterId, int limit);
+
+  List<ShowtimeSlot> findSlots(Collection<Long> auditoriumIds, Instant from, Instant to);
+
+  List<ShowtimeResponse> insertAll(List<ShowtimeDraft> drafts);
+}
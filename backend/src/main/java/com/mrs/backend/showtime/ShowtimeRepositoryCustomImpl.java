@@ -0,0 +1,138 @@
+package com.mrs.backend.showtime;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.mrs.backend.showtime.dto.ShowtimeResponse;
+
+public class ShowtimeRepositoryCustomImpl implements ShowtimeRepositoryCustom {
+
+  private static final String SELECT_PAGE_SQL = """
+      select s.id, s.movie_id, s.auditorium_id, a.name as auditorium_name, s.start_time, s.end_time, s.price_cents
+      from showtime s
+      join auditorium a on a.id = s.auditorium_id
+      where true
+      """;
+
+  private static final String SELECT_SLOTS_SQL = """
+      select auditorium_id, start_time, end_time
+      from showtime
+      where auditorium_id = any(?)
+        and start_time < ?
+        and end_time > ?
+      """;
+
+  private static final String INSERT_ALL_SQL = """
+      with inserted as (
+        insert into showtime (movie_id, auditorium_id, start_time, end_time, price_cents)
+        select * from unnest(?::bigint[], ?::bigint[], ?::timestamptz[], ?::timestamptz[], ?::int[])
+        returning id, movie_id, auditorium_id, start_time, end_time, price_cents
+      )
+      select i.id, i.movie_id, i.auditorium_id, a.name as auditorium_name, i.start_time, i.end_time, i.price_cents
+      from inserted i
+      join auditorium a on a.id = i.auditorium_id
+      order by i.start_time, i.id
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public ShowtimeRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public List<ShowtimeResponse> findPage(ShowtimeFilter filter, Instant afterStartTime, Long afterId, int limit) {
+    StringBuilder sql = new StringBuilder(SELECT_PAGE_SQL);
+    List<Object> args = new ArrayList<>();
+
+    if (filter.from() != null) {
+      sql.append("  and s.start_time >= ?\n");
+      args.add(Timestamp.from(filter.from()));
+    }
+    if (filter.to() != null) {
+      sql.append("  and s.start_time < ?\n");
+      args.add(Timestamp.from(filter.to()));
+    }
+    if (filter.movieId() != null) {
+      sql.append("  and s.movie_id = ?\n");
+      args.add(filter.movieId());
+    }
+    if (filter.auditoriumId() != null) {
+      sql.append("  and s.auditorium_id = ?\n");
+      args.add(filter.auditoriumId());
+    }
+    if (afterStartTime != null) {
+      sql.append("  and (s.start_time, s.id) > (?, ?)\n");
+      args.add(Timestamp.from(afterStartTime));
+      args.add(afterId);
+    }
+    sql.append("""
+        order by s.start_time, s.id
+        limit ?
+        """);
+    args.add(limit);
+
+    return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> toResponse(rs), args.toArray());
+  }
+
+  @Override
+  public List<ShowtimeSlot> findSlots(Collection<Long> auditoriumIds, Instant from, Instant to) {
+    return jdbcTemplate.query(con -> {
+      PreparedStatement ps = con.prepareStatement(SELECT_SLOTS_SQL);
+      ps.setArray(1, con.createArrayOf("bigint", auditoriumIds.toArray()));
+      ps.setTimestamp(2, Timestamp.from(to));
+      ps.setTimestamp(3, Timestamp.from(from));
+      return ps;
+    }, (rs, rowNum) -> new ShowtimeSlot(
+        rs.getLong("auditorium_id"),
+        rs.getTimestamp("start_time").toInstant(),
+        rs.getTimestamp("end_time").toInstant()));
+  }
+
+  @Override
+  public List<ShowtimeResponse> insertAll(List<ShowtimeDraft> drafts) {
+    int n = drafts.size();
+    Long[] movieIds = new Long[n];
+    Long[] auditoriumIds = new Long[n];
+    Timestamp[] starts = new Timestamp[n];
+    Timestamp[] ends = new Timestamp[n];
+    Integer[] prices = new Integer[n];
+    for (int i = 0; i < n; i++) {
+      ShowtimeDraft d = drafts.get(i);
+      movieIds[i] = d.movieId();
+      auditoriumIds[i] = d.auditoriumId();
+      starts[i] = Timestamp.from(d.startTime());
+      ends[i] = Timestamp.from(d.endTime());
+      prices[i] = d.priceCents();
+    }
+
+    return jdbcTemplate.query(con -> {
+      PreparedStatement ps = con.prepareStatement(INSERT_ALL_SQL);
+      ps.setArray(1, con.createArrayOf("bigint", movieIds));
+      ps.setArray(2, con.createArrayOf("bigint", auditoriumIds));
+      ps.setArray(3, con.createArrayOf("timestamptz", starts));
+      ps.setArray(4, con.createArrayOf("timestamptz", ends));
+      ps.setArray(5, con.createArrayOf("int4", prices));
+      return ps;
+    }, (rs, rowNum) -> toResponse(rs));
+  }
+
+  private static ShowtimeResponse toResponse(ResultSet rs) throws SQLException {
+    return new ShowtimeResponse(
+        rs.getLong("id"),
+        rs.getLong("movie_id"),
+        rs.getLong("auditorium_id"),
+        rs.getString("auditorium_name"),
+        rs.getTimestamp("start_time").toInstant().toString(),
+        rs.getTimestamp("end_time").toInstant().toString(),
+        rs.getInt("price_cents"));
+  }
+}
@@ -1,39 +1,61 @@
 package com.mrs.backend.showtime;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.Duration;
+import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.mrs.backend.movie.Movie;
 import com.mrs.backend.movie.MovieRepository;
+import com.mrs.backend.showtime.dto.ShowtimeBulkRequest;
+import com.mrs.backend.showtime.dto.ShowtimePageResponse;
+import com.mrs.backend.showtime.dto.ShowtimeRecurrenceRequest;
 import com.mrs.backend.showtime.dto.ShowtimeResponse;
 import com.mrs.backend.showtime.dto.ShowtimeUpsertRequest;
 
 @Service
 public class ShowtimeService {
 
-  private static final Duration AUDITORIUM_BUFFER = Duration.ofMinutes(20);
+  public static final Duration AUDITORIUM_BUFFER = Duration.ofMinutes(20);
+  private static final int MAX_PAGE_SIZE = 200;
+  private static final int MAX_BULK_SIZE = 5000;
+  private static final String EXCLUSION_VIOLATION = "23P01";
 
   private final ShowtimeRepository showtimeRepository;
   private final MovieRepository movieRepository;
   private final AuditoriumRepository auditoriumRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ZoneId zone;
 
   public ShowtimeService(ShowtimeRepository showtimeRepository, MovieRepository movieRepository,
-      AuditoriumRepository auditoriumRepository) {
+      AuditoriumRepository auditoriumRepository, ApplicationEventPublisher eventPublisher,
+      ZoneId cinemaTimeZone) {
     this.showtimeRepository = showtimeRepository;
     this.movieRepository = movieRepository;
     this.auditoriumRepository = auditoriumRepository;
+    this.eventPublisher = eventPublisher;
+    this.zone = cinemaTimeZone;
   }
 
   @Transactional(readOnly = true)
   public List<ShowtimeResponse> listForMovieOnDate(long movieId, LocalDate date) {
-    ZoneId zone = ZoneId.systemDefault();
     ZonedDateTime start = date.atStartOfDay(zone);
     ZonedDateTime end = date.plusDays(1).atStartOfDay(zone);
 
@@ -43,14 +65,40 @@ public class ShowtimeService {
         end.toInstant()).stream().map(this::toResponse).toList();
   }
 
-  @Transactional(readOnly = true)
-  public List<ShowtimeResponse> listAll() {
-    Instant start = Instant.EPOCH;
-    Instant end = Instant.parse("9999-12-31T23:59:59Z");
-    return showtimeRepository.findWithDetailsByStartTimeBetween(start, end)
-        .stream()
-        .map(this::toResponse)
-        .toList();
+  public ShowtimePageResponse list(Instant from, Instant to, Long movieId, Long auditoriumId, boolean includePast,
+      String cursor, int limit) {
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+    }
+    if (from == null && !includePast) {
+      from = Instant.now();
+    }
+    if (from != null && to != null && !to.isAfter(from)) {
+      throw new IllegalArgumentException("to must be after from");
+    }
+
+    Instant afterStartTime = null;
+    Long afterId = null;
+    if (cursor != null && !cursor.isBlank()) {
+      try {
+        String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",", 2);
+        afterStartTime = Instant.parse(parts[0]);
+        afterId = Long.parseLong(parts[1]);
+      } catch (RuntimeException ex) {
+        throw new IllegalArgumentException("Invalid cursor");
+      }
+    }
+
+    List<ShowtimeResponse> rows = showtimeRepository.findPage(new ShowtimeFilter(from, to, movieId, auditoriumId),
+        afterStartTime, afterId, limit + 1);
+    if (rows.size() <= limit) {
+      return new ShowtimePageResponse(rows, null);
+    }
+    List<ShowtimeResponse> items = rows.subList(0, limit);
+    ShowtimeResponse last = items.get(limit - 1);
+    String nextCursor = Base64.getUrlEncoder().withoutPadding()
+        .encodeToString((last.startTime() + "," + last.id()).getBytes(StandardCharsets.UTF_8));
+    return new ShowtimePageResponse(List.copyOf(items), nextCursor);
   }
 
   @Transactional
@@ -67,12 +115,6 @@ public class ShowtimeService {
       throw new IllegalArgumentException("endTime must be after startTime");
     }
 
-    Instant windowStart = start.minus(AUDITORIUM_BUFFER);
-    Instant windowEnd = end.plus(AUDITORIUM_BUFFER);
-    if (showtimeRepository.existsAuditoriumConflict(aud.getId(), windowStart, windowEnd)) {
-      throw new IllegalArgumentException("Auditorium already has another showtime within a 20 minute buffer");
-    }
-
     Showtime s = new Showtime();
     s.setMovie(movie);
     s.setAuditorium(aud);
@@ -81,7 +123,55 @@ public class ShowtimeService {
     s.setPriceCents(req.priceCents());
     s.setCreatedAt(Instant.now());
 
-    return toResponse(showtimeRepository.save(s));
+    Showtime saved = saveChecked(s);
+    eventPublisher.publishEvent(new ShowtimeChangedEvent(saved.getId()));
+    return toResponse(saved);
+  }
+
+  @Transactional
+  public List<ShowtimeResponse> createAll(ShowtimeBulkRequest req) {
+    boolean hasRecurrence = req.recurrence() != null;
+    boolean hasList = req.showtimes() != null && !req.showtimes().isEmpty();
+    if (hasRecurrence == hasList) {
+      throw new IllegalArgumentException("Provide either a recurrence or a list of showtimes");
+    }
+    List<ShowtimeDraft> drafts = hasRecurrence ? expand(req.recurrence()) : drafts(req.showtimes());
+    if (drafts.isEmpty()) {
+      throw new IllegalArgumentException("No showtimes to create");
+    }
+    if (drafts.size() > MAX_BULK_SIZE) {
+      throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " showtimes can be created at once");
+    }
+
+    Set<Long> movieIds = drafts.stream().map(ShowtimeDraft::movieId).collect(Collectors.toSet());
+    if (movieRepository.findAllById(movieIds).size() != movieIds.size()) {
+      throw new IllegalArgumentException("Movie not found");
+    }
+    Set<Long> auditoriumIds = drafts.stream().map(ShowtimeDraft::auditoriumId).collect(Collectors.toSet());
+    if (auditoriumRepository.findAllById(auditoriumIds).size() != auditoriumIds.size()) {
+      throw new IllegalArgumentException("Auditorium not found");
+    }
+
+    Instant from = drafts.stream().map(ShowtimeDraft::startTime).min(Comparator.naturalOrder()).orElseThrow();
+    Instant to = drafts.stream().map(ShowtimeDraft::endTime).max(Comparator.naturalOrder()).orElseThrow();
+    List<ShowtimeSlot> existing = showtimeRepository.findSlots(auditoriumIds,
+        from.minus(AUDITORIUM_BUFFER), to.plus(AUDITORIUM_BUFFER));
+    List<ShowtimeSlot> conflicts = ShowtimeOverlaps.conflicts(existing,
+        drafts.stream().map(ShowtimeDraft::slot).toList(), AUDITORIUM_BUFFER);
+    if (!conflicts.isEmpty()) {
+      ShowtimeSlot first = conflicts.get(0);
+      throw new IllegalArgumentException(conflicts.size() + " showtime(s) fall within a 20 minute buffer of another"
+          + " showtime, first in auditorium " + first.auditoriumId() + " at " + first.startTime());
+    }
+
+    List<ShowtimeResponse> created;
+    try {
+      created = showtimeRepository.insertAll(drafts);
+    } catch (DataIntegrityViolationException ex) {
+      throw translate(ex);
+    }
+    created.forEach(s -> eventPublisher.publishEvent(new ShowtimeChangedEvent(s.id())));
+    return created;
   }
 
   @Transactional
@@ -101,19 +191,15 @@ public class ShowtimeService {
       throw new IllegalArgumentException("endTime must be after startTime");
     }
 
-    Instant windowStart = start.minus(AUDITORIUM_BUFFER);
-    Instant windowEnd = end.plus(AUDITORIUM_BUFFER);
-    if (showtimeRepository.existsAuditoriumConflictExcluding(aud.getId(), s.getId(), windowStart, windowEnd)) {
-      throw new IllegalArgumentException("Auditorium already has another showtime within a 20 minute buffer");
-    }
-
     s.setMovie(movie);
     s.setAuditorium(aud);
     s.setStartTime(start);
     s.setEndTime(end);
     s.setPriceCents(req.priceCents());
 
-    return toResponse(showtimeRepository.save(s));
+    Showtime saved = saveChecked(s);
+    eventPublisher.publishEvent(new ShowtimeChangedEvent(saved.getId()));
+    return toResponse(saved);
   }
 
   @Transactional
@@ -122,6 +208,77 @@ public class ShowtimeService {
       throw new IllegalArgumentException("Showtime not found");
     }
     showtimeRepository.deleteById(id);
+    eventPublisher.publishEvent(new ShowtimeChangedEvent(id));
+  }
+
+  // the 20 minute auditorium buffer is enforced by the showtime_auditorium_no_overlap exclusion constraint
+  private Showtime saveChecked(Showtime s) {
+    try {
+      return showtimeRepository.saveAndFlush(s);
+    } catch (DataIntegrityViolationException ex) {
+      throw translate(ex);
+    }
+  }
+
+  private static RuntimeException translate(DataIntegrityViolationException ex) {
+    if (isAuditoriumOverlap(ex)) {
+      return new IllegalArgumentException("Auditorium already has another showtime within a 20 minute buffer");
+    }
+    return ex;
+  }
+
+  private static boolean isAuditoriumOverlap(Throwable ex) {
+    for (Throwable t = ex; t != null; t = t.getCause()) {
+      if (t instanceof SQLException sql && EXCLUSION_VIOLATION.equals(sql.getSQLState())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private List<ShowtimeDraft> expand(ShowtimeRecurrenceRequest r) {
+    LocalDate fromDate = parse(r.fromDate(), LocalDate::parse, "fromDate");
+    LocalDate toDate = parse(r.toDate(), LocalDate::parse, "toDate");
+    if (toDate.isBefore(fromDate)) {
+      throw new IllegalArgumentException("toDate must not be before fromDate");
+    }
+    List<LocalTime> times = r.times().stream().map(t -> parse(t, LocalTime::parse, "times")).sorted().toList();
+    Duration duration = Duration.ofMinutes(r.durationMinutes());
+
+    List<ShowtimeDraft> drafts = new ArrayList<>();
+    for (LocalDate date = fromDate; !date.isAfter(toDate); date = date.plusDays(1)) {
+      for (LocalTime time : times) {
+        Instant start = date.atTime(time).atZone(zone).toInstant();
+        for (Long auditoriumId : r.auditoriumIds()) {
+          drafts.add(new ShowtimeDraft(r.movieId(), auditoriumId, start, start.plus(duration), r.priceCents()));
+        }
+        if (drafts.size() > MAX_BULK_SIZE) {
+          return drafts;
+        }
+      }
+    }
+    return drafts;
+  }
+
+  private static List<ShowtimeDraft> drafts(List<ShowtimeUpsertRequest> showtimes) {
+    return showtimes.stream()
+        .map(req -> {
+          Instant start = parse(req.startTime(), Instant::parse, "startTime");
+          Instant end = parse(req.endTime(), Instant::parse, "endTime");
+          if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("endTime must be after startTime");
+          }
+          return new ShowtimeDraft(req.movieId(), req.auditoriumId(), start, end, req.priceCents());
+        })
+        .toList();
+  }
+
+  private static <T> T parse(String value, Function<String, T> parser, String field) {
+    try {
+      return parser.apply(value);
+    } catch (DateTimeParseException ex) {
+      throw new IllegalArgumentException("Invalid " + field + ": " + value);
+    }
   }
 
   private ShowtimeResponse toResponse(Showtime s) {
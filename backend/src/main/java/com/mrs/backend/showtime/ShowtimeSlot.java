@@ -0,0 +1,6 @@
+package com.mrs.backend.showtime;
+
+import java.time.Instant;
+
+public record ShowtimeSlot(long auditoriumId, Instant startTime, Instant endTime) {
+}
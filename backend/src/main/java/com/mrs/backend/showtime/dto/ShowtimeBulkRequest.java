@@ -0,0 +1,11 @@
+package com.mrs.backend.showtime.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+public record ShowtimeBulkRequest(
+    @Valid ShowtimeRecurrenceRequest recurrence,
+    List<@NotNull @Valid ShowtimeUpsertRequest> showtimes) {
+}
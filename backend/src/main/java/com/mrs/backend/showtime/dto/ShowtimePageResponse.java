@@ -0,0 +1,6 @@
+package com.mrs.backend.showtime.dto;
+
+import java.util.List;
+
+public record ShowtimePageResponse(List<ShowtimeResponse> items, String nextCursor) {
+}
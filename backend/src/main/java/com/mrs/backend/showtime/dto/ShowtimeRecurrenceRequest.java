@@ -0,0 +1,17 @@
+package com.mrs.backend.showtime.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+public record ShowtimeRecurrenceRequest(
+    @NotNull Long movieId,
+    @NotEmpty List<@NotNull Long> auditoriumIds,
+    @NotNull String fromDate,
+    @NotNull String toDate,
+    @NotEmpty List<@NotNull String> times,
+    @Min(1) int durationMinutes,
+    @Min(0) int priceCents) {
+}
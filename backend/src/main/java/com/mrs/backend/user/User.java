@@ -35,6 +35,9 @@ public class User {
   @Column(name = "created_at", nullable = false)
   private Instant createdAt;
 
+  @Column(name = "auth_version", nullable = false)
+  private int authVersion;
+
   public Long getId() {
     return id;
   }
@@ -82,4 +85,12 @@ public class User {
   public void setCreatedAt(Instant createdAt) {
     this.createdAt = createdAt;
   }
+
+  public int getAuthVersion() {
+    return authVersion;
+  }
+
+  public void setAuthVersion(int authVersion) {
+    this.authVersion = authVersion;
+  }
 }
@@ -4,6 +4,8 @@ import java.util.Optional;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface UserRepository extends JpaRepository<User, Long> {
   Optional<User> findByEmailIgnoreCase(String email);
@@ -11,4 +13,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
   boolean existsByRole(UserRole role);
 
   List<User> findAllByOrderByCreatedAtDesc();
+
+  @Query("select u.authVersion from User u where u.id = :id")
+  Optional<Integer> findAuthVersionById(@Param("id") long id);
 }
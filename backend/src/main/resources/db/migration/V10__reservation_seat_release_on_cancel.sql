@@ -0,0 +1,15 @@
+-- Seats of a cancelled reservation stay on record for the reservation history
+-- but no longer block the same seat from being booked again.
+alter table reservation_seat add column if not exists cancelled boolean not null default false;
+
+update reservation_seat rs
+set cancelled = true
+from reservation r
+where r.id = rs.reservation_id
+  and r.status = 'CANCELLED';
+
+alter table reservation_seat drop constraint if exists reservation_seat_showtime_id_seat_id_key;
+
+create unique index if not exists ux_reservation_seat_showtime_seat_active
+  on reservation_seat (showtime_id, seat_id)
+  where not cancelled;
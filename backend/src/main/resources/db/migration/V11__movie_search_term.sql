@@ -0,0 +1,50 @@
+-- Precomputed rank of every active movie for each lexeme in its search vector.
+-- A single-term search is the broad case that would otherwise rank every
+-- match; here it reads the best hits straight off the index, in the same
+-- ts_rank order as the full query.
+create table if not exists movie_search_term (
+  lexeme text not null,
+  movie_id bigint not null references movie(id) on delete cascade,
+  rank real not null,
+  primary key (lexeme, movie_id)
+);
+
+create index if not exists idx_movie_search_term_rank on movie_search_term (lexeme, rank desc, movie_id);
+create index if not exists idx_movie_search_term_movie on movie_search_term (movie_id);
+
+create or replace function movie_search_terms(vector tsvector)
+returns table (lexeme text, rank real)
+language sql
+immutable
+parallel safe
+as $$
+  select u.lexeme, ts_rank(vector, ('''' || replace(replace(u.lexeme, '\', '\\'), '''', '''''') || '''')::tsquery)
+  from unnest(vector) u
+$$;
+
+create or replace function movie_search_term_sync()
+returns trigger
+language plpgsql
+as $$
+begin
+  delete from movie_search_term where movie_id = new.id;
+  if new.active then
+    insert into movie_search_term (lexeme, movie_id, rank)
+    select t.lexeme, new.id, t.rank
+    from movie_search_terms(new.search_vector) t;
+  end if;
+  return null;
+end
+$$;
+
+drop trigger if exists movie_search_term_sync on movie;
+create trigger movie_search_term_sync
+  after insert or update of title, description, active on movie
+  for each row execute function movie_search_term_sync();
+
+insert into movie_search_term (lexeme, movie_id, rank)
+select t.lexeme, m.id, t.rank
+from movie m
+cross join lateral movie_search_terms(m.search_vector) t
+where m.active
+on conflict do nothing;
@@ -0,0 +1,10 @@
+create table if not exists idempotency_key (
+  idem_key varchar(300) primary key,
+  fingerprint varchar(64) not null,
+  completed boolean not null default false,
+  response_body text,
+  created_at timestamptz not null default now(),
+  expires_at timestamptz not null
+);
+
+create index if not exists idx_idempotency_key_expires_at on idempotency_key (expires_at);
@@ -0,0 +1 @@
+create index if not exists idx_reservation_user_created_at on reservation (user_id, created_at desc, id desc);
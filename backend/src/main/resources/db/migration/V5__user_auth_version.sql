@@ -0,0 +1 @@
+alter table app_user add column if not exists auth_version int not null default 0;
@@ -0,0 +1,5 @@
+create index if not exists idx_movie_active_title on movie (active, title, id);
+create index if not exists idx_movie_active_created_at on movie (active, created_at desc, id desc);
+create index if not exists idx_movie_genre_active_title on movie (genre_id, active, title, id);
+create index if not exists idx_movie_genre_active_created_at on movie (genre_id, active, created_at desc, id desc);
+create index if not exists idx_showtime_movie_start_time on showtime (movie_id, start_time);
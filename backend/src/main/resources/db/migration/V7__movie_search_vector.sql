@@ -0,0 +1,7 @@
+alter table movie add column if not exists search_vector tsvector
+  generated always as (
+    setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'B')
+  ) stored;
+
+create index if not exists idx_movie_search_vector on movie using gin (search_vector);
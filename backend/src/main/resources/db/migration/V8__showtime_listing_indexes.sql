@@ -0,0 +1,2 @@
+create index if not exists idx_showtime_start_time on showtime (start_time, id);
+create index if not exists idx_showtime_auditorium_start_time on showtime (auditorium_id, start_time);
@@ -0,0 +1,35 @@
+create extension if not exists btree_gist;
+
+-- Showtimes in one auditorium need a 20 minute gap. Padding both ends by half
+-- of that turns the rule into a plain range overlap that GiST can enforce.
+create or replace function showtime_block(start_time timestamptz, end_time timestamptz)
+returns tstzrange
+language sql
+immutable
+parallel safe
+as $$
+  select tstzrange(start_time - interval '10 minutes', end_time + interval '10 minutes', '[)')
+$$;
+
+-- Adding the constraint fails on any pair that already breaks the rule, so
+-- name those pairs first. Move or delete one showtime of each, then rerun.
+do $$
+declare
+  conflicts text;
+begin
+  select string_agg(format('%s and %s', a.id, b.id), ', ' order by a.id, b.id)
+  into conflicts
+  from showtime a
+  join showtime b on b.auditorium_id = a.auditorium_id and b.id > a.id
+  where showtime_block(a.start_time, a.end_time) && showtime_block(b.start_time, b.end_time);
+
+  if conflicts is not null then
+    raise exception 'Showtimes less than 20 minutes apart in one auditorium: %', conflicts
+      using hint = 'Move or delete one showtime of each pair, then rerun the migration.';
+  end if;
+end
+$$;
+
+alter table showtime
+  add constraint showtime_auditorium_no_overlap
+  exclude using gist (auditorium_id with =, showtime_block(start_time, end_time) with &&);
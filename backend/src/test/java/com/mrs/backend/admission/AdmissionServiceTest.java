@@ -0,0 +1,117 @@
+package com.mrs.backend.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mrs.backend.admission.dto.QueueStatusResponse;
+import com.mrs.backend.admission.dto.WaitingRoomRequest;
+import com.mrs.backend.security.AuthUser;
+import com.mrs.backend.security.CurrentUserService;
+import com.mrs.backend.showtime.ShowtimeRepository;
+import com.mrs.backend.user.UserRole;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AdmissionServiceTest {
+
+  private static final long SHOWTIME_ID = 7;
+  private static final AuthUser ANN = new AuthUser(1L, "ann@x.com", "Ann", UserRole.USER, 0);
+  private static final AuthUser BOB = new AuthUser(2L, "bob@x.com", "Bob", UserRole.USER, 0);
+
+  private final WaitingRoomStore store = new InMemoryWaitingRoomStore();
+  private final ShowtimeRepository showtimeRepository = mock(ShowtimeRepository.class);
+  private final CurrentUserService currentUserService = mock(CurrentUserService.class);
+  private AdmissionService admission;
+
+  @BeforeEach
+  void setUp() {
+    when(showtimeRepository.existsById(SHOWTIME_ID)).thenReturn(true);
+    admission = new AdmissionService(store, showtimeRepository, currentUserService, new SimpleMeterRegistry(),
+        "0123456789abcdef0123456789abcdef");
+  }
+
+  @Test
+  void ungatedShowtimesAdmitEveryone() {
+    assertThat(admission.isAdmitted(SHOWTIME_ID, null, null)).isTrue();
+  }
+
+  @Test
+  void ticketAdmitsOnlyTheUserWhoJoined() {
+    admission.open(SHOWTIME_ID, new WaitingRoomRequest(1, 60));
+    QueueStatusResponse ticket = joinAs(ANN);
+
+    assertThat(ticket.admitted()).isTrue();
+    assertThat(admission.isAdmitted(SHOWTIME_ID, ANN.getId(), ticket.token())).isTrue();
+    assertThat(admission.isAdmitted(SHOWTIME_ID, BOB.getId(), ticket.token())).isFalse();
+    assertThat(admission.isAdmitted(SHOWTIME_ID, null, ticket.token())).isFalse();
+  }
+
+  @Test
+  void statusRejectsAnotherUsersTicket() {
+    admission.open(SHOWTIME_ID, new WaitingRoomRequest(1, 60));
+    QueueStatusResponse ticket = joinAs(ANN);
+
+    signIn(BOB);
+    assertThatThrownBy(() -> admission.status(SHOWTIME_ID, ticket.token()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void tamperedTicketIsRejected() {
+    admission.open(SHOWTIME_ID, new WaitingRoomRequest(1, 60));
+    String token = joinAs(ANN).token();
+    String forged = token.substring(0, token.indexOf('.') + 1) + "AAAA";
+
+    assertThat(admission.isAdmitted(SHOWTIME_ID, ANN.getId(), forged)).isFalse();
+  }
+
+  @Test
+  void laterJoinersWaitForTheirSlot() {
+    admission.open(SHOWTIME_ID, new WaitingRoomRequest(0.5, 60));
+    joinAs(ANN);
+    QueueStatusResponse second = joinAs(BOB);
+
+    assertThat(second.admitted()).isFalse();
+    assertThat(second.etaSeconds()).isEqualTo(2);
+    assertThat(admission.isAdmitted(SHOWTIME_ID, BOB.getId(), second.token())).isFalse();
+  }
+
+  @Test
+  void rejoiningKeepsTheUsersPlaceInsteadOfTakingANewSlot() {
+    admission.open(SHOWTIME_ID, new WaitingRoomRequest(0.5, 60));
+    joinAs(ANN);
+    QueueStatusResponse first = joinAs(BOB);
+
+    for (int i = 0; i < 10; i++) {
+      joinAs(BOB);
+    }
+    QueueStatusResponse again = joinAs(BOB);
+
+    assertThat(again.token()).isEqualTo(first.token());
+    assertThat(store.issuedCount(SHOWTIME_ID)).isEqualTo(2);
+  }
+
+  @Test
+  void joiningRequiresASignedInUser() {
+    admission.open(SHOWTIME_ID, new WaitingRoomRequest(1, 60));
+    when(currentUserService.getCurrentUser()).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> admission.join(SHOWTIME_ID)).isInstanceOf(IllegalStateException.class);
+  }
+
+  private QueueStatusResponse joinAs(AuthUser user) {
+    signIn(user);
+    return admission.join(SHOWTIME_ID);
+  }
+
+  private void signIn(AuthUser user) {
+    when(currentUserService.getCurrentUser()).thenReturn(Optional.of(user));
+  }
+}
@@ -0,0 +1,55 @@
+package com.mrs.backend.api;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.mrs.backend.booking.BookingViewService;
+import com.mrs.backend.booking.dto.BookingViewResponse;
+import com.mrs.backend.reservation.dto.ShowtimeSeatAvailabilityResponse;
+import com.mrs.backend.seat.SeatMaps;
+import com.mrs.backend.showtime.dto.ShowtimeDetailResponse;
+
+class BookingViewControllerTest {
+
+  private final BookingViewService bookingViewService = mock(BookingViewService.class);
+  private MockMvc mvc;
+
+  @BeforeEach
+  void setUp() {
+    mvc = MockMvcBuilders.standaloneSetup(new BookingViewController(bookingViewService)).build();
+  }
+
+  @Test
+  void servesTheShowtimeSeatsAndAvailabilityTogether() throws Exception {
+    when(bookingViewService.view(7)).thenReturn(new BookingViewResponse(
+        new ShowtimeDetailResponse(7L, 1L, "Heat", 1L, "One", "2027-01-01T18:00:00Z", "2027-01-01T20:00:00Z", 900),
+        SeatMaps.grid(1, 2, 3).toResponses(),
+        new ShowtimeSeatAvailabilityResponse(7L, 42, null, List.of(2L), List.of(3L), List.of())));
+
+    mvc.perform(get("/api/showtimes/7/booking-view"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.showtime.movieTitle").value("Heat"))
+        .andExpect(jsonPath("$.seats.length()").value(6))
+        .andExpect(jsonPath("$.availability.version").value(42))
+        .andExpect(jsonPath("$.availability.bookedSeatIds[0]").value(2));
+  }
+
+  @Test
+  void anUnknownShowtimeIsABadRequest() throws Exception {
+    when(bookingViewService.view(8)).thenThrow(new IllegalArgumentException("Showtime not found"));
+
+    mvc.perform(get("/api/showtimes/8/booking-view"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error").value("Showtime not found"));
+  }
+}
@@ -0,0 +1,136 @@
+package com.mrs.backend.api;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.mrs.backend.idempotency.IdempotencyService;
+import com.mrs.backend.idempotency.IdempotencyService.IdempotencyFailureException;
+import com.mrs.backend.reservation.AvailabilityStreamService;
+import com.mrs.backend.reservation.ReservationService;
+import com.mrs.backend.reservation.SeatBitmap;
+import com.mrs.backend.reservation.dto.ShowtimeSeatAvailabilityResponse;
+import com.mrs.backend.reservation.dto.ShowtimeSeatBitmapResponse;
+
+class ReservationControllerTest {
+
+  private final ReservationService reservationService = mock(ReservationService.class);
+  private final IdempotencyService idempotencyService = mock(IdempotencyService.class);
+  private MockMvc mvc;
+
+  @BeforeEach
+  void setUp() {
+    mvc = MockMvcBuilders.standaloneSetup(new ReservationController(reservationService,
+        idempotencyService, mock(AvailabilityStreamService.class))).build();
+    when(reservationService.availabilityVersion(7)).thenReturn(42L);
+    when(reservationService.availability(7, null))
+        .thenReturn(new ShowtimeSeatAvailabilityResponse(7L, 42, null, List.of(1L), List.of(), List.of()));
+  }
+
+  @Test
+  void servesAvailabilityWithAnETag() throws Exception {
+    mvc.perform(get("/api/showtimes/7/availability"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"42\""))
+        .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+        .andExpect(jsonPath("$.bookedSeatIds[0]").value(1));
+  }
+
+  @Test
+  void matchingTagIsNotModified() throws Exception {
+    expectNotModified("\"42\"");
+  }
+
+  @Test
+  void tagListContainingTheCurrentVersionIsNotModified() throws Exception {
+    expectNotModified("\"41\", \"42\"");
+  }
+
+  @Test
+  void weakTagIsNotModified() throws Exception {
+    expectNotModified("W/\"42\"");
+  }
+
+  @Test
+  void wildcardIsNotModified() throws Exception {
+    expectNotModified("*");
+  }
+
+  @Test
+  void staleTagGetsTheFullBody() throws Exception {
+    mvc.perform(get("/api/showtimes/7/availability").header(HttpHeaders.IF_NONE_MATCH, "\"41\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"42\""));
+  }
+
+  @Test
+  void bitmapRepresentationsHaveTheirOwnTags() throws Exception {
+    when(reservationService.availabilityBitmap(7))
+        .thenReturn(new ShowtimeSeatBitmapResponse(7L, 42, 20, "AQ", ""));
+    when(reservationService.availabilityBitmapBytes(7))
+        .thenReturn(new SeatBitmap(7, 42, 20, new byte[] {1}, new byte[] {0, 0, 8}));
+
+    mvc.perform(get("/api/showtimes/7/availability").accept("application/vnd.mrs.seat-bitmap+json"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"42-bitmap-json\""))
+        .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+    mvc.perform(get("/api/showtimes/7/availability").accept(MediaType.APPLICATION_OCTET_STREAM))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"42-bitmap-bin\""))
+        .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+        .andExpect(header().string("X-Seat-Count", "20"))
+        .andExpect(content().bytes(new byte[] {1, 0, 0, 0, 0, 8}));
+  }
+
+  @Test
+  void aTagForOneBitmapFormatDoesNotValidateTheOther() throws Exception {
+    when(reservationService.availabilityBitmapBytes(7))
+        .thenReturn(new SeatBitmap(7, 42, 20, new byte[0], new byte[0]));
+
+    mvc.perform(get("/api/showtimes/7/availability").accept(MediaType.APPLICATION_OCTET_STREAM)
+            .header(HttpHeaders.IF_NONE_MATCH, "\"42-bitmap-json\""))
+        .andExpect(status().isOk());
+    mvc.perform(get("/api/showtimes/7/availability").accept(MediaType.APPLICATION_OCTET_STREAM)
+            .header(HttpHeaders.IF_NONE_MATCH, "\"42-bitmap-bin\""))
+        .andExpect(status().isNotModified());
+    verify(reservationService, times(1)).availabilityBitmapBytes(7);
+  }
+
+  @Test
+  void idempotencyFailuresAreServerErrors() throws Exception {
+    when(idempotencyService.execute(any(), any(), any(), any(), any()))
+        .thenThrow(new IdempotencyFailureException("Stored idempotent response is unreadable", null));
+
+    mvc.perform(post("/api/showtimes/7/reservations").contentType(MediaType.APPLICATION_JSON)
+            .header("Idempotency-Key", "k1").content("{\"seatIds\":[1]}"))
+        .andExpect(status().isInternalServerError())
+        .andExpect(jsonPath("$.error").value("Stored idempotent response is unreadable"));
+  }
+
+  private void expectNotModified(String ifNoneMatch) throws Exception {
+    mvc.perform(get("/api/showtimes/7/availability").header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"42\""))
+        .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+    verify(reservationService, never()).availability(7, null);
+  }
+}
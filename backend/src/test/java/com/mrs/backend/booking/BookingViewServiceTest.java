@@ -0,0 +1,167 @@
+package com.mrs.backend.booking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.mrs.backend.booking.dto.BookingViewResponse;
+import com.mrs.backend.movie.Movie;
+import com.mrs.backend.movie.MovieCatalogChangedEvent;
+import com.mrs.backend.reservation.ReservationService;
+import com.mrs.backend.reservation.dto.ShowtimeSeatAvailabilityResponse;
+import com.mrs.backend.seat.SeatMapCache;
+import com.mrs.backend.seat.SeatMaps;
+import com.mrs.backend.showtime.Auditorium;
+import com.mrs.backend.showtime.Showtime;
+import com.mrs.backend.showtime.ShowtimeChangedEvent;
+import com.mrs.backend.showtime.ShowtimeRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BookingViewServiceTest {
+
+  private final ShowtimeRepository showtimeRepository = mock(ShowtimeRepository.class);
+  private final SeatMapCache seatMapCache = mock(SeatMapCache.class);
+  private final ReservationService reservationService = mock(ReservationService.class);
+  private BookingViewService service;
+
+  @AfterEach
+  void tearDown() {
+    service.shutdown();
+  }
+
+  @Test
+  void theDetailIsCachedAcrossViews() {
+    service = service(8, 300);
+
+    BookingViewResponse first = service.view(10);
+    BookingViewResponse again = service.view(10);
+
+    assertThat(first.showtime().movieTitle()).isEqualTo("Movie 1");
+    assertThat(first.seats()).hasSize(6);
+    assertThat(first.availability().bookedSeatIds()).containsExactly(1L);
+    assertThat(again.showtime()).isEqualTo(first.showtime());
+    verify(showtimeRepository, times(1)).findDetailById(10L);
+  }
+
+  @Test
+  void aShowtimeChangeDropsItsDetail() {
+    service = service(8, 300);
+    service.view(10);
+    service.view(11);
+
+    service.onShowtimeChanged(new ShowtimeChangedEvent(10));
+    service.view(10);
+    service.view(11);
+
+    verify(showtimeRepository, times(2)).findDetailById(10L);
+    verify(showtimeRepository, times(1)).findDetailById(11L);
+  }
+
+  @Test
+  void aCatalogChangeDropsTheDetailsOfThatMovie() {
+    service = service(8, 300);
+    service.view(10);
+    service.view(21);
+
+    service.onCatalogChanged(new MovieCatalogChangedEvent(1));
+    service.view(10);
+    service.view(21);
+
+    verify(showtimeRepository, times(2)).findDetailById(10L);
+    verify(showtimeRepository, times(1)).findDetailById(21L);
+  }
+
+  @Test
+  void aLoadRacingAChangeIsNotKept() {
+    service = service(8, 300);
+    doAnswer(inv -> {
+      Optional<Showtime> read = Optional.of(showtime(inv.getArgument(0)));
+      service.onShowtimeChanged(new ShowtimeChangedEvent(10));
+      return read;
+    }).doAnswer(inv -> Optional.of(showtime(inv.getArgument(0))))
+        .when(showtimeRepository).findDetailById(10L);
+
+    service.view(10);
+    service.view(10);
+    service.view(10);
+
+    verify(showtimeRepository, times(2)).findDetailById(10L);
+  }
+
+  @Test
+  void aFullCacheDropsTheLeastRecentlyUsedDetail() {
+    service = service(2, 300);
+    service.view(10);
+    service.view(11);
+    service.view(10);
+
+    service.view(12);
+    service.view(10);
+    service.view(11);
+
+    verify(showtimeRepository, times(1)).findDetailById(10L);
+    verify(showtimeRepository, times(2)).findDetailById(11L);
+  }
+
+  @Test
+  void expiredDetailsAreReloaded() {
+    service = service(8, 0);
+    service.view(10);
+    service.view(10);
+
+    verify(showtimeRepository, times(2)).findDetailById(10L);
+  }
+
+  @Test
+  void anUnknownShowtimeIsRejected() {
+    service = service(8, 300);
+
+    assertThatThrownBy(() -> service.view(99))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Showtime not found");
+  }
+
+  private BookingViewService service(int maxShowtimes, long ttlSeconds) {
+    when(showtimeRepository.findDetailById(anyLong())).thenAnswer(inv -> {
+      long id = inv.getArgument(0);
+      return id == 99 ? Optional.empty() : Optional.of(showtime(id));
+    });
+    when(seatMapCache.forShowtime(anyLong())).thenReturn(SeatMaps.grid(1, 2, 3));
+    when(reservationService.availability(anyLong(), isNull())).thenAnswer(inv ->
+        new ShowtimeSeatAvailabilityResponse(inv.getArgument(0), 1, null, List.of(1L), List.of(), List.of()));
+    return new BookingViewService(showtimeRepository, seatMapCache, reservationService, new SimpleMeterRegistry(),
+        maxShowtimes, ttlSeconds);
+  }
+
+  // showtimes 10-19 show movie 1, 20-29 movie 2
+  private static Showtime showtime(long id) {
+    Movie movie = new Movie();
+    movie.setId(id / 10);
+    movie.setTitle("Movie " + id / 10);
+    Auditorium auditorium = new Auditorium();
+    auditorium.setId(1L);
+    auditorium.setName("One");
+    Showtime showtime = new Showtime();
+    showtime.setId(id);
+    showtime.setMovie(movie);
+    showtime.setAuditorium(auditorium);
+    showtime.setStartTime(Instant.parse("2027-01-01T18:00:00Z"));
+    showtime.setEndTime(Instant.parse("2027-01-01T20:00:00Z"));
+    showtime.setPriceCents(900);
+    return showtime;
+  }
+}
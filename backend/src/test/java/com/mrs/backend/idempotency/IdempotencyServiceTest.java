@@ -0,0 +1,138 @@
+package com.mrs.backend.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrs.backend.idempotency.IdempotencyService.IdempotencyConflictException;
+import com.mrs.backend.idempotency.IdempotencyService.IdempotencyFailureException;
+import com.mrs.backend.security.AuthUser;
+import com.mrs.backend.security.CurrentUserService;
+import com.mrs.backend.user.UserRole;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class IdempotencyServiceTest {
+
+  private static final Map<String, Object> REQUEST = Map.of("showtimeId", 7, "seatIds", List.of(1, 2));
+
+  private final InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(100);
+  private final CurrentUserService currentUserService = mock(CurrentUserService.class);
+  private final AtomicInteger calls = new AtomicInteger();
+  private IdempotencyService service;
+
+  @BeforeEach
+  void setUp() {
+    when(currentUserService.getCurrentUser())
+        .thenReturn(Optional.of(new AuthUser(1L, "ann@x.com", "Ann", UserRole.USER, 0)));
+    service = newService(30);
+  }
+
+  @Test
+  void replaysTheStoredResponseForARepeatedKey() {
+    String first = service.execute("reserve", "k1", REQUEST, String.class, this::act);
+    String second = service.execute("reserve", "k1", REQUEST, String.class, this::act);
+
+    assertThat(second).isEqualTo(first);
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void rejectsAKeyReusedForADifferentRequest() {
+    service.execute("reserve", "k1", REQUEST, String.class, this::act);
+
+    assertThatThrownBy(() -> service.execute("reserve", "k1", Map.of("showtimeId", 8), String.class, this::act))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void reportsAConflictWhileTheFirstRequestIsRunning() {
+    store.begin(key("k1"), fingerprintOf(REQUEST), Instant.now().plusSeconds(30));
+
+    assertThatThrownBy(() -> service.execute("reserve", "k1", REQUEST, String.class, this::act))
+        .isInstanceOf(IdempotencyConflictException.class);
+    assertThat(calls).hasValue(0);
+  }
+
+  @Test
+  void takesOverAKeyWhoseLeaseRanOut() {
+    // a request that died without completing or abandoning its key
+    store.begin(key("k1"), fingerprintOf(REQUEST), Instant.now().minusSeconds(1));
+
+    String response = service.execute("reserve", "k1", REQUEST, String.class, this::act);
+
+    assertThat(response).isEqualTo("response-1");
+    assertThat(store.find(key("k1"))).hasValueSatisfying(r -> {
+      assertThat(r.completed()).isTrue();
+      assertThat(r.expiresAt()).isAfter(Instant.now().plusSeconds(3000));
+    });
+  }
+
+  @Test
+  void failedRequestsReleaseTheKey() {
+    assertThatThrownBy(() -> service.execute("reserve", "k1", REQUEST, String.class, () -> {
+      throw new IllegalArgumentException("boom");
+    })).hasMessage("boom");
+
+    assertThat(service.execute("reserve", "k1", REQUEST, String.class, this::act)).isEqualTo("response-1");
+  }
+
+  @Test
+  void keysAreScopedPerOperation() {
+    service.execute("reserve", "k1", REQUEST, String.class, this::act);
+    service.execute("cancel", "k1", REQUEST, String.class, this::act);
+
+    assertThat(calls).hasValue(2);
+  }
+
+  @Test
+  void anUnreadableStoredResponseIsAServerFailure() {
+    store.begin(key("k1"), fingerprintOf(REQUEST), Instant.now().plusSeconds(30));
+    store.complete(key("k1"), "{not json", Instant.now().plusSeconds(3600));
+
+    assertThatThrownBy(() -> service.execute("reserve", "k1", REQUEST, Integer.class, () -> 1))
+        .isInstanceOf(IdempotencyFailureException.class)
+        .hasMessage("Stored idempotent response is unreadable");
+  }
+
+  @Test
+  void anUnserializableResponseIsAServerFailure() {
+    assertThatThrownBy(() -> service.execute("reserve", "k1", REQUEST, Object.class, Object::new))
+        .isInstanceOf(IdempotencyFailureException.class)
+        .hasMessage("Response is not serializable");
+  }
+
+  private String act() {
+    return "response-" + calls.incrementAndGet();
+  }
+
+  private IdempotencyService newService(long leaseSeconds) {
+    return new IdempotencyService(List.of(store), currentUserService, new ObjectMapper(),
+        new SimpleMeterRegistry(), 3600, leaseSeconds);
+  }
+
+  private static String key(String idempotencyKey) {
+    return "1:reserve:" + idempotencyKey;
+  }
+
+  /** Same fingerprint the service computes: SHA-256 of the JSON request. */
+  private static String fingerprintOf(Object request) {
+    try {
+      byte[] json = new ObjectMapper().writeValueAsBytes(request);
+      return java.util.HexFormat.of().formatHex(java.security.MessageDigest.getInstance("SHA-256").digest(json));
+    } catch (Exception ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+}
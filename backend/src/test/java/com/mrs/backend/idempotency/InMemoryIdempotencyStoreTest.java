@@ -0,0 +1,66 @@
+package com.mrs.backend.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+class InMemoryIdempotencyStoreTest {
+
+  private final InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(100);
+
+  @Test
+  void liveLeaseBlocksASecondBegin() {
+    assertThat(store.begin("k", "f", inSeconds(30))).isTrue();
+
+    assertThat(store.begin("k", "f", inSeconds(30))).isFalse();
+    assertThat(store.find("k")).hasValueSatisfying(r -> assertThat(r.completed()).isFalse());
+  }
+
+  @Test
+  void expiredLeaseIsTakenOver() {
+    store.begin("k", "f", inSeconds(-1));
+
+    assertThat(store.find("k")).isEmpty();
+    assertThat(store.begin("k", "f", inSeconds(30))).isTrue();
+  }
+
+  @Test
+  void completedEntryOutlivesTheLease() {
+    store.begin("k", "f", inSeconds(30));
+    store.complete("k", "{}", inSeconds(3600));
+
+    assertThat(store.find("k")).hasValueSatisfying(r -> {
+      assertThat(r.completed()).isTrue();
+      assertThat(r.responseBody()).isEqualTo("{}");
+      assertThat(r.expiresAt()).isAfter(inSeconds(3000));
+    });
+    assertThat(store.begin("k", "f", inSeconds(30))).isFalse();
+  }
+
+  @Test
+  void abandonFreesTheKey() {
+    store.begin("k", "f", inSeconds(30));
+
+    store.abandon("k");
+
+    assertThat(store.begin("k", "f", inSeconds(30))).isTrue();
+  }
+
+  @Test
+  void evictsOldestEntriesBeyondTheLimit() {
+    InMemoryIdempotencyStore small = new InMemoryIdempotencyStore(2);
+    small.begin("a", "f", inSeconds(30));
+    small.begin("b", "f", inSeconds(30));
+    small.begin("c", "f", inSeconds(30));
+
+    assertThat(small.find("a")).isEmpty();
+    assertThat(small.find("c")).isPresent();
+  }
+
+  private static Instant inSeconds(long seconds) {
+    return Instant.now().plus(Duration.ofSeconds(seconds));
+  }
+}
@@ -0,0 +1,135 @@
+package com.mrs.backend.movie;
+
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * First page of a search over 100,000 seeded active movies, in a scratch
+ * schema of the database given by SPRING_DATASOURCE_URL, _USERNAME and
+ * _PASSWORD (defaults as in application.yml). A quarter of the descriptions
+ * mention "love", so that term ranks about 25,000 matches; "zyxwv" matches
+ * nothing. {@code database} runs the ranked query, {@code lexeme} reads the
+ * precomputed ranks of V11, {@code cached} goes through MovieSearchCache.
+ * Target: single-digit milliseconds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MovieSearchBenchmark {
+
+  private static final String SCHEMA = "movie_search_benchmark";
+  private static final int PAGE = 25;
+
+  @Param({"love", "zyxwv"})
+  String query;
+
+  private SingleConnectionDataSource dataSource;
+  private MovieRepositoryCustomImpl repository;
+  private MovieSearchCache cache;
+
+  @Setup
+  public void setUp() {
+    dataSource = new SingleConnectionDataSource(
+        env("SPRING_DATASOURCE_URL", "jdbc:postgresql://localhost:5432/moviereservation"),
+        env("SPRING_DATASOURCE_USERNAME", "moviereservation"),
+        env("SPRING_DATASOURCE_PASSWORD", "moviereservation"),
+        true);
+    JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    jdbc.execute("drop schema if exists " + SCHEMA + " cascade");
+    jdbc.execute("create schema " + SCHEMA);
+    jdbc.execute("set search_path to " + SCHEMA);
+    jdbc.execute("""
+        create table genre (id bigint primary key, name text not null);
+        insert into genre values (1, 'Drama');
+        create table movie (
+          id bigserial primary key,
+          title varchar(200) not null,
+          description text not null,
+          poster_url text,
+          genre_id bigint not null,
+          active boolean not null default true,
+          created_at timestamptz not null default now(),
+          search_vector tsvector generated always as (
+            setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+            setweight(to_tsvector('english', coalesce(description, '')), 'B')
+          ) stored
+        );
+        insert into movie (title, description, genre_id)
+        select
+          (array['Night', 'River', 'Storm', 'Ghost', 'City', 'Dream', 'Last', 'Dark'])[1 + g % 8] || ' ' || md5(g::text),
+          (case when g % 4 = 0 then 'a love story about ' else 'a tale of ' end)
+            || (select string_agg(substr(md5((g * 31 + k)::text), 1, 6), ' ') from generate_series(1, 30) k),
+          1
+        from generate_series(1, 100000) g;
+        create index on movie using gin (search_vector);
+        """);
+    jdbc.execute(migration("V11__movie_search_term.sql"));
+    jdbc.execute("analyze movie; analyze movie_search_term");
+
+    repository = new MovieRepositoryCustomImpl(jdbc);
+    cache = new MovieSearchCache(mock(MovieRepository.class, delegatesTo(repository)), new SimpleMeterRegistry(),
+        200, 256, 0, 1024);
+  }
+
+  @TearDown
+  public void tearDown() {
+    cache.shutdown();
+    new JdbcTemplate(dataSource).execute("drop schema if exists " + SCHEMA + " cascade");
+    dataSource.destroy();
+  }
+
+  @Benchmark
+  public List<MovieSearchHit> database() {
+    return repository.search(query, null, null, PAGE);
+  }
+
+  @Benchmark
+  public List<MovieSearchHit> lexeme() {
+    return repository.searchLexeme(query, null, null, PAGE);
+  }
+
+  @Benchmark
+  public List<MovieSearchHit> cached() {
+    return cache.search(query, null, null, PAGE);
+  }
+
+  private static String migration(String name) {
+    try (InputStream in = MovieSearchBenchmark.class.getResourceAsStream("/db/migration/" + name)) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private static String env(String name, String fallback) {
+    String value = System.getenv(name);
+    return value == null || value.isBlank() ? fallback : value;
+  }
+}
@@ -0,0 +1,172 @@
+package com.mrs.backend.movie;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mrs.backend.movie.dto.MovieSummaryResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MovieSearchCacheTest {
+
+  private static final int DEPTH = 10;
+
+  private final MovieRepository movieRepository = mock(MovieRepository.class);
+  private MovieSearchCache cache;
+
+  @BeforeEach
+  void setUp() {
+    when(movieRepository.normalizeSearchQuery(anyString()))
+        .thenAnswer(inv -> "'" + inv.<String>getArgument(0).toLowerCase(Locale.ROOT) + "'");
+    cache = new MovieSearchCache(movieRepository, new SimpleMeterRegistry(), DEPTH, 8, 4, 16);
+    // let the start-up warm-up finish before tests stub the mock further
+    verify(movieRepository, timeout(2000)).findCommonSearchTerms(4);
+  }
+
+  @AfterEach
+  void tearDown() {
+    cache.shutdown();
+  }
+
+  @Test
+  void repeatedQueriesAreServedFromTheCachedHits() {
+    when(movieRepository.searchLexeme("love", null, null, DEPTH + 1)).thenReturn(hits(1, 30));
+
+    List<MovieSearchHit> first = cache.search("love", null, null, 5);
+    List<MovieSearchHit> again = cache.search("LOVE", null, null, 5);
+
+    assertThat(ids(first)).containsExactly(1L, 2L, 3L, 4L, 5L);
+    assertThat(again).isEqualTo(first);
+    verify(movieRepository, times(1)).searchLexeme("love", null, null, DEPTH + 1);
+  }
+
+  @Test
+  void cursorPagesInsideTheCachedHitsAreCutInMemory() {
+    when(movieRepository.searchLexeme("love", null, null, DEPTH + 1)).thenReturn(hits(1, 30));
+    MovieSearchHit last = cache.search("love", null, null, 4).get(3);
+
+    List<MovieSearchHit> next = cache.search("love", last.rank(), last.movie().id(), 4);
+
+    assertThat(ids(next)).containsExactly(5L, 6L, 7L, 8L);
+    verify(movieRepository, never()).searchLexeme(eq("love"), eq(last.rank()), eq(last.movie().id()), eq(4));
+  }
+
+  @Test
+  void pagesRunningPastTheCachedHitsAreReadFromTheDatabase() {
+    List<MovieSearchHit> all = hits(1, 30);
+    when(movieRepository.searchLexeme("love", null, null, DEPTH + 1)).thenReturn(all.subList(0, DEPTH + 1));
+    MovieSearchHit after = all.get(7);
+    when(movieRepository.searchLexeme("love", after.rank(), 8L, 4)).thenReturn(all.subList(8, 12));
+
+    List<MovieSearchHit> next = cache.search("love", after.rank(), 8L, 4);
+
+    assertThat(ids(next)).containsExactly(9L, 10L, 11L, 12L);
+  }
+
+  @Test
+  void aCompleteResultAnswersShortPagesWithoutTheDatabase() {
+    when(movieRepository.searchLexeme("rare", null, null, DEPTH + 1)).thenReturn(hits(1, 3));
+    cache.search("rare", null, null, 5);
+    MovieSearchHit last = hits(1, 3).get(2);
+
+    assertThat(cache.search("rare", last.rank(), last.movie().id(), 5)).isEmpty();
+    verify(movieRepository, never()).searchLexeme(eq("rare"), eq(last.rank()), eq(3L), eq(5));
+  }
+
+  @Test
+  void aCatalogChangeDropsCachedQueries() {
+    when(movieRepository.searchLexeme("love", null, null, DEPTH + 1)).thenReturn(hits(1, 30));
+    cache.search("love", null, null, 5);
+
+    cache.onCatalogChanged(new MovieCatalogChangedEvent(1));
+    cache.search("love", null, null, 5);
+
+    verify(movieRepository, times(2)).searchLexeme("love", null, null, DEPTH + 1);
+  }
+
+  @Test
+  void aLoadRacingACatalogChangeIsNotKept() {
+    when(movieRepository.searchLexeme("love", null, null, DEPTH + 1)).thenAnswer(inv -> {
+      cache.onCatalogChanged(new MovieCatalogChangedEvent(1));
+      return hits(1, 30);
+    });
+
+    cache.search("love", null, null, 5);
+    cache.search("love", null, null, 5);
+
+    verify(movieRepository, times(2)).searchLexeme("love", null, null, DEPTH + 1);
+  }
+
+  @Test
+  void refreshPreloadsTheCommonTerms() {
+    when(movieRepository.findCommonSearchTerms(4)).thenReturn(List.of("love", "night"));
+    when(movieRepository.searchLexeme(anyString(), isNull(), isNull(), eq(DEPTH + 1))).thenReturn(hits(1, 30));
+
+    cache.refresh();
+    verify(movieRepository, timeout(2000)).searchLexeme("night", null, null, DEPTH + 1);
+    cache.search("love", null, null, 5);
+
+    verify(movieRepository, times(1)).searchLexeme("love", null, null, DEPTH + 1);
+  }
+
+  @Test
+  void eachQueryIsNormalisedOnce() {
+    when(movieRepository.searchLexeme("love", null, null, DEPTH + 1)).thenReturn(hits(1, 30));
+
+    cache.search("love", null, null, 5);
+    cache.search("love", null, null, 5);
+    cache.search("love", null, null, 5);
+
+    verify(movieRepository, times(1)).normalizeSearchQuery("love");
+  }
+
+  @Test
+  void queriesOfSeveralLexemesAreRankedByTheDatabase() {
+    when(movieRepository.normalizeSearchQuery("star wars")).thenReturn("'star' & 'war'");
+    when(movieRepository.search("star wars", null, null, DEPTH + 1)).thenReturn(hits(1, 3));
+
+    assertThat(ids(cache.search("star wars", null, null, 5))).containsExactly(1L, 2L, 3L);
+    verify(movieRepository, never()).searchLexeme(anyString(), any(), any(), anyInt());
+  }
+
+  @Test
+  void quotesInASingleLexemeAreUnescaped() {
+    when(movieRepository.normalizeSearchQuery("o'neil")).thenReturn("'o''neil'");
+    when(movieRepository.searchLexeme("o'neil", null, null, DEPTH + 1)).thenReturn(hits(1, 2));
+
+    assertThat(ids(cache.search("o'neil", null, null, 5))).containsExactly(1L, 2L);
+  }
+
+  // ranks fall in steps of two movies, so ties are broken by id
+  private static List<MovieSearchHit> hits(long firstId, int count) {
+    List<MovieSearchHit> hits = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      long id = firstId + i;
+      MovieSummaryResponse movie = new MovieSummaryResponse(id, "Movie " + id, null, true, null, null);
+      hits.add(new MovieSearchHit(movie, 1.0f - (i / 2) * 0.01f));
+    }
+    return hits;
+  }
+
+  private static List<Long> ids(List<MovieSearchHit> hits) {
+    return hits.stream().map(h -> h.movie().id()).toList();
+  }
+}
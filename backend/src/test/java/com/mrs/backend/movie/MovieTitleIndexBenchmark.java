@@ -0,0 +1,94 @@
+package com.mrs.backend.movie;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mrs.backend.movie.dto.MovieSuggestionResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Ten suggestions over 100,000 active titles of two to five words drawn from
+ * a 2,000 word vocabulary, a tenth of them with accented letters, with
+ * skewed popularity. One and two letter prefixes match tens of thousands of
+ * word starts; "star w" narrows to a few titles. Reported as sampled latency
+ * so the p99 is visible. Target: p99 well under 1 ms for every prefix.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MovieTitleIndexBenchmark {
+
+  @Param({"s", "st", "sta", "star w"})
+  String prefix;
+
+  private MovieTitleIndex index;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    String[] vocabulary = new String[2_000];
+    vocabulary[0] = "star";
+    vocabulary[1] = "wars";
+    for (int i = 2; i < vocabulary.length; i++) {
+      StringBuilder word = new StringBuilder();
+      for (int n = 3 + random.nextInt(6); n > 0; n--) {
+        word.append((char) ('a' + random.nextInt(26)));
+      }
+      if (random.nextInt(10) == 0) {
+        word.setCharAt(0, "éèáüöñç".charAt(random.nextInt(7)));
+      }
+      vocabulary[i] = word.toString();
+    }
+
+    List<MovieTitleEntry> entries = new ArrayList<>();
+    for (long id = 1; id <= 100_000; id++) {
+      StringBuilder title = new StringBuilder();
+      for (int w = 2 + random.nextInt(4); w > 0; w--) {
+        String word = vocabulary[(int) Math.min(vocabulary.length - 1, Math.abs(random.nextGaussian()) * 400)];
+        title.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length()).append(' ');
+      }
+      long popularity = (long) (1_000 * Math.pow(random.nextDouble(), 4));
+      entries.add(new MovieTitleEntry(id, title.toString().trim(), true, popularity));
+    }
+    // the repository returns titles by popularity, then title
+    entries.sort(Comparator.comparingLong(MovieTitleEntry::popularity).reversed()
+        .thenComparing(MovieTitleEntry::title));
+
+    MovieRepository repository = mock(MovieRepository.class);
+    when(repository.findTitleEntries()).thenReturn(entries);
+    index = new MovieTitleIndex(repository, new SimpleMeterRegistry());
+  }
+
+  @TearDown
+  public void tearDown() {
+    index.shutdown();
+  }
+
+  @Benchmark
+  public List<MovieSuggestionResponse> suggest() {
+    return index.suggest(prefix, 10);
+  }
+}
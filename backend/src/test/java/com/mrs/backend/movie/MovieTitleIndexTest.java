@@ -0,0 +1,200 @@
+package com.mrs.backend.movie;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mrs.backend.movie.dto.MovieSuggestionResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MovieTitleIndexTest {
+
+  private final MovieRepository movieRepository = mock(MovieRepository.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private MovieTitleIndex index;
+
+  @BeforeEach
+  void setUp() {
+    // the repository returns titles by popularity, then title
+    when(movieRepository.findTitleEntries()).thenReturn(List.of(
+        new MovieTitleEntry(1, "The Dark Knight", true, 50),
+        new MovieTitleEntry(2, "Amélie", true, 30),
+        new MovieTitleEntry(3, "Dark City", true, 10),
+        new MovieTitleEntry(4, "Crème  Brûlée", true, 0)));
+    index = new MovieTitleIndex(movieRepository, meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    index.shutdown();
+  }
+
+  @Test
+  void foldsCaseAccentsAndSpaces() {
+    assertThat(MovieTitleIndex.fold("  Crème  BRÛLÉE ")).isEqualTo("creme brulee");
+
+    assertThat(ids(index.suggest("AMÉ", 5))).containsExactly(2L);
+    assertThat(ids(index.suggest("ame", 5))).containsExactly(2L);
+    assertThat(ids(index.suggest("creme   bru", 5))).containsExactly(4L);
+  }
+
+  @Test
+  void matchesWordStartsOnlyAndRanksByPopularity() {
+    assertThat(ids(index.suggest("dark", 5))).containsExactly(1L, 3L);
+    assertThat(ids(index.suggest("kni", 5))).containsExactly(1L);
+    assertThat(ids(index.suggest("dark c", 5))).containsExactly(3L);
+    assertThat(index.suggest("ark", 5)).isEmpty();
+    assertThat(ids(index.suggest("d", 1))).containsExactly(1L);
+  }
+
+  @Test
+  void rejectsBlankPrefixesAndBadLimits() {
+    assertThatThrownBy(() -> index.suggest(" ", 5)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> index.suggest("d", 0)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> index.suggest("d", 21)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void catalogChangesPatchTheIndex() throws InterruptedException {
+    when(movieRepository.findTitleEntry(3)).thenReturn(Optional.of(new MovieTitleEntry(3, "Bright City", true, 10)));
+    index.onCatalogChanged(new MovieCatalogChangedEvent(3));
+
+    awaitSuggestions(() -> index.suggest("bri", 5), List.of(3L));
+    assertThat(ids(index.suggest("dark", 5))).containsExactly(1L);
+    assertThat(ids(index.suggest("c", 5))).containsExactly(3L, 4L);
+
+    when(movieRepository.findTitleEntry(5)).thenReturn(Optional.of(new MovieTitleEntry(5, "Dawn", true, 0)));
+    index.onCatalogChanged(new MovieCatalogChangedEvent(5));
+
+    awaitSuggestions(() -> index.suggest("da", 5), List.of(1L, 5L));
+  }
+
+  @Test
+  void removedAndInactiveMoviesDisappear() throws InterruptedException {
+    when(movieRepository.findTitleEntry(1)).thenReturn(Optional.empty());
+    when(movieRepository.findTitleEntry(2)).thenReturn(Optional.of(new MovieTitleEntry(2, "Amélie", false, 30)));
+    index.onCatalogChanged(new MovieCatalogChangedEvent(1));
+    index.onCatalogChanged(new MovieCatalogChangedEvent(2));
+
+    awaitSuggestions(() -> index.suggest("a", 5), List.of());
+    assertThat(ids(index.suggest("dark", 5))).containsExactly(3L);
+    assertThat(ids(index.suggest("d", 5))).containsExactly(3L);
+  }
+
+  @Test
+  void rebuildCompactsRemovedDocuments() throws InterruptedException {
+    when(movieRepository.findTitleEntry(1)).thenReturn(Optional.empty());
+    index.onCatalogChanged(new MovieCatalogChangedEvent(1));
+    awaitSuggestions(() -> index.suggest("dark", 5), List.of(3L));
+    // the removed movie keeps its slot until the next rebuild
+    assertThat(gauge("movie.suggest.documents")).isEqualTo(4);
+
+    when(movieRepository.findTitleEntries()).thenReturn(List.of(
+        new MovieTitleEntry(2, "Amélie", true, 30),
+        new MovieTitleEntry(3, "Dark City", true, 10),
+        new MovieTitleEntry(4, "Crème  Brûlée", true, 0)));
+    index.refresh();
+
+    long deadline = System.nanoTime() + 2_000_000_000L;
+    while (gauge("movie.suggest.documents") != 3 && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(gauge("movie.suggest.documents")).isEqualTo(3);
+    assertThat(ids(index.suggest("dark", 5))).containsExactly(3L);
+  }
+
+  @Test
+  void matchesABruteForceScanAcrossPatches() throws InterruptedException {
+    Random random = new Random(11);
+    String[] words = {"a", "ab", "abc", "bad", "bäd", "cab", "Ça", "dab", "b-a", "x"};
+    List<MovieTitleEntry> entries = new ArrayList<>();
+    for (long id = 1; id <= 300; id++) {
+      entries.add(randomEntry(random, words, id));
+    }
+    entries.sort(Comparator.comparingLong(MovieTitleEntry::popularity).reversed()
+        .thenComparing(MovieTitleEntry::title));
+    when(movieRepository.findTitleEntries()).thenReturn(entries);
+    MovieTitleIndex rebuilt = new MovieTitleIndex(movieRepository, new SimpleMeterRegistry());
+    List<MovieTitleEntry> current = new ArrayList<>(entries);
+    try {
+      for (int round = 0; round < 40; round++) {
+        long id = 1 + random.nextInt(320);
+        MovieTitleEntry entry = random.nextInt(4) == 0 ? null : randomEntry(random, words, id);
+        when(movieRepository.findTitleEntry(id)).thenReturn(Optional.ofNullable(entry));
+        rebuilt.onCatalogChanged(new MovieCatalogChangedEvent(id));
+        // a patched movie ranks after the rebuilt ones with the same popularity
+        current.removeIf(e -> e.id() == id);
+        if (entry != null) {
+          current.add(entry);
+        }
+        List<MovieTitleEntry> snapshot = List.copyOf(current);
+
+        for (String prefix : List.of("a", "b", "c", "ab", "ba", "b-", "ca", "abc", "bad", "a b")) {
+          awaitSuggestions(() -> rebuilt.suggest(prefix, 20), bruteForce(snapshot, prefix, 20));
+        }
+      }
+    } finally {
+      rebuilt.shutdown();
+    }
+  }
+
+  private static MovieTitleEntry randomEntry(Random random, String[] words, long id) {
+    StringBuilder title = new StringBuilder();
+    for (int w = 1 + random.nextInt(3); w > 0; w--) {
+      title.append(words[random.nextInt(words.length)]).append(' ');
+    }
+    return new MovieTitleEntry(id, title.toString().trim(), true, random.nextInt(5));
+  }
+
+  /** Stable sort keeps the index order for ties: rebuild order first, then patch order. */
+  private static List<Long> bruteForce(List<MovieTitleEntry> entries, String prefix, int limit) {
+    String key = MovieTitleIndex.fold(prefix);
+    return entries.stream()
+        .filter(e -> {
+          String title = MovieTitleIndex.fold(e.title());
+          for (int i = 0; i < title.length(); i++) {
+            boolean wordStart = Character.isLetterOrDigit(title.charAt(i))
+                && (i == 0 || !Character.isLetterOrDigit(title.charAt(i - 1)));
+            if (wordStart && title.startsWith(key, i)) {
+              return true;
+            }
+          }
+          return false;
+        })
+        .sorted(Comparator.comparingLong(MovieTitleEntry::popularity).reversed())
+        .limit(limit)
+        .map(MovieTitleEntry::id)
+        .toList();
+  }
+
+  private double gauge(String name) {
+    return meterRegistry.get(name).gauge().value();
+  }
+
+  /** Patches are applied on the index's writer thread; waits for them to show. */
+  private static void awaitSuggestions(Supplier<List<MovieSuggestionResponse>> lookup, List<Long> expected)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + 2_000_000_000L;
+    while (!ids(lookup.get()).equals(expected) && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(ids(lookup.get())).isEqualTo(expected);
+  }
+
+  private static List<Long> ids(List<MovieSuggestionResponse> suggestions) {
+    return suggestions.stream().map(MovieSuggestionResponse::id).toList();
+  }
+}
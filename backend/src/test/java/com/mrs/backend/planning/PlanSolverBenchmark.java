@@ -0,0 +1,87 @@
+package com.mrs.backend.planning;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A week for 30 auditoriums: one 10:00-24:00 window per auditorium and day,
+ * a few of them cut by an existing showtime, and 40 movies of 85-180 minutes
+ * whose targets ask for about a third more screen time than there is. Five
+ * minute slots; restarts run on a four-thread pool like the default planner.
+ * Target: a few seconds for the full restart budget.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlanSolverBenchmark {
+
+  private static final int SLOT_MINUTES = 5;
+  private static final int BUFFER_MINUTES = 20;
+
+  @Param({"1", "256"})
+  int restarts;
+
+  private List<PlanSolver.Movie> movies;
+  private List<PlanSolver.Window> windows;
+  private ExecutorService executor;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    windows = new ArrayList<>();
+    long supply = 0;
+    for (int auditorium = 0; auditorium < 30; auditorium++) {
+      for (int day = 0; day < 7; day++) {
+        int minutes = 14 * 60;
+        if (random.nextInt(4) == 0) {
+          // an existing showtime splits the day
+          int before = 60 + random.nextInt(300);
+          windows.add(new PlanSolver.Window((before + BUFFER_MINUTES) / SLOT_MINUTES));
+          minutes -= before + 150;
+          supply += before;
+        }
+        windows.add(new PlanSolver.Window((minutes + BUFFER_MINUTES) / SLOT_MINUTES));
+        supply += minutes;
+      }
+    }
+
+    movies = new ArrayList<>();
+    long perMovie = supply * 4 / 3 / 40;
+    for (int i = 0; i < 40; i++) {
+      int runtime = 85 + random.nextInt(96);
+      int slots = Math.ceilDiv(runtime + BUFFER_MINUTES, SLOT_MINUTES);
+      movies.add(new PlanSolver.Movie(slots, runtime, (int) (perMovie / (runtime + BUFFER_MINUTES))));
+    }
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Benchmark
+  public long solve() {
+    return PlanSolver.solve(movies, windows, restarts, Long.MAX_VALUE, executor).minutes();
+  }
+}
@@ -0,0 +1,195 @@
+package com.mrs.backend.planning;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mrs.backend.movie.Movie;
+import com.mrs.backend.movie.MovieRepository;
+import com.mrs.backend.planning.dto.PlanMovieRequest;
+import com.mrs.backend.planning.dto.PlanMovieResponse;
+import com.mrs.backend.planning.dto.PlanRequest;
+import com.mrs.backend.planning.dto.PlanResponse;
+import com.mrs.backend.planning.dto.PlanWindowRequest;
+import com.mrs.backend.showtime.Auditorium;
+import com.mrs.backend.showtime.AuditoriumRepository;
+import com.mrs.backend.showtime.ShowtimeRepository;
+import com.mrs.backend.showtime.ShowtimeSlot;
+import com.mrs.backend.showtime.dto.ShowtimeUpsertRequest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ShowtimePlannerTest {
+
+  private static final Duration BUFFER = Duration.ofMinutes(20);
+  private static final Instant DAY = Instant.parse("2027-03-01T00:00:00Z");
+
+  private final ShowtimeRepository showtimeRepository = mock(ShowtimeRepository.class);
+  private final MovieRepository movieRepository = mock(MovieRepository.class);
+  private final AuditoriumRepository auditoriumRepository = mock(AuditoriumRepository.class);
+  private final List<ShowtimeSlot> existing = new ArrayList<>();
+  private ShowtimePlanner planner;
+
+  @BeforeEach
+  void setUp() {
+    when(movieRepository.findAllById(anyIterable())).thenAnswer(inv -> ids(inv.getArgument(0)).stream()
+        .map(id -> {
+          Movie movie = new Movie();
+          movie.setId(id);
+          return movie;
+        })
+        .toList());
+    when(auditoriumRepository.findAllById(anyIterable())).thenAnswer(inv -> ids(inv.getArgument(0)).stream()
+        .map(id -> {
+          Auditorium auditorium = new Auditorium();
+          auditorium.setId(id);
+          return auditorium;
+        })
+        .toList());
+    when(showtimeRepository.findSlots(anyCollection(), any(), any())).thenAnswer(inv -> List.copyOf(existing));
+    planner = new ShowtimePlanner(showtimeRepository, movieRepository, auditoriumRepository,
+        new SimpleMeterRegistry(), 8, 5000, 2);
+  }
+
+  @AfterEach
+  void tearDown() {
+    planner.shutdown();
+  }
+
+  @Test
+  void theLastShowMayEndExactlyAtTheWindowEnd() {
+    // two 100 minute shows and one buffer between them fill 10:00-13:40 exactly
+    PlanResponse plan = planner.plan(new PlanRequest(
+        List.of(new PlanMovieRequest(1L, 100, 5, 900)),
+        List.of(window(1, at(10, 0), at(13, 40))),
+        5));
+
+    assertThat(plan.showtimes()).extracting(ShowtimeUpsertRequest::startTime, ShowtimeUpsertRequest::endTime)
+        .containsExactly(
+            tuple(at(10, 0).toString(), at(11, 40).toString()),
+            tuple(at(12, 0).toString(), at(13, 40).toString()));
+  }
+
+  @Test
+  void showsAreBufferedFromExistingShowtimes() {
+    existing.add(new ShowtimeSlot(1, at(15, 0), at(17, 0)));
+
+    PlanResponse plan = planner.plan(new PlanRequest(
+        List.of(new PlanMovieRequest(1L, 95, 20, 900), new PlanMovieRequest(2L, 142, 20, 900)),
+        List.of(window(1, at(10, 0), at(23, 0))),
+        5));
+
+    assertThat(plan.showtimes()).isNotEmpty();
+    assertFeasible(plan, List.of(window(1, at(10, 0), at(23, 0))), 5);
+  }
+
+  @Test
+  void windowsCloserThanTheBufferAreSpacedApart() {
+    // 100 minute shows would fill both windows exactly, ten minutes apart
+    List<PlanWindowRequest> windows = List.of(window(1, at(11, 50), at(13, 30)), window(1, at(10, 0), at(11, 40)));
+
+    PlanResponse plan = planner.plan(new PlanRequest(List.of(new PlanMovieRequest(1L, 100, 5, 900)), windows, 5));
+
+    assertThat(plan.showtimes()).extracting(ShowtimeUpsertRequest::startTime)
+        .containsExactly(at(10, 0).toString());
+    assertFeasible(plan, windows, 5);
+  }
+
+  @Test
+  void randomPlansAreFeasible() {
+    Random random = new Random(7);
+    for (int round = 0; round < 40; round++) {
+      existing.clear();
+      List<PlanWindowRequest> windows = new ArrayList<>();
+      for (long auditorium = 1; auditorium <= 3; auditorium++) {
+        Instant start = at(8 + random.nextInt(4), random.nextInt(60));
+        Instant end = start.plus(Duration.ofMinutes(240 + random.nextInt(600)));
+        windows.add(new PlanWindowRequest(auditorium, start.toString(), end.toString()));
+        if (random.nextBoolean()) {
+          Instant shown = start.plus(Duration.ofMinutes(random.nextInt(200)));
+          existing.add(new ShowtimeSlot(auditorium, shown, shown.plus(Duration.ofMinutes(90 + random.nextInt(60)))));
+        }
+      }
+      List<PlanMovieRequest> movies = new ArrayList<>();
+      int movieCount = 1 + random.nextInt(5);
+      for (long movie = 1; movie <= movieCount; movie++) {
+        movies.add(new PlanMovieRequest(movie, 60 + random.nextInt(120), random.nextInt(8), 900));
+      }
+      int slotMinutes = List.of(1, 5, 7, 15).get(random.nextInt(4));
+
+      PlanResponse plan = planner.plan(new PlanRequest(movies, windows, slotMinutes));
+
+      assertFeasible(plan, windows, slotMinutes);
+      for (PlanMovieResponse m : plan.movies()) {
+        assertThat(m.plannedShows()).isLessThanOrEqualTo(m.targetShows());
+      }
+    }
+  }
+
+  @Test
+  void aMonthLongWindowAtOneMinuteSlotsIsPlanned() {
+    List<PlanMovieRequest> movies = new ArrayList<>();
+    for (long movie = 1; movie <= 20; movie++) {
+      movies.add(new PlanMovieRequest(movie, 90 + (int) movie, 10_000, 900));
+    }
+    PlanWindowRequest month = new PlanWindowRequest(1L, DAY.toString(), DAY.plus(Duration.ofDays(31)).toString());
+
+    PlanResponse plan = planner.plan(new PlanRequest(movies, List.of(month), 1));
+
+    assertThat(plan.utilization()).isGreaterThan(0.8);
+    assertFeasible(plan, List.of(month), 1);
+  }
+
+  private void assertFeasible(PlanResponse plan, List<PlanWindowRequest> windows, int slotMinutes) {
+    Map<Long, List<ShowtimeSlot>> byAuditorium = new HashMap<>();
+    for (ShowtimeSlot slot : existing) {
+      byAuditorium.computeIfAbsent(slot.auditoriumId(), id -> new ArrayList<>()).add(slot);
+    }
+    for (ShowtimeUpsertRequest show : plan.showtimes()) {
+      Instant start = Instant.parse(show.startTime());
+      Instant end = Instant.parse(show.endTime());
+      assertThat(start.getEpochSecond() % (slotMinutes * 60L)).as("grid: %s", show).isZero();
+      assertThat(windows).as("inside a window: %s", show).anyMatch(w -> w.auditoriumId().equals(show.auditoriumId())
+          && !start.isBefore(Instant.parse(w.startTime())) && !end.isAfter(Instant.parse(w.endTime())));
+      byAuditorium.computeIfAbsent(show.auditoriumId(), id -> new ArrayList<>())
+          .add(new ShowtimeSlot(show.auditoriumId(), start, end));
+    }
+    for (List<ShowtimeSlot> slots : byAuditorium.values()) {
+      slots.sort(Comparator.comparing(ShowtimeSlot::startTime));
+      for (int i = 1; i < slots.size(); i++) {
+        assertThat(slots.get(i).startTime()).as("buffer after %s", slots.get(i - 1))
+            .isAfterOrEqualTo(slots.get(i - 1).endTime().plus(BUFFER));
+      }
+    }
+  }
+
+  private static PlanWindowRequest window(long auditoriumId, Instant start, Instant end) {
+    return new PlanWindowRequest(auditoriumId, start.toString(), end.toString());
+  }
+
+  private static Instant at(int hour, int minute) {
+    return DAY.plus(Duration.ofMinutes(hour * 60L + minute));
+  }
+
+  private static List<Long> ids(Iterable<Long> ids) {
+    return StreamSupport.stream(ids.spliterator(), false).toList();
+  }
+}
@@ -0,0 +1,132 @@
+package com.mrs.backend.reservation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrs.backend.reservation.dto.ShowtimeSeatAvailabilityResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AvailabilityStreamServiceTest {
+
+  private static final long SHOWTIME_ID = 7;
+  private static final int QUEUE_SIZE = 4;
+
+  private final SeatInventory seatInventory = mock(SeatInventory.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final CountDownLatch slowClientUnblocked = new CountDownLatch(1);
+  private RecordingEmitter nextEmitter;
+  private AvailabilityStreamService service;
+
+  @BeforeEach
+  void setUp() {
+    when(seatInventory.availability(anyLong()))
+        .thenReturn(new ShowtimeSeatAvailabilityResponse(SHOWTIME_ID, 1, null, List.of(), List.of(), List.of()));
+    service = new AvailabilityStreamService(seatInventory, new ObjectMapper(), meterRegistry, 60_000, 16, QUEUE_SIZE) {
+      @Override
+      SseEmitter newEmitter() {
+        return nextEmitter;
+      }
+    };
+  }
+
+  @AfterEach
+  void tearDown() {
+    slowClientUnblocked.countDown();
+    service.shutdown();
+  }
+
+  @Test
+  void aStalledClientDoesNotDelayTheOthers() throws Exception {
+    RecordingEmitter slow = subscribe(true);
+    RecordingEmitter fast = subscribe(false);
+
+    for (int version = 2; version < 2 + QUEUE_SIZE - 1; version++) {
+      service.onSeatAvailabilityChanged(delta(version));
+    }
+
+    assertThat(fast.awaitSends(QUEUE_SIZE)).isTrue();
+    assertThat(slow.sends).hasSize(1);
+    assertThat(slow.completed.getCount()).isOne();
+  }
+
+  @Test
+  void aClientThatFallsBehindIsDisconnected() throws Exception {
+    RecordingEmitter slow = subscribe(true);
+    RecordingEmitter fast = subscribe(false);
+
+    for (int version = 2; version < 2 + QUEUE_SIZE * 3; version++) {
+      service.onSeatAvailabilityChanged(delta(version));
+      // a client that keeps up is never dropped
+      assertThat(fast.awaitSends(version)).isTrue();
+    }
+
+    slowClientUnblocked.countDown();
+    assertThat(slow.completed.await(2, TimeUnit.SECONDS)).isTrue();
+    assertThat(meterRegistry.get("availability.stream.slow").counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("availability.stream.subscribers").gauge().value()).isEqualTo(1);
+  }
+
+  private RecordingEmitter subscribe(boolean stalled) {
+    nextEmitter = new RecordingEmitter(stalled);
+    service.subscribe(SHOWTIME_ID);
+    return nextEmitter;
+  }
+
+  private static SeatAvailabilityChangedEvent delta(long version) {
+    return new SeatAvailabilityChangedEvent(SHOWTIME_ID, version, List.of(version), List.of(), List.of());
+  }
+
+  /** Stands in for a client connection; a stalled one blocks on its first send. */
+  private final class RecordingEmitter extends SseEmitter {
+
+    private final boolean stalled;
+    private final List<Set<DataWithMediaType>> sends = new CopyOnWriteArrayList<>();
+    private final CountDownLatch completed = new CountDownLatch(1);
+
+    private RecordingEmitter(boolean stalled) {
+      this.stalled = stalled;
+    }
+
+    @Override
+    public void send(Set<DataWithMediaType> items) throws IOException {
+      sends.add(items);
+      if (stalled) {
+        try {
+          slowClientUnblocked.await();
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+
+    @Override
+    public void complete() {
+      completed.countDown();
+    }
+
+    private boolean awaitSends(int count) throws InterruptedException {
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+      while (sends.size() < count && System.nanoTime() < deadline) {
+        Thread.sleep(5);
+      }
+      return sends.size() >= count;
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package com.mrs.backend.reservation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class HoldExpiryWheelTest {
+
+  private static final long START = 1_000_000;
+
+  private final HoldExpiryWheel wheel = new HoldExpiryWheel(100, 8, START);
+  private final List<String> expired = new ArrayList<>();
+
+  @Test
+  void expiresHoldOnceItsDeadlinePasses() {
+    wheel.schedule(hold("a", START + 250));
+
+    wheel.advance(START + 200, h -> expired.add(h.id()));
+    assertThat(expired).isEmpty();
+
+    wheel.advance(START + 300, h -> expired.add(h.id()));
+    assertThat(expired).containsExactly("a");
+
+    wheel.advance(START + 400, h -> expired.add(h.id()));
+    assertThat(expired).containsExactly("a");
+  }
+
+  @Test
+  void keepsHoldsThatShareABucketButExpireOnALaterLap() {
+    // 8 buckets of 100ms: both deadlines land in the same bucket
+    wheel.schedule(hold("soon", START + 300));
+    wheel.schedule(hold("later", START + 1100));
+
+    wheel.advance(START + 300, h -> expired.add(h.id()));
+    assertThat(expired).containsExactly("soon");
+
+    wheel.advance(START + 1100, h -> expired.add(h.id()));
+    assertThat(expired).containsExactly("soon", "later");
+  }
+
+  @Test
+  void catchesUpAfterAGapLongerThanTheWheel() {
+    wheel.schedule(hold("a", START + 100));
+    wheel.schedule(hold("b", START + 500));
+
+    wheel.advance(START + 10_000, h -> expired.add(h.id()));
+
+    assertThat(expired).containsExactlyInAnyOrder("a", "b");
+  }
+
+  @Test
+  void expiresHoldsScheduledInThePastOnTheNextAdvance() {
+    wheel.advance(START + 500, h -> expired.add(h.id()));
+    wheel.schedule(hold("late", START + 200));
+
+    wheel.advance(START + 600, h -> expired.add(h.id()));
+
+    assertThat(expired).containsExactly("late");
+  }
+
+  @Test
+  void rejectsWheelSizesThatAreNotPowersOfTwo() {
+    assertThatThrownBy(() -> new HoldExpiryWheel(100, 6, START))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static SeatHold hold(String id, long expiresAtMillis) {
+    return new SeatHold(id, 1L, new SeatClaim(null, new int[0], List.of()), Instant.ofEpochMilli(expiresAtMillis));
+  }
+}
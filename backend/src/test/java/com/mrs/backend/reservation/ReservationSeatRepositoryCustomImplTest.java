@@ -0,0 +1,131 @@
+package com.mrs.backend.reservation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+/**
+ * Runs the migrations into a scratch schema of the database given by
+ * SPRING_DATASOURCE_URL, _USERNAME and _PASSWORD (defaults as in
+ * application.yml); skipped when that database is not reachable.
+ */
+class ReservationSeatRepositoryCustomImplTest {
+
+  private static final String SCHEMA = "reservation_seat_test";
+
+  private static SingleConnectionDataSource dataSource;
+  private static JdbcTemplate jdbc;
+
+  private ReservationSeatRepositoryCustomImpl repository;
+  private long userId;
+  private long showtimeId;
+  private long seatId;
+
+  @BeforeAll
+  static void migrate() {
+    String url = env("SPRING_DATASOURCE_URL", "jdbc:postgresql://localhost:5432/moviereservation");
+    String username = env("SPRING_DATASOURCE_USERNAME", "moviereservation");
+    String password = env("SPRING_DATASOURCE_PASSWORD", "moviereservation");
+    dataSource = new SingleConnectionDataSource(url + (url.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA,
+        username, password, true);
+    try (Connection ignored = dataSource.getConnection()) {
+      // reachable
+    } catch (SQLException e) {
+      dataSource.destroy();
+      dataSource = null;
+      Assumptions.abort("No database at " + url + ": " + e.getMessage());
+    }
+    Flyway flyway = Flyway.configure()
+        .dataSource(dataSource)
+        .schemas(SCHEMA)
+        .cleanDisabled(false)
+        .load();
+    flyway.clean();
+    flyway.migrate();
+    jdbc = new JdbcTemplate(dataSource);
+  }
+
+  @AfterAll
+  static void drop() {
+    if (dataSource != null) {
+      jdbc.execute("drop schema if exists " + SCHEMA + " cascade");
+      dataSource.destroy();
+    }
+  }
+
+  @BeforeEach
+  void setUp() {
+    jdbc.execute("truncate app_user, movie, showtime, reservation, reservation_seat cascade");
+    repository = new ReservationSeatRepositoryCustomImpl(jdbc);
+    userId = jdbc.queryForObject("""
+        insert into app_user (name, email, password_hash, role) values ('Ann', 'ann@x.com', 'x', 'USER')
+        returning id
+        """, Long.class);
+    long movieId = jdbc.queryForObject("""
+        insert into movie (title, description, genre_id) select 'Film', 'A film', min(id) from genre
+        returning id
+        """, Long.class);
+    long auditoriumId = jdbc.queryForObject("select min(id) from auditorium", Long.class);
+    seatId = jdbc.queryForObject("select min(id) from seat where auditorium_id = ?", Long.class, auditoriumId);
+    showtimeId = jdbc.queryForObject("""
+        insert into showtime (movie_id, auditorium_id, start_time, end_time, price_cents)
+        values (?, ?, now() + interval '1 day', now() + interval '1 day 2 hours', 900)
+        returning id
+        """, Long.class, movieId, auditoriumId);
+  }
+
+  @Test
+  void aTakenSeatIsReportedAsACollision() {
+    assertThat(repository.insertSeats(reservation(), showtimeId, List.of(seatId))).containsExactly(seatId);
+
+    assertThat(repository.insertSeats(reservation(), showtimeId, List.of(seatId))).isEmpty();
+  }
+
+  @Test
+  void aCancelledSeatCanBeBookedAgain() {
+    long first = reservation();
+    repository.insertSeats(first, showtimeId, List.of(seatId));
+
+    jdbc.update("update reservation set status = 'CANCELLED' where id = ?", first);
+    assertThat(repository.releaseSeats(first)).containsExactly(seatId);
+
+    long second = reservation();
+    assertThat(repository.insertSeats(second, showtimeId, List.of(seatId))).containsExactly(seatId);
+    assertThat(repository.insertSeats(reservation(), showtimeId, List.of(seatId))).isEmpty();
+    // the cancelled reservation keeps its seat on record
+    assertThat(jdbc.queryForList("select seat_id from reservation_seat where reservation_id = ?", Long.class, first))
+        .containsExactly(seatId);
+  }
+
+  @Test
+  void releasingTwiceReportsNothingTheSecondTime() {
+    long reservationId = reservation();
+    repository.insertSeats(reservationId, showtimeId, List.of(seatId));
+
+    assertThat(repository.releaseSeats(reservationId)).containsExactly(seatId);
+    assertThat(repository.releaseSeats(reservationId)).isEmpty();
+  }
+
+  private long reservation() {
+    return jdbc.queryForObject("""
+        insert into reservation (user_id, showtime_id, status, total_amount_cents) values (?, ?, 'CONFIRMED', 900)
+        returning id
+        """, Long.class, userId, showtimeId);
+  }
+
+  private static String env(String name, String fallback) {
+    String value = System.getenv(name);
+    return value == null || value.isBlank() ? fallback : value;
+  }
+}
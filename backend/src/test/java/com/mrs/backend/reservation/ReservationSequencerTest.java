@@ -0,0 +1,265 @@
+package com.mrs.backend.reservation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.mrs.backend.reservation.ReservationSequencer.ReservationTimeoutException;
+import com.mrs.backend.reservation.ReservationSequencer.ReservationUnavailableException;
+import com.mrs.backend.reservation.ReservationService.SeatAlreadyBookedException;
+import com.mrs.backend.reservation.ReservationWriter.PendingReservation;
+import com.mrs.backend.reservation.dto.ReservationResponse;
+import com.mrs.backend.seat.SeatMapCache;
+import com.mrs.backend.seat.SeatMaps;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReservationSequencerTest {
+
+  private static final long SHOWTIME_ID = 7;
+  private static final long SHUTDOWN_TIMEOUT_MS = 300;
+
+  private final SeatMapCache seatMapCache = mock(SeatMapCache.class);
+  private final ReservationSeatRepository reservationSeatRepository = mock(ReservationSeatRepository.class);
+  private final ReservationWriter writer = mock(ReservationWriter.class);
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final CountDownLatch firstWrite = new CountDownLatch(1);
+  private volatile boolean lastWriteInterrupted;
+  private SeatInventory inventory;
+  private ReservationSequencer sequencer;
+
+  @BeforeEach
+  void setUp() {
+    when(seatMapCache.auditoriumOf(SHOWTIME_ID)).thenReturn(1L);
+    when(seatMapCache.forAuditorium(1L)).thenReturn(SeatMaps.grid(1, 2, 5));
+    when(reservationSeatRepository.findBookedSeatIds(SHOWTIME_ID)).thenReturn(List.of());
+    when(reservationSeatRepository.findBookedSeats(anyCollection())).thenReturn(List.of());
+    inventory = new SeatInventory(seatMapCache, reservationSeatRepository, mock(ApplicationEventPublisher.class),
+        meterRegistry, 900, 16);
+  }
+
+  @AfterEach
+  void tearDown() {
+    firstWrite.countDown();
+    sequencer.shutdown();
+  }
+
+  @Test
+  void writesQueuedCommandsAsOneBatch() throws Exception {
+    sequencer = newSequencer(10_000);
+    blockFirstWrite();
+    when(writer.writeAll(eq(SHOWTIME_ID), anyList())).thenAnswer(inv -> {
+      List<PendingReservation> pending = inv.getArgument(1);
+      return pending.stream().map(p -> response(p.seatIds())).toList();
+    });
+
+    CompletableFuture<ReservationResponse> first = submitAsync(1L);
+    awaitQueueDepth(0);
+    List<CompletableFuture<ReservationResponse>> batch = List.of(submitAsync(2L), submitAsync(3L), submitAsync(4L));
+    awaitQueueDepth(3);
+    firstWrite.countDown();
+
+    assertThat(first.get(5, TimeUnit.SECONDS).seatIds()).containsExactly(1L);
+    for (int i = 0; i < batch.size(); i++) {
+      assertThat(batch.get(i).get(5, TimeUnit.SECONDS).seatIds()).containsExactly(i + 2L);
+    }
+    verify(writer, never()).write(anyLong(), eq(SHOWTIME_ID), eq(List.of(2L)));
+    assertThat(inventory.availability(SHOWTIME_ID).bookedSeatIds()).containsExactly(1L, 2L, 3L, 4L);
+  }
+
+  @Test
+  void fallsBackToOneWritePerCommandWhenTheBatchFails() throws Exception {
+    sequencer = newSequencer(10_000);
+    blockFirstWrite();
+    when(writer.writeAll(eq(SHOWTIME_ID), anyList())).thenThrow(new SeatAlreadyBookedException("taken", List.of(3L)));
+    when(writer.write(anyLong(), eq(SHOWTIME_ID), eq(List.of(2L)))).thenReturn(response(List.of(2L)));
+    when(writer.write(anyLong(), eq(SHOWTIME_ID), eq(List.of(3L))))
+        .thenThrow(new SeatAlreadyBookedException("taken", List.of(3L)));
+    when(writer.write(anyLong(), eq(SHOWTIME_ID), eq(List.of(4L)))).thenReturn(response(List.of(4L)));
+    // the conflict triggers a refresh, which finds seat 3 booked by someone else
+    when(reservationSeatRepository.findBookedSeats(anyCollection())).thenReturn(List.of(
+        new BookedSeat(SHOWTIME_ID, 1L), new BookedSeat(SHOWTIME_ID, 2L), new BookedSeat(SHOWTIME_ID, 3L)));
+
+    CompletableFuture<ReservationResponse> first = submitAsync(1L);
+    awaitQueueDepth(0);
+    CompletableFuture<ReservationResponse> ok1 = submitAsync(2L);
+    CompletableFuture<ReservationResponse> failed = submitAsync(3L);
+    CompletableFuture<ReservationResponse> ok2 = submitAsync(4L);
+    awaitQueueDepth(3);
+    firstWrite.countDown();
+
+    first.get(5, TimeUnit.SECONDS);
+    assertThat(ok1.get(5, TimeUnit.SECONDS).seatIds()).containsExactly(2L);
+    assertThat(ok2.get(5, TimeUnit.SECONDS).seatIds()).containsExactly(4L);
+    assertThat(failed).failsWithin(5, TimeUnit.SECONDS)
+        .withThrowableOfType(Exception.class)
+        .withRootCauseInstanceOf(SeatAlreadyBookedException.class);
+    assertThat(inventory.availability(SHOWTIME_ID).bookedSeatIds()).containsExactly(1L, 2L, 3L, 4L);
+    assertThat(inventory.availability(SHOWTIME_ID).heldSeatIds()).isEmpty();
+  }
+
+  @Test
+  void timedOutCommandIsRejectedAndNeverWritten() throws Exception {
+    sequencer = newSequencer(50);
+    blockFirstWrite();
+
+    CompletableFuture<ReservationResponse> first = submitAsync(1L);
+    awaitQueueDepth(0);
+    SeatClaim claim = inventory.claim(SHOWTIME_ID, List.of(2L));
+
+    assertThatThrownBy(() -> sequencer.submit(1L, claim)).isInstanceOf(ReservationTimeoutException.class);
+    assertThat(first).failsWithin(5, TimeUnit.SECONDS)
+        .withThrowableOfType(Exception.class)
+        .withRootCauseInstanceOf(ReservationTimeoutException.class);
+    firstWrite.countDown();
+
+    // the first command was already being written when its caller gave up, so it still lands;
+    // the queued one is dropped before it reaches the database
+    awaitBooked(1L);
+    verify(writer, never()).write(anyLong(), eq(SHOWTIME_ID), eq(List.of(2L)));
+    assertThat(meterRegistry.counter("reservation.sequencer.timeouts").count()).isEqualTo(2);
+    assertThat(inventory.availability(SHOWTIME_ID).heldSeatIds()).isEmpty();
+  }
+
+  @Test
+  void shutdownLetsTheCurrentWriteFinishAndFailsQueuedCommands() throws Exception {
+    sequencer = newSequencer(10_000);
+    blockFirstWrite();
+
+    CompletableFuture<ReservationResponse> first = submitAsync(1L);
+    awaitQueueDepth(0);
+    CompletableFuture<ReservationResponse> queued = submitAsync(2L);
+    awaitQueueDepth(1);
+
+    CompletableFuture<Void> stopped = CompletableFuture.runAsync(sequencer::shutdown, r -> Thread.ofVirtual().start(r));
+    Thread.sleep(50);
+    assertThatThrownBy(() -> sequencer.submit(1L, inventory.claim(SHOWTIME_ID, List.of(5L))))
+        .isInstanceOf(ReservationUnavailableException.class);
+    assertThat(first).isNotDone();
+    assertThat(stopped).isNotDone();
+    firstWrite.countDown();
+
+    stopped.get(5, TimeUnit.SECONDS);
+    assertThat(first.get(5, TimeUnit.SECONDS).seatIds()).containsExactly(1L);
+    assertThat(queued).failsWithin(5, TimeUnit.SECONDS)
+        .withThrowableOfType(Exception.class)
+        .withRootCauseInstanceOf(ReservationUnavailableException.class);
+    assertThat(lastWriteInterrupted).isFalse();
+    assertThat(inventory.availability(SHOWTIME_ID).bookedSeatIds()).containsExactly(1L);
+    assertThat(inventory.availability(SHOWTIME_ID).heldSeatIds()).isEmpty();
+    verify(writer, never()).write(anyLong(), eq(SHOWTIME_ID), eq(List.of(2L)));
+  }
+
+  @Test
+  void shutdownStopsWaitingForAStuckWriteAfterTheTimeout() throws Exception {
+    sequencer = newSequencer(10_000);
+    blockFirstWrite();
+
+    CompletableFuture<ReservationResponse> first = submitAsync(1L);
+    awaitQueueDepth(0);
+    CompletableFuture<ReservationResponse> queued = submitAsync(2L);
+    awaitQueueDepth(1);
+
+    long started = System.nanoTime();
+    sequencer.shutdown();
+
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isBetween(SHUTDOWN_TIMEOUT_MS, 2_000L);
+    assertThat(queued).failsWithin(1, TimeUnit.SECONDS)
+        .withThrowableOfType(Exception.class)
+        .withRootCauseInstanceOf(ReservationUnavailableException.class);
+    assertThat(first).isNotDone();
+
+    firstWrite.countDown();
+    assertThat(first.get(5, TimeUnit.SECONDS).seatIds()).containsExactly(1L);
+    assertThat(lastWriteInterrupted).isFalse();
+  }
+
+  @Test
+  void shutdownWakesIdleLanes() throws Exception {
+    sequencer = newSequencer(10_000);
+    when(writer.write(anyLong(), eq(SHOWTIME_ID), anyCollection()))
+        .thenAnswer(inv -> response(inv.getArgument(2)));
+    submitAsync(1L).get(5, TimeUnit.SECONDS);
+
+    long started = System.nanoTime();
+    sequencer.shutdown();
+
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(SHUTDOWN_TIMEOUT_MS);
+    assertThat(meterRegistry.get("reservation.sequencer.lanes").gauge().value()).isZero();
+  }
+
+  private ReservationSequencer newSequencer(long submitTimeoutMillis) {
+    return new ReservationSequencer(writer, inventory, meterRegistry, true, 16, 8, 30_000, submitTimeoutMillis,
+        SHUTDOWN_TIMEOUT_MS);
+  }
+
+  /** The first single write waits for the latch, so later commands pile up behind it. */
+  private void blockFirstWrite() {
+    when(writer.write(anyLong(), eq(SHOWTIME_ID), eq(List.of(1L)))).thenAnswer(inv -> {
+      boolean interrupted = false;
+      while (true) {
+        try {
+          firstWrite.await();
+          break;
+        } catch (InterruptedException ex) {
+          interrupted = true;
+        }
+      }
+      lastWriteInterrupted = interrupted;
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+      return response(List.of(1L));
+    });
+  }
+
+  private CompletableFuture<ReservationResponse> submitAsync(long seatId) {
+    SeatClaim claim = inventory.claim(SHOWTIME_ID, List.of(seatId));
+    return CompletableFuture.supplyAsync(() -> sequencer.submit(1L, claim),
+        r -> Thread.ofVirtual().start(r));
+  }
+
+  private void awaitQueueDepth(int depth) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (meterRegistry.get("reservation.sequencer.queue.depth").gauge().value() != depth) {
+      assertThat(System.nanoTime()).isLessThan(deadline);
+      Thread.sleep(1);
+    }
+    // give the lane a moment to pick up what it dequeued
+    Thread.sleep(20);
+  }
+
+  private void awaitBooked(long seatId) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!inventory.availability(SHOWTIME_ID).bookedSeatIds().contains(seatId)) {
+      assertThat(System.nanoTime()).isLessThan(deadline);
+      Thread.sleep(1);
+    }
+    Thread.sleep(20);
+  }
+
+  private static ReservationResponse response(Collection<Long> seatIds) {
+    return new ReservationResponse(1L, SHOWTIME_ID, "Movie", "Auditorium 1", null, null, "CONFIRMED", 0, null,
+        new ArrayList<>(seatIds), List.of());
+  }
+}
@@ -0,0 +1,99 @@
+package com.mrs.backend.reservation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.mrs.backend.reservation.ReservationService.SeatAlreadyBookedException;
+import com.mrs.backend.reservation.dto.AutoReserveRequest;
+import com.mrs.backend.reservation.dto.ReservationResponse;
+import com.mrs.backend.security.AuthUser;
+import com.mrs.backend.security.CurrentUserService;
+import com.mrs.backend.seat.SeatMapCache;
+import com.mrs.backend.seat.SeatMaps;
+import com.mrs.backend.user.UserRole;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReservationServiceTest {
+
+  private static final long SHOWTIME_ID = 7;
+  private static final long USER_ID = 2;
+
+  private final SeatMapCache seatMapCache = mock(SeatMapCache.class);
+  private final ReservationSeatRepository reservationSeatRepository = mock(ReservationSeatRepository.class);
+  private final CurrentUserService currentUserService = mock(CurrentUserService.class);
+  private final ReservationWriter reservationWriter = mock(ReservationWriter.class);
+  private final ReservationSequencer reservationSequencer = mock(ReservationSequencer.class);
+  private final List<Collection<Long>> written = new ArrayList<>();
+  private SeatInventory inventory;
+  private ReservationService service;
+
+  @BeforeEach
+  void setUp() {
+    when(seatMapCache.auditoriumOf(SHOWTIME_ID)).thenReturn(1L);
+    when(seatMapCache.forAuditorium(1L)).thenReturn(SeatMaps.grid(1, 1, 6));
+    // the in-memory view never learns about the database's bookings
+    when(reservationSeatRepository.findBookedSeatIds(SHOWTIME_ID)).thenReturn(List.of());
+    when(reservationSeatRepository.findBookedSeats(anyCollection())).thenReturn(List.of());
+    when(currentUserService.getCurrentUser())
+        .thenReturn(Optional.of(new AuthUser(USER_ID, "ann@x.com", "Ann", UserRole.USER, 0)));
+    inventory = new SeatInventory(seatMapCache, reservationSeatRepository, mock(ApplicationEventPublisher.class),
+        new SimpleMeterRegistry(), 900, 16);
+    service = new ReservationService(mock(ReservationRepository.class), currentUserService, inventory,
+        reservationWriter, reservationSequencer);
+  }
+
+  @Test
+  void autoReserveRetriesAroundSeatsTheDatabaseHolds() {
+    bookedInDatabase(Set.of(3L, 4L));
+
+    service.reserveBest(SHOWTIME_ID, new AutoReserveRequest(2, null));
+
+    assertThat(written).hasSizeGreaterThan(1);
+    assertThat(written.get(written.size() - 1)).doesNotContain(3L, 4L);
+    assertThat(inventory.availability(SHOWTIME_ID).bookedSeatIds())
+        .containsExactlyInAnyOrderElementsOf(written.get(written.size() - 1));
+    assertThat(inventory.availability(SHOWTIME_ID).heldSeatIds()).isEmpty();
+  }
+
+  @Test
+  void autoReserveGivesUpAfterThreeAttempts() {
+    bookedInDatabase(Set.of(1L, 2L, 3L, 4L, 5L, 6L));
+
+    assertThatThrownBy(() -> service.reserveBest(SHOWTIME_ID, new AutoReserveRequest(1, null)))
+        .isInstanceOf(SeatAlreadyBookedException.class);
+
+    verify(reservationWriter, times(3)).write(eq(USER_ID), eq(SHOWTIME_ID), anyCollection());
+    assertThat(written).extracting(seats -> seats.iterator().next()).doesNotHaveDuplicates();
+    assertThat(inventory.availability(SHOWTIME_ID).heldSeatIds()).isEmpty();
+  }
+
+  private void bookedInDatabase(Set<Long> booked) {
+    when(reservationWriter.write(anyLong(), anyLong(), anyCollection())).thenAnswer(inv -> {
+      Collection<Long> seatIds = List.copyOf(inv.getArgument(2));
+      written.add(seatIds);
+      List<Long> collided = seatIds.stream().filter(booked::contains).toList();
+      if (!collided.isEmpty()) {
+        throw new SeatAlreadyBookedException("One or more selected seats are already booked", collided);
+      }
+      return mock(ReservationResponse.class);
+    });
+  }
+}
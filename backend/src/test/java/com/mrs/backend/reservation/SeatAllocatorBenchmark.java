@@ -0,0 +1,65 @@
+package com.mrs.backend.reservation;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mrs.backend.seat.SeatMaps;
+
+/**
+ * Best-available allocation for a small room (3 x 10) and a 5,000-seat venue
+ * (50 x 100, aisle in every row), both about 60% sold with random gaps.
+ * Target: microseconds for the small room, below one millisecond for the venue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeatAllocatorBenchmark {
+
+  @Param({"30", "5000"})
+  int seats;
+
+  @Param({"2", "6"})
+  int partySize;
+
+  private SeatLayout layout;
+  private BitSet taken;
+  private int[] rows;
+
+  @Setup
+  public void setUp() {
+    int rowCount = seats == 30 ? 3 : 50;
+    int perRow = seats / rowCount;
+    layout = SeatLayout.of(SeatMaps.withAisle(1, rowCount, perRow, perRow / 2));
+    rows = IntStream.range(0, rowCount).toArray();
+
+    Random random = new Random(42);
+    taken = new BitSet(seats);
+    for (int pos = 0; pos < seats; pos++) {
+      if (random.nextDouble() < 0.6) {
+        taken.set(pos);
+      }
+    }
+  }
+
+  @Benchmark
+  public int bestBlock() {
+    return SeatAllocator.bestBlock(layout, taken, partySize, rows);
+  }
+}
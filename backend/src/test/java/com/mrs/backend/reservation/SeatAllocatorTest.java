@@ -0,0 +1,140 @@
+package com.mrs.backend.reservation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.BitSet;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.mrs.backend.seat.SeatMaps;
+
+class SeatAllocatorTest {
+
+  // 5 rows x 10 seats: row r covers positions r*10 .. r*10+9
+  private final SeatLayout layout = SeatLayout.of(SeatMaps.grid(1, 5, 10));
+  private final int[] allRows = IntStream.range(0, 5).toArray();
+
+  @Test
+  void emptyRoomGetsTheCentreOfTheMiddleRow() {
+    int start = SeatAllocator.bestBlock(layout, new BitSet(), 4, allRows);
+
+    assertThat(start).isEqualTo(23);
+  }
+
+  @Test
+  void slidesTheBlockAroundTakenSeats() {
+    BitSet taken = new BitSet();
+    taken.set(24);
+
+    int start = SeatAllocator.bestBlock(layout, taken, 2, allRows);
+
+    // 25-26 is one seat off-centre, which still beats a centred pair one row away
+    assertThat(start).isEqualTo(25);
+  }
+
+  @Test
+  void prefersACentredBlockInTheNextRowOverAFarOffCentreOne() {
+    BitSet taken = new BitSet();
+    taken.set(24);
+
+    int start = SeatAllocator.bestBlock(layout, taken, 4, allRows);
+
+    // the best block in the middle row is 3 seats off-centre, a row costs 2
+    assertThat(start).isIn(13, 33);
+  }
+
+  @Test
+  void movesToANeighbouringRowWhenTheMiddleRowIsFull() {
+    BitSet taken = new BitSet();
+    taken.set(20, 30);
+
+    int start = SeatAllocator.bestBlock(layout, taken, 4, allRows);
+
+    assertThat(start).isIn(13, 33);
+  }
+
+  @Test
+  void neverSpansAnAisle() {
+    // seats 1-5 | aisle | 6-10 in every row
+    SeatLayout aisled = SeatLayout.of(SeatMaps.withAisle(1, 1, 10, 5));
+    BitSet taken = new BitSet();
+    taken.set(0, 2);
+    taken.set(8, 10);
+
+    assertThat(SeatAllocator.bestBlock(aisled, taken, 4, new int[] {0})).isEqualTo(-1);
+    assertThat(SeatAllocator.bestBlock(aisled, taken, 3, new int[] {0})).isIn(2, 5);
+  }
+
+  @Test
+  void onlySearchesThePreferredRows() {
+    int start = SeatAllocator.bestBlock(layout, new BitSet(), 2, new int[] {0});
+
+    assertThat(start).isBetween(0, 8);
+  }
+
+  @Test
+  void returnsMinusOneWhenNothingFits() {
+    BitSet taken = new BitSet();
+    for (int pos = 0; pos < 50; pos += 3) {
+      taken.set(pos);
+    }
+
+    assertThat(SeatAllocator.bestBlock(layout, taken, 3, allRows)).isEqualTo(-1);
+    assertThat(SeatAllocator.bestBlock(layout, new BitSet(), 11, allRows)).isEqualTo(-1);
+  }
+
+  @Test
+  void agreesWithABruteForceSearch() {
+    java.util.Random random = new java.util.Random(7);
+    SeatLayout aisled = SeatLayout.of(SeatMaps.withAisle(1, 9, 24, 12));
+    int[] rows = IntStream.range(0, 9).toArray();
+
+    for (int round = 0; round < 500; round++) {
+      BitSet taken = new BitSet();
+      for (int pos = 0; pos < 9 * 24; pos++) {
+        if (random.nextDouble() < 0.6) {
+          taken.set(pos);
+        }
+      }
+      int partySize = 1 + random.nextInt(6);
+
+      int start = SeatAllocator.bestBlock(aisled, taken, partySize, rows);
+
+      double expected = bruteForceBestScore(aisled, taken, partySize, rows);
+      if (Double.isNaN(expected)) {
+        assertThat(start).isEqualTo(-1);
+      } else {
+        assertThat(start).isNotNegative();
+        assertThat(taken.get(start, start + partySize).isEmpty()).isTrue();
+        assertThat(aisled.blockEnd(start, start + partySize)).isEqualTo(start + partySize);
+        assertThat(score(aisled, start, partySize)).isEqualTo(expected);
+      }
+    }
+  }
+
+  private static double bruteForceBestScore(SeatLayout layout, BitSet taken, int partySize, int[] rows) {
+    double best = Double.NaN;
+    for (int row : rows) {
+      for (int start = layout.rowStart(row); start + partySize <= layout.rowEnd(row); start++) {
+        if (taken.get(start, start + partySize).isEmpty()
+            && layout.blockEnd(start, start + partySize) == start + partySize) {
+          double score = score(layout, start, partySize);
+          if (Double.isNaN(best) || score < best) {
+            best = score;
+          }
+        }
+      }
+    }
+    return best;
+  }
+
+  private static double score(SeatLayout layout, int start, int partySize) {
+    int row = 0;
+    while (layout.rowEnd(row) <= start) {
+      row++;
+    }
+    double rowCentre = (layout.rowStart(row) + layout.rowEnd(row) - 1) / 2.0;
+    return Math.abs(row - (layout.rowCount() - 1) / 2.0) * 2.0 + Math.abs(start + (partySize - 1) / 2.0 - rowCentre);
+  }
+}
@@ -0,0 +1,127 @@
+package com.mrs.backend.reservation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.mrs.backend.reservation.ReservationService.SeatAlreadyBookedException;
+import com.mrs.backend.reservation.dto.HoldSeatsRequest;
+import com.mrs.backend.reservation.dto.SeatHoldResponse;
+import com.mrs.backend.security.AuthUser;
+import com.mrs.backend.security.CurrentUserService;
+import com.mrs.backend.seat.SeatMapCache;
+import com.mrs.backend.seat.SeatMaps;
+import com.mrs.backend.user.UserRole;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SeatHoldServiceTest {
+
+  private static final long SHOWTIME_ID = 7;
+
+  private final SeatMapCache seatMapCache = mock(SeatMapCache.class);
+  private final ReservationSeatRepository reservationSeatRepository = mock(ReservationSeatRepository.class);
+  private final ReservationService reservationService = mock(ReservationService.class);
+  private final CurrentUserService currentUserService = mock(CurrentUserService.class);
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private SeatInventory inventory;
+
+  @BeforeEach
+  void setUp() {
+    when(seatMapCache.auditoriumOf(SHOWTIME_ID)).thenReturn(1L);
+    when(seatMapCache.forAuditorium(1L)).thenReturn(SeatMaps.grid(1, 2, 5));
+    when(reservationSeatRepository.findBookedSeatIds(SHOWTIME_ID)).thenReturn(List.of());
+    when(currentUserService.getCurrentUser())
+        .thenReturn(Optional.of(new AuthUser(1L, "ann@x.com", "Ann", UserRole.USER, 0)));
+    inventory = new SeatInventory(seatMapCache, reservationSeatRepository, mock(ApplicationEventPublisher.class),
+        meterRegistry, 900, 16);
+  }
+
+  @Test
+  void holdKeepsSeatsPendingUntilReleased() {
+    SeatHoldService holds = newService(180);
+
+    SeatHoldResponse hold = holds.hold(SHOWTIME_ID, new HoldSeatsRequest(List.of(1L, 2L)));
+    assertThat(inventory.availability(SHOWTIME_ID).heldSeatIds()).containsExactly(1L, 2L);
+
+    holds.release(hold.id());
+    assertThat(inventory.availability(SHOWTIME_ID).heldSeatIds()).isEmpty();
+  }
+
+  @Test
+  void newHoldReplacesTheUsersPreviousHold() {
+    SeatHoldService holds = newService(180);
+
+    holds.hold(SHOWTIME_ID, new HoldSeatsRequest(List.of(1L, 2L)));
+    holds.hold(SHOWTIME_ID, new HoldSeatsRequest(List.of(2L, 3L)));
+
+    assertThat(inventory.availability(SHOWTIME_ID).heldSeatIds()).containsExactly(2L, 3L);
+  }
+
+  @Test
+  void aConflictingNewHoldKeepsThePreviousOne() {
+    SeatHoldService holds = newService(180);
+    SeatHoldResponse first = holds.hold(SHOWTIME_ID, new HoldSeatsRequest(List.of(1L, 2L)));
+    inventory.claim(SHOWTIME_ID, List.of(4L));
+
+    assertThatThrownBy(() -> holds.hold(SHOWTIME_ID, new HoldSeatsRequest(List.of(2L, 4L))))
+        .isInstanceOfSatisfying(SeatAlreadyBookedException.class,
+            e -> assertThat(e.getSeatIds()).containsExactly(4L));
+
+    assertThat(inventory.availability(SHOWTIME_ID).heldSeatIds()).containsExactly(1L, 2L, 4L);
+    holds.release(first.id());
+    assertThat(inventory.availability(SHOWTIME_ID).heldSeatIds()).containsExactly(4L);
+  }
+
+  @Test
+  void expiredHoldsFreeTheirSeatsAndCannotBeConfirmed() throws InterruptedException {
+    SeatHoldService holds = newService(0);
+
+    SeatHoldResponse hold = holds.hold(SHOWTIME_ID, new HoldSeatsRequest(List.of(4L)));
+    Thread.sleep(5);
+    holds.expireHolds();
+
+    assertThat(inventory.availability(SHOWTIME_ID).heldSeatIds()).isEmpty();
+    assertThat(meterRegistry.counter("seat.holds.expired").count()).isEqualTo(1);
+    assertThatThrownBy(() -> holds.confirm(hold.id()))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Hold not found or expired");
+    verifyNoInteractions(reservationService);
+  }
+
+  @Test
+  void holdSurvivesShowtimeInvalidationAndStillExpires() throws InterruptedException {
+    SeatHoldService holds = newService(0);
+
+    holds.hold(SHOWTIME_ID, new HoldSeatsRequest(List.of(4L)));
+    inventory.invalidate(SHOWTIME_ID);
+    assertThat(inventory.availability(SHOWTIME_ID).heldSeatIds()).containsExactly(4L);
+
+    Thread.sleep(5);
+    holds.expireHolds();
+    assertThat(inventory.availability(SHOWTIME_ID).heldSeatIds()).isEmpty();
+  }
+
+  @Test
+  void rejectsHoldsAboveTheSeatLimit() {
+    SeatHoldService holds = newService(180);
+
+    assertThatThrownBy(() -> holds.hold(SHOWTIME_ID, new HoldSeatsRequest(List.of(1L, 2L, 3L, 4L))))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private SeatHoldService newService(long ttlSeconds) {
+    return new SeatHoldService(inventory, reservationService, currentUserService, meterRegistry,
+        ttlSeconds, 3, 1);
+  }
+}
@@ -0,0 +1,147 @@
+package com.mrs.backend.reservation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.mrs.backend.reservation.ReservationService.SeatAlreadyBookedException;
+import com.mrs.backend.seat.SeatMapCache;
+import com.mrs.backend.seat.SeatMaps;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SeatInventoryTest {
+
+  private static final long SHOWTIME_ID = 7;
+
+  private final SeatMapCache seatMapCache = mock(SeatMapCache.class);
+  private final ReservationSeatRepository reservationSeatRepository = mock(ReservationSeatRepository.class);
+  private SeatInventory inventory;
+
+  @BeforeEach
+  void setUp() {
+    when(seatMapCache.auditoriumOf(SHOWTIME_ID)).thenReturn(1L);
+    when(seatMapCache.forAuditorium(1L)).thenReturn(SeatMaps.grid(1, 2, 5));
+    when(reservationSeatRepository.findBookedSeatIds(SHOWTIME_ID)).thenReturn(List.of(3L));
+    inventory = newInventory(900);
+  }
+
+  @Test
+  void loadsShowtimeOnceAndServesFromMemory() {
+    inventory.availability(SHOWTIME_ID);
+    inventory.availability(SHOWTIME_ID);
+
+    verify(reservationSeatRepository, times(1)).findBookedSeatIds(SHOWTIME_ID);
+  }
+
+  @Test
+  void claimCommitAndAbort() {
+    SeatClaim committed = inventory.claim(SHOWTIME_ID, List.of(1L, 2L));
+    SeatClaim aborted = inventory.claim(SHOWTIME_ID, List.of(4L));
+
+    inventory.commit(committed);
+    inventory.abort(aborted);
+
+    assertThat(committed.seatIds()).containsExactly(1L, 2L);
+    assertThat(inventory.availability(SHOWTIME_ID).bookedSeatIds()).containsExactly(1L, 2L, 3L);
+    assertThat(inventory.availability(SHOWTIME_ID).heldSeatIds()).isEmpty();
+  }
+
+  @Test
+  void claimOfTakenSeatsReportsConflicts() {
+    inventory.claim(SHOWTIME_ID, List.of(1L));
+
+    assertThatThrownBy(() -> inventory.claim(SHOWTIME_ID, List.of(1L, 2L, 3L)))
+        .isInstanceOfSatisfying(SeatAlreadyBookedException.class,
+            e -> assertThat(e.getSeatIds()).containsExactly(1L, 3L));
+  }
+
+  @Test
+  void claimOfForeignSeatIsRejected() {
+    assertThatThrownBy(() -> inventory.claim(SHOWTIME_ID, List.of(42L)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void releaseFreesBookedSeats() {
+    inventory.availability(SHOWTIME_ID);
+
+    inventory.release(SHOWTIME_ID, List.of(3L));
+
+    assertThat(inventory.availability(SHOWTIME_ID).bookedSeatIds()).isEmpty();
+  }
+
+  @Test
+  void reconcileCorrectsDriftFromTheDatabase() {
+    inventory.availability(SHOWTIME_ID);
+    when(reservationSeatRepository.findBookedSeats(anyCollection()))
+        .thenReturn(List.of(new BookedSeat(SHOWTIME_ID, 5L)));
+
+    inventory.reconcile();
+
+    assertThat(inventory.availability(SHOWTIME_ID).bookedSeatIds()).containsExactly(5L);
+  }
+
+  @Test
+  void invalidationCarriesPendingSeatsIntoTheRebuiltEntry() {
+    SeatClaim claim = inventory.claim(SHOWTIME_ID, List.of(1L, 2L));
+
+    inventory.invalidate(SHOWTIME_ID);
+
+    assertThat(inventory.availability(SHOWTIME_ID).heldSeatIds()).containsExactly(1L, 2L);
+    assertThatThrownBy(() -> inventory.claim(SHOWTIME_ID, List.of(2L)))
+        .isInstanceOf(SeatAlreadyBookedException.class);
+
+    inventory.commit(claim);
+    assertThat(inventory.availability(SHOWTIME_ID).bookedSeatIds()).containsExactly(1L, 2L, 3L);
+    assertThat(inventory.availability(SHOWTIME_ID).heldSeatIds()).isEmpty();
+  }
+
+  @Test
+  void claimSettledBeforeReloadIsNotCarried() {
+    SeatClaim claim = inventory.claim(SHOWTIME_ID, List.of(1L));
+    inventory.invalidate(SHOWTIME_ID);
+
+    inventory.abort(claim);
+
+    assertThat(inventory.availability(SHOWTIME_ID).heldSeatIds()).isEmpty();
+  }
+
+  @Test
+  void idleEvictionKeepsEntriesWithPendingSeats() {
+    SeatInventory evicting = newInventory(0);
+    when(reservationSeatRepository.findBookedSeats(anyCollection())).thenReturn(List.of());
+    evicting.claim(SHOWTIME_ID, List.of(1L));
+
+    evicting.reconcile();
+
+    assertThat(evicting.availability(SHOWTIME_ID).heldSeatIds()).containsExactly(1L);
+    verify(reservationSeatRepository, times(1)).findBookedSeatIds(SHOWTIME_ID);
+  }
+
+  @Test
+  void idleEvictionDropsEntriesWithoutPendingSeats() {
+    SeatInventory evicting = newInventory(0);
+    evicting.availability(SHOWTIME_ID);
+
+    evicting.reconcile();
+    evicting.availability(SHOWTIME_ID);
+
+    verify(reservationSeatRepository, times(2)).findBookedSeatIds(SHOWTIME_ID);
+  }
+
+  private SeatInventory newInventory(long idleEvictionSeconds) {
+    return new SeatInventory(seatMapCache, reservationSeatRepository, mock(ApplicationEventPublisher.class),
+        new SimpleMeterRegistry(), idleEvictionSeconds, 16);
+  }
+}
@@ -0,0 +1,243 @@
+package com.mrs.backend.reservation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mrs.backend.reservation.dto.ShowtimeSeatAvailabilityResponse;
+import com.mrs.backend.seat.SeatMaps;
+
+class ShowtimeSeatsTest {
+
+  private final AtomicLong versions = new AtomicLong(100);
+  private final List<SeatAvailabilityChangedEvent> events = new ArrayList<>();
+  private ShowtimeSeats seats;
+
+  @BeforeEach
+  void setUp() {
+    // 2 rows x 5 seats, seat ids 1..10; seat 3 is already booked
+    seats = new ShowtimeSeats(7, 1, SeatLayout.of(SeatMaps.grid(1, 2, 5)), List.of(3L),
+        versions::incrementAndGet, 16, events::add);
+  }
+
+  @Test
+  void loadsBookedSeatsFromDatabaseRead() {
+    ShowtimeSeatAvailabilityResponse availability = seats.availability();
+
+    assertThat(availability.bookedSeatIds()).containsExactly(3L);
+    assertThat(availability.heldSeatIds()).isEmpty();
+    assertThat(availability.version()).isEqualTo(101);
+  }
+
+  @Test
+  void claimMarksSeatsPending() {
+    List<Long> conflicts = seats.claim(positions(1, 2));
+
+    assertThat(conflicts).isEmpty();
+    assertThat(seats.availability().heldSeatIds()).containsExactly(1L, 2L);
+    assertThat(events).singleElement()
+        .satisfies(e -> assertThat(e.heldSeatIds()).containsExactly(1L, 2L));
+  }
+
+  @Test
+  void claimRejectsBookedAndPendingSeatsWithoutPartialClaim() {
+    seats.claim(positions(1));
+
+    List<Long> conflicts = seats.claim(positions(1, 2, 3));
+
+    assertThat(conflicts).containsExactly(1L, 3L);
+    assertThat(seats.availability().heldSeatIds()).containsExactly(1L);
+  }
+
+  @Test
+  void commitMovesPendingSeatsToBooked() {
+    int[] claim = positions(4, 5);
+    seats.claim(claim);
+
+    seats.commit(claim);
+
+    ShowtimeSeatAvailabilityResponse availability = seats.availability();
+    assertThat(availability.bookedSeatIds()).containsExactly(3L, 4L, 5L);
+    assertThat(availability.heldSeatIds()).isEmpty();
+    assertThat(events.get(1).bookedSeatIds()).containsExactly(4L, 5L);
+  }
+
+  @Test
+  void abortFreesPendingSeats() {
+    int[] claim = positions(4, 5);
+    seats.claim(claim);
+
+    seats.abort(claim);
+
+    assertThat(seats.availability().heldSeatIds()).isEmpty();
+    assertThat(seats.claim(claim)).isEmpty();
+  }
+
+  @Test
+  void everyChangeAdvancesTheVersion() {
+    long initial = seats.version();
+    int[] claim = positions(6);
+
+    seats.claim(claim);
+    long claimed = seats.version();
+    seats.commit(claim);
+
+    assertThat(claimed).isGreaterThan(initial);
+    assertThat(seats.version()).isGreaterThan(claimed);
+  }
+
+  @Test
+  void reconcileReplacesBookedSeatsAndReportsCorrections() {
+    int corrected = seats.reconcile(List.of(8L, 9L), seats.version());
+
+    assertThat(corrected).isEqualTo(3);
+    assertThat(seats.availability().bookedSeatIds()).containsExactly(8L, 9L);
+    assertThat(events).singleElement().satisfies(e -> {
+      assertThat(e.bookedSeatIds()).containsExactly(8L, 9L);
+      assertThat(e.releasedSeatIds()).containsExactly(3L);
+    });
+  }
+
+  @Test
+  void reconcileKeepsPendingSeats() {
+    seats.claim(positions(1));
+
+    seats.reconcile(List.of(3L), seats.version());
+
+    assertThat(seats.availability().heldSeatIds()).containsExactly(1L);
+  }
+
+  @Test
+  void reconcileIsSkippedWhenStateChangedAfterTheRead() {
+    long readVersion = seats.version();
+    int[] claim = positions(2);
+    seats.claim(claim);
+    seats.commit(claim);
+
+    // the read started before seat 2 was committed, so it must not undo it
+    int corrected = seats.reconcile(List.of(3L), readVersion);
+
+    assertThat(corrected).isEqualTo(-1);
+    assertThat(seats.availability().bookedSeatIds()).containsExactly(2L, 3L);
+  }
+
+  @Test
+  void reconcileWithoutDifferencesRecordsNothing() {
+    long version = seats.version();
+
+    assertThat(seats.reconcile(List.of(3L), version)).isZero();
+    assertThat(seats.version()).isEqualTo(version);
+    assertThat(events).isEmpty();
+  }
+
+  @Test
+  void availabilitySinceReturnsTheCurrentStateOfChangedSeats() {
+    long since = seats.version();
+    int[] booked = positions(1, 2);
+    seats.claim(booked);
+    seats.commit(booked);
+    seats.claim(positions(5));
+    int[] released = positions(6);
+    seats.claim(released);
+    seats.abort(released);
+
+    ShowtimeSeatAvailabilityResponse changes = seats.availabilitySince(since);
+
+    assertThat(changes.sinceVersion()).isEqualTo(since);
+    assertThat(changes.version()).isEqualTo(seats.version());
+    assertThat(changes.bookedSeatIds()).containsExactly(1L, 2L);
+    assertThat(changes.heldSeatIds()).containsExactly(5L);
+    assertThat(changes.releasedSeatIds()).containsExactly(6L);
+  }
+
+  @Test
+  void availabilitySinceTheCurrentVersionIsEmpty() {
+    seats.claim(positions(1));
+
+    ShowtimeSeatAvailabilityResponse changes = seats.availabilitySince(seats.version());
+
+    assertThat(changes.bookedSeatIds()).isEmpty();
+    assertThat(changes.heldSeatIds()).isEmpty();
+    assertThat(changes.releasedSeatIds()).isEmpty();
+  }
+
+  @Test
+  void availabilitySinceOnlyCoversLaterChanges() {
+    seats.claim(positions(1));
+    long since = seats.version();
+    seats.claim(positions(2));
+
+    assertThat(seats.availabilitySince(since).heldSeatIds()).containsExactly(2L);
+  }
+
+  @Test
+  void availabilitySinceBeyondTheChangeLogFallsBack() {
+    long since = seats.version();
+    // the log holds 16 changes; 20 pushes the cursor out of range
+    for (int i = 0; i < 10; i++) {
+      int[] claim = positions(4);
+      seats.claim(claim);
+      seats.abort(claim);
+    }
+
+    assertThat(seats.availabilitySince(since)).isNull();
+    assertThat(seats.availabilitySince(seats.version() + 1)).isNull();
+  }
+
+  @Test
+  void listenerRunsOutsideTheMonitor() {
+    List<Boolean> locked = new ArrayList<>();
+    ShowtimeSeats[] holder = new ShowtimeSeats[1];
+    holder[0] = new ShowtimeSeats(7, 1, SeatLayout.of(SeatMaps.grid(1, 2, 5)), List.of(),
+        versions::incrementAndGet, 16, e -> locked.add(Thread.holdsLock(holder[0])));
+
+    int[] claim = {0, 1};
+    holder[0].claim(claim);
+    holder[0].commit(claim);
+    holder[0].reconcile(List.of(), holder[0].version());
+
+    assertThat(locked).containsExactly(false, false, false);
+  }
+
+  @Test
+  void concurrentChangesAreDeliveredInVersionOrder() throws InterruptedException {
+    List<Long> delivered = java.util.Collections.synchronizedList(new ArrayList<>());
+    ShowtimeSeats shared = new ShowtimeSeats(7, 1, SeatLayout.of(SeatMaps.grid(1, 8, 25)), List.of(),
+        versions::incrementAndGet, 16, e -> delivered.add(e.version()));
+
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      int[] seat = {t};
+      threads.add(Thread.ofPlatform().start(() -> {
+        for (int i = 0; i < 2_000; i++) {
+          shared.claim(seat);
+          shared.abort(seat);
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertThat(delivered).hasSize(8 * 2_000 * 2).isSorted();
+  }
+
+  @Test
+  void ignoresSeatsOutsideTheLayout() {
+    assertThat(seats.positionOf(99L)).isEqualTo(-1);
+    assertThat(seats.positionsOf(List.of(1L, 99L))).containsExactly(0);
+  }
+
+  private int[] positions(long... seatIds) {
+    int[] positions = new int[seatIds.length];
+    for (int i = 0; i < seatIds.length; i++) {
+      positions[i] = seats.positionOf(seatIds[i]);
+    }
+    return positions;
+  }
+}
@@ -0,0 +1,174 @@
+package com.mrs.backend.schedule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mrs.backend.movie.Movie;
+import com.mrs.backend.reservation.ReservationSeatRepository;
+import com.mrs.backend.reservation.SeatAvailabilityChangedEvent;
+import com.mrs.backend.reservation.ShowtimeSeatCount;
+import com.mrs.backend.schedule.dto.ScheduleResponse;
+import com.mrs.backend.seat.AuditoriumSeatCount;
+import com.mrs.backend.seat.SeatRepository;
+import com.mrs.backend.showtime.Auditorium;
+import com.mrs.backend.showtime.Showtime;
+import com.mrs.backend.showtime.ShowtimeChangedEvent;
+import com.mrs.backend.showtime.ShowtimeRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ScheduleServiceTest {
+
+  private static final LocalDate DAY = LocalDate.of(2026, 10, 20);
+
+  private final ShowtimeRepository showtimeRepository = mock(ShowtimeRepository.class);
+  private final SeatRepository seatRepository = mock(SeatRepository.class);
+  private final ReservationSeatRepository reservationSeatRepository = mock(ReservationSeatRepository.class);
+  private final Map<Long, Long> bookedInDb = new ConcurrentHashMap<>();
+  private final List<Collection<Long>> countReads = new ArrayList<>();
+  private ScheduleService service;
+
+  @BeforeEach
+  void setUp() {
+    Movie movie = new Movie();
+    movie.setId(1L);
+    movie.setTitle("Heat");
+    movie.setActive(true);
+    Auditorium auditorium = new Auditorium();
+    auditorium.setId(1L);
+    auditorium.setName("One");
+    List<Showtime> showtimes = List.of(showtime(10, movie, auditorium, 18), showtime(11, movie, auditorium, 21));
+
+    when(showtimeRepository.findWithDetailsByStartTimeBetween(any(), any())).thenReturn(showtimes);
+    when(seatRepository.countByAuditoriumIds(anyCollection())).thenReturn(List.of(new AuditoriumSeatCount(1L, 100)));
+    when(reservationSeatRepository.countBookedSeats(anyCollection())).thenAnswer(inv -> {
+      Collection<Long> ids = inv.getArgument(0);
+      countReads.add(List.copyOf(ids));
+      return ids.stream()
+          .filter(bookedInDb::containsKey)
+          .map(id -> new ShowtimeSeatCount(id, bookedInDb.get(id)))
+          .toList();
+    });
+    service = new ScheduleService(showtimeRepository, seatRepository, reservationSeatRepository, ZoneOffset.UTC,
+        new SimpleMeterRegistry(), 300);
+  }
+
+  @Test
+  void aCachedDayIsServedWithoutQueries() {
+    bookedInDb.put(10L, 4L);
+
+    ScheduleResponse first = service.day(DAY);
+    ScheduleResponse second = service.day(DAY);
+
+    assertThat(second).isEqualTo(first);
+    assertThat(remaining(second)).containsExactly(96L, 100L);
+    verify(showtimeRepository, times(1)).findWithDetailsByStartTimeBetween(any(), any());
+    assertThat(countReads).hasSize(1);
+  }
+
+  @Test
+  void aBookingReReadsOnlyTheCountOfItsShowtime() {
+    service.day(DAY);
+
+    bookedInDb.put(11L, 2L);
+    service.onSeatAvailabilityChanged(new SeatAvailabilityChangedEvent(11, 1, List.of(1L, 2L), List.of(), List.of()));
+    ScheduleResponse after = service.day(DAY);
+
+    assertThat(remaining(after)).containsExactly(100L, 98L);
+    verify(showtimeRepository, times(1)).findWithDetailsByStartTimeBetween(any(), any());
+    assertThat(countReads.get(countReads.size() - 1)).containsExactly(11L);
+  }
+
+  @Test
+  void holdOnlyChangesLeaveCountsCached() {
+    service.day(DAY);
+
+    service.onSeatAvailabilityChanged(new SeatAvailabilityChangedEvent(11, 1, List.of(), List.of(), List.of(3L)));
+    service.day(DAY);
+
+    assertThat(countReads).hasSize(1);
+  }
+
+  @Test
+  void aCountReadRacingABookingIsNotKept() {
+    service.day(DAY);
+    service.onSeatAvailabilityChanged(new SeatAvailabilityChangedEvent(10, 1, List.of(1L), List.of(), List.of()));
+    doAnswer(inv -> {
+      Collection<Long> ids = inv.getArgument(0);
+      countReads.add(List.copyOf(ids));
+      // a second booking commits after this read
+      service.onSeatAvailabilityChanged(new SeatAvailabilityChangedEvent(10, 2, List.of(2L), List.of(), List.of()));
+      return List.of(new ShowtimeSeatCount(10L, 1));
+    }).when(reservationSeatRepository).countBookedSeats(anyCollection());
+
+    ScheduleResponse during = service.day(DAY);
+    service.day(DAY);
+
+    assertThat(remaining(during)).containsExactly(99L, 100L);
+    assertThat(countReads).hasSize(3);
+  }
+
+  @Test
+  void aCountReadRacingAPruneIsNotKept() {
+    service.day(DAY);
+    service.onSeatAvailabilityChanged(new SeatAvailabilityChangedEvent(10, 1, List.of(1L), List.of(), List.of()));
+    doAnswer(inv -> {
+      countReads.add(List.copyOf(inv.<Collection<Long>>getArgument(0)));
+      service.onSeatAvailabilityChanged(new SeatAvailabilityChangedEvent(10, 2, List.of(2L), List.of(), List.of()));
+      service.evictExpired();
+      return List.of(new ShowtimeSeatCount(10L, 1));
+    }).when(reservationSeatRepository).countBookedSeats(anyCollection());
+
+    service.day(DAY);
+    service.day(DAY);
+
+    assertThat(countReads).hasSize(3);
+  }
+
+  @Test
+  void aShowtimeChangeReloadsTheDay() {
+    service.day(DAY);
+
+    service.onShowtimeChanged(new ShowtimeChangedEvent(10));
+    service.day(DAY);
+
+    verify(showtimeRepository, times(2)).findWithDetailsByStartTimeBetween(any(), any());
+    assertThat(countReads).hasSize(2);
+  }
+
+  private static Showtime showtime(long id, Movie movie, Auditorium auditorium, int hour) {
+    Showtime showtime = new Showtime();
+    showtime.setId(id);
+    showtime.setMovie(movie);
+    showtime.setAuditorium(auditorium);
+    showtime.setStartTime(Instant.parse("2026-10-20T00:00:00Z").plusSeconds(hour * 3600L));
+    showtime.setEndTime(showtime.getStartTime().plusSeconds(2 * 3600L));
+    showtime.setPriceCents(1200);
+    return showtime;
+  }
+
+  private static List<Long> remaining(ScheduleResponse response) {
+    return response.movies().stream()
+        .flatMap(m -> m.showtimes().stream())
+        .map(s -> s.seatsRemaining())
+        .toList();
+  }
+}
@@ -0,0 +1,38 @@
+package com.mrs.backend.seat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds seat maps for tests. Rows are labelled A, B, C, ... and seat ids are
+ * assigned in layout order starting at 1.
+ */
+public final class SeatMaps {
+
+  private SeatMaps() {
+  }
+
+  public static AuditoriumSeatMap grid(long auditoriumId, int rows, int seatsPerRow) {
+    return withAisle(auditoriumId, rows, seatsPerRow, seatsPerRow);
+  }
+
+  /**
+   * Like {@link #grid}, but seat numbering skips one number after seat
+   * {@code aisleAfter} in every row, so the seats on either side of the aisle
+   * are not adjacent.
+   */
+  public static AuditoriumSeatMap withAisle(long auditoriumId, int rows, int seatsPerRow, int aisleAfter) {
+    List<Seat> seats = new ArrayList<>(rows * seatsPerRow);
+    long id = 1;
+    for (int row = 0; row < rows; row++) {
+      for (int n = 1; n <= seatsPerRow; n++) {
+        Seat seat = new Seat();
+        seat.setId(id++);
+        seat.setRowLabel(String.valueOf((char) ('A' + row)));
+        seat.setSeatNumber(n > aisleAfter ? n + 1 : n);
+        seats.add(seat);
+      }
+    }
+    return AuditoriumSeatMap.of(auditoriumId, "Auditorium " + auditoriumId, seats);
+  }
+}
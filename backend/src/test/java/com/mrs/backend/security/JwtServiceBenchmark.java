@@ -0,0 +1,88 @@
+package com.mrs.backend.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * parseClaims against the old path (a new parser and full verification per
+ * request) under a polling-heavy mix: 20,000 issued tokens, 90% of requests
+ * from the 1,000 most active clients, with the default 10,000-entry cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JwtServiceBenchmark {
+
+  private static final int TOKENS = 20_000;
+  private static final int HOT_TOKENS = 1_000;
+  private static final int MIX_SIZE = 1 << 16;
+
+  private JwtService jwtService;
+  private String[] mix;
+
+  @Setup
+  public void setUp() {
+    jwtService = new JwtService(JwtServiceTest.SECRET, 3600, 10_000, new SimpleMeterRegistry());
+    String[] tokens = new String[TOKENS];
+    for (int i = 0; i < TOKENS; i++) {
+      tokens[i] = jwtService.generateToken(JwtServiceTest.user(i + 1));
+    }
+    Random random = new Random(42);
+    mix = new String[MIX_SIZE];
+    for (int i = 0; i < MIX_SIZE; i++) {
+      mix[i] = tokens[random.nextDouble() < 0.9 ? random.nextInt(HOT_TOKENS) : random.nextInt(TOKENS)];
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Cursor {
+    private int next;
+
+    @Setup
+    public void setUp() {
+      next = ThreadLocalRandom.current().nextInt(MIX_SIZE);
+    }
+
+    String pick(String[] mix) {
+      next = (next + 1) & (MIX_SIZE - 1);
+      return mix[next];
+    }
+  }
+
+  @Benchmark
+  public Claims cached(Cursor cursor) {
+    return jwtService.parseClaims(cursor.pick(mix));
+  }
+
+  @Benchmark
+  public Claims uncached(Cursor cursor) {
+    return Jwts.parser()
+        .verifyWith(Keys.hmacShaKeyFor(JwtServiceTest.SECRET.getBytes(StandardCharsets.UTF_8)))
+        .build()
+        .parseSignedClaims(cursor.pick(mix))
+        .getPayload();
+  }
+}
@@ -0,0 +1,108 @@
+package com.mrs.backend.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import com.mrs.backend.user.User;
+import com.mrs.backend.user.UserRole;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtServiceTest {
+
+  static final String SECRET = "test-secret-test-secret-test-secret-test-secret";
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  void roundTripsTheUserClaims() {
+    JwtService jwt = newService(3600, 100);
+
+    AuthUser user = jwt.toAuthUser(jwt.parseClaims(jwt.generateToken(user(7))));
+
+    assertThat(user.getId()).isEqualTo(7);
+    assertThat(user.getEmail()).isEqualTo("user7@x.com");
+    assertThat(user.getRole()).isEqualTo(UserRole.USER);
+    assertThat(user.getAuthVersion()).isEqualTo(3);
+  }
+
+  @Test
+  void repeatedTokensAreServedFromTheCache() {
+    JwtService jwt = newService(3600, 100);
+    String token = jwt.generateToken(user(1));
+
+    Claims first = jwt.parseClaims(token);
+    Claims second = jwt.parseClaims(token);
+
+    assertThat(second).isSameAs(first);
+    assertThat(count("miss")).isEqualTo(1);
+    assertThat(count("hit")).isEqualTo(1);
+  }
+
+  @Test
+  void tamperedTokensAreRejectedAndNotCached() {
+    JwtService jwt = newService(3600, 100);
+    String token = jwt.generateToken(user(1));
+    String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+    assertThatThrownBy(() -> jwt.parseClaims(tampered)).isInstanceOf(JwtException.class);
+    assertThatThrownBy(() -> jwt.parseClaims(tampered)).isInstanceOf(JwtException.class);
+    assertThat(count("hit")).isZero();
+  }
+
+  @Test
+  void tokensSignedWithAnotherKeyAreRejected() {
+    String foreign = new JwtService("another-secret-another-secret-another-secret", 3600, 100, meterRegistry)
+        .generateToken(user(1));
+
+    assertThatThrownBy(() -> newService(3600, 100).parseClaims(foreign)).isInstanceOf(JwtException.class);
+  }
+
+  @Test
+  void cachedTokensStopWorkingOnceTheyExpire() throws InterruptedException {
+    JwtService jwt = newService(1, 100);
+    String token = jwt.generateToken(user(1));
+    jwt.parseClaims(token);
+
+    Thread.sleep(1_100);
+
+    assertThatThrownBy(() -> jwt.parseClaims(token)).isInstanceOf(ExpiredJwtException.class);
+    assertThat(meterRegistry.counter("jwt.cache.evictions").count()).isEqualTo(1);
+  }
+
+  @Test
+  void cacheStaysWithinItsBound() {
+    JwtService jwt = newService(3600, 10);
+
+    for (long id = 1; id <= 50; id++) {
+      jwt.parseClaims(jwt.generateToken(user(id)));
+    }
+
+    assertThat(meterRegistry.get("jwt.cache.size").gauge().value()).isLessThanOrEqualTo(10);
+    assertThat(meterRegistry.counter("jwt.cache.evictions").count()).isGreaterThanOrEqualTo(40);
+  }
+
+  private JwtService newService(long expirationSeconds, int maxEntries) {
+    return new JwtService(SECRET, expirationSeconds, maxEntries, meterRegistry);
+  }
+
+  private double count(String result) {
+    return meterRegistry.counter("jwt.cache.requests", "result", result).count();
+  }
+
+  static User user(long id) {
+    User user = new User();
+    user.setId(id);
+    user.setEmail("user" + id + "@x.com");
+    user.setName("User " + id);
+    user.setRole(UserRole.USER);
+    user.setAuthVersion(3);
+    return user;
+  }
+}
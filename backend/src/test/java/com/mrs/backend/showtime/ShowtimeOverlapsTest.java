@@ -0,0 +1,106 @@
+package com.mrs.backend.showtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class ShowtimeOverlapsTest {
+
+  private static final Duration BUFFER = Duration.ofMinutes(20);
+  private static final Instant T0 = Instant.parse("2027-01-01T10:00:00Z");
+
+  @Test
+  void aGapOfExactlyTheBufferIsAllowed() {
+    ShowtimeSlot existing = slot(1, 0, 120);
+
+    assertThat(ShowtimeOverlaps.conflicts(List.of(existing), List.of(slot(1, 140, 260)), BUFFER)).isEmpty();
+    assertThat(ShowtimeOverlaps.conflicts(List.of(existing), List.of(slot(1, 139, 260)), BUFFER)).hasSize(1);
+    assertThat(ShowtimeOverlaps.conflicts(List.of(existing), List.of(slot(1, -140, -20)), BUFFER)).isEmpty();
+    assertThat(ShowtimeOverlaps.conflicts(List.of(existing), List.of(slot(1, -140, -19)), BUFFER)).hasSize(1);
+  }
+
+  @Test
+  void otherAuditoriumsDoNotClash() {
+    assertThat(ShowtimeOverlaps.conflicts(List.of(slot(1, 0, 120)), List.of(slot(2, 0, 120)), BUFFER)).isEmpty();
+  }
+
+  @Test
+  void bothProposedSlotsOfAClashAreReported() {
+    ShowtimeSlot first = slot(1, 0, 120);
+    ShowtimeSlot second = slot(1, 130, 250);
+
+    assertThat(ShowtimeOverlaps.conflicts(List.of(), List.of(second, first), BUFFER))
+        .containsExactlyInAnyOrder(first, second);
+  }
+
+  @Test
+  void aSlotBeforeALongerOneIsReportedWhenAnExistingOneFollows() {
+    ShowtimeSlot longer = slot(1, 0, 300);
+    ShowtimeSlot shorter = slot(1, 10, 60);
+    ShowtimeSlot existing = slot(1, 310, 400);
+
+    assertThat(ShowtimeOverlaps.conflicts(List.of(existing), List.of(longer, shorter), BUFFER))
+        .containsExactlyInAnyOrder(longer, shorter);
+  }
+
+  @Test
+  void matchesTheDatabaseExclusionConstraint() {
+    Random random = new Random(42);
+    for (int round = 0; round < 2000; round++) {
+      List<ShowtimeSlot> existing = new ArrayList<>();
+      // existing showtimes already satisfy the constraint
+      for (int attempt = 0; attempt < 6; attempt++) {
+        ShowtimeSlot candidate = randomSlot(random);
+        if (existing.stream().noneMatch(other -> clashes(candidate, other))) {
+          existing.add(candidate);
+        }
+      }
+      List<ShowtimeSlot> proposed = new ArrayList<>();
+      for (int i = random.nextInt(6); i >= 0; i--) {
+        proposed.add(randomSlot(random));
+      }
+
+      List<ShowtimeSlot> expected = new ArrayList<>();
+      for (int i = 0; i < proposed.size(); i++) {
+        ShowtimeSlot slot = proposed.get(i);
+        boolean clash = existing.stream().anyMatch(other -> clashes(slot, other));
+        for (int j = 0; j < proposed.size(); j++) {
+          clash |= i != j && clashes(slot, proposed.get(j));
+        }
+        if (clash) {
+          expected.add(slot);
+        }
+      }
+
+      assertThat(ShowtimeOverlaps.conflicts(existing, proposed, BUFFER))
+          .as("existing %s, proposed %s", existing, proposed)
+          .containsExactlyInAnyOrderElementsOf(expected.stream().distinct().toList());
+    }
+  }
+
+  /**
+   * V9: {@code tstzrange(start - 10 min, end + 10 min, '[)')} may not overlap
+   * within one auditorium.
+   */
+  private static boolean clashes(ShowtimeSlot a, ShowtimeSlot b) {
+    Duration half = BUFFER.dividedBy(2);
+    return a.auditoriumId() == b.auditoriumId()
+        && a.startTime().minus(half).isBefore(b.endTime().plus(half))
+        && b.startTime().minus(half).isBefore(a.endTime().plus(half));
+  }
+
+  private static ShowtimeSlot randomSlot(Random random) {
+    int start = random.nextInt(48) * 10;
+    return slot(1 + random.nextInt(2), start, start + 30 + random.nextInt(16) * 10);
+  }
+
+  private static ShowtimeSlot slot(long auditoriumId, int startMinute, int endMinute) {
+    return new ShowtimeSlot(auditoriumId, T0.plusSeconds(startMinute * 60L), T0.plusSeconds(endMinute * 60L));
+  }
+}
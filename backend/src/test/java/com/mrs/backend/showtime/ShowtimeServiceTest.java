@@ -0,0 +1,82 @@
+package com.mrs.backend.showtime;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLException;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.mrs.backend.movie.Movie;
+import com.mrs.backend.movie.MovieRepository;
+import com.mrs.backend.showtime.dto.ShowtimeBulkRequest;
+import com.mrs.backend.showtime.dto.ShowtimeUpsertRequest;
+
+class ShowtimeServiceTest {
+
+  private static final ShowtimeUpsertRequest REQUEST =
+      new ShowtimeUpsertRequest(1L, 1L, "2027-01-01T18:00:00Z", "2027-01-01T20:00:00Z", 900);
+
+  private final ShowtimeRepository showtimeRepository = mock(ShowtimeRepository.class);
+  private final MovieRepository movieRepository = mock(MovieRepository.class);
+  private final AuditoriumRepository auditoriumRepository = mock(AuditoriumRepository.class);
+  private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+  private ShowtimeService service;
+
+  @BeforeEach
+  void setUp() {
+    Movie movie = new Movie();
+    movie.setId(1L);
+    Auditorium auditorium = new Auditorium();
+    auditorium.setId(1L);
+    when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
+    when(movieRepository.findAllById(anyIterable())).thenReturn(List.of(movie));
+    when(auditoriumRepository.findById(1L)).thenReturn(Optional.of(auditorium));
+    when(auditoriumRepository.findAllById(anyIterable())).thenReturn(List.of(auditorium));
+    service = new ShowtimeService(showtimeRepository, movieRepository, auditoriumRepository, eventPublisher,
+        ZoneOffset.UTC);
+  }
+
+  @Test
+  void anExclusionViolationOnSaveIsABadRequest() {
+    when(showtimeRepository.saveAndFlush(any())).thenThrow(violation("23P01"));
+
+    assertThatThrownBy(() -> service.create(REQUEST))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Auditorium already has another showtime within a 20 minute buffer");
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  void anExclusionViolationOnABulkInsertIsABadRequest() {
+    // a concurrent insert the overlap check could not see
+    when(showtimeRepository.insertAll(any())).thenThrow(violation("23P01"));
+
+    assertThatThrownBy(() -> service.createAll(new ShowtimeBulkRequest(null, List.of(REQUEST))))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Auditorium already has another showtime within a 20 minute buffer");
+  }
+
+  @Test
+  void otherIntegrityViolationsAreRethrown() {
+    DataIntegrityViolationException violation = violation("23503");
+    when(showtimeRepository.saveAndFlush(any())).thenThrow(violation);
+
+    assertThatThrownBy(() -> service.create(REQUEST)).isSameAs(violation);
+  }
+
+  private static DataIntegrityViolationException violation(String sqlState) {
+    return new DataIntegrityViolationException("could not execute statement",
+        new SQLException("constraint violated", sqlState));
+  }
+}
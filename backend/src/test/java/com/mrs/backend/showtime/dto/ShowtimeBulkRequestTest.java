@@ -0,0 +1,63 @@
+package com.mrs.backend.showtime.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+class ShowtimeBulkRequestTest {
+
+  private static final ValidatorFactory FACTORY = Validation.buildDefaultValidatorFactory();
+  private static final Validator VALIDATOR = FACTORY.getValidator();
+
+  @AfterAll
+  static void close() {
+    FACTORY.close();
+  }
+
+  @Test
+  void aWellFormedRequestIsValid() {
+    ShowtimeBulkRequest req = new ShowtimeBulkRequest(recurrence(List.of(1L), List.of("18:00")),
+        List.of(showtime(1L)));
+
+    assertThat(VALIDATOR.validate(req)).isEmpty();
+  }
+
+  @Test
+  void nullListElementsAreRejected() {
+    ShowtimeBulkRequest req = new ShowtimeBulkRequest(
+        recurrence(Arrays.asList(1L, null), Arrays.asList("18:00", null)),
+        Arrays.asList(showtime(1L), null));
+
+    assertThat(VALIDATOR.validate(req)).extracting(v -> v.getPropertyPath().toString())
+        .containsExactlyInAnyOrder(
+            "recurrence.auditoriumIds[1].<list element>",
+            "recurrence.times[1].<list element>",
+            "showtimes[1].<list element>");
+  }
+
+  @Test
+  void listedShowtimesAreValidatedThemselves() {
+    ShowtimeBulkRequest req = new ShowtimeBulkRequest(null, List.of(showtime(null)));
+
+    assertThat(VALIDATOR.validate(req)).extracting(ConstraintViolation::getPropertyPath)
+        .extracting(Object::toString)
+        .containsExactly("showtimes[0].movieId");
+  }
+
+  private static ShowtimeRecurrenceRequest recurrence(List<Long> auditoriumIds, List<String> times) {
+    return new ShowtimeRecurrenceRequest(1L, auditoriumIds, "2027-01-01", "2027-01-07", times, 120, 900);
+  }
+
+  private static ShowtimeUpsertRequest showtime(Long movieId) {
+    return new ShowtimeUpsertRequest(movieId, 1L, "2027-01-01T18:00:00Z", "2027-01-01T20:00:00Z", 900);
+  }
+}
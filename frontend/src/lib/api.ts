@@ -2,6 +2,26 @@ export type ApiError = {
   error: string
 }
 
+export class HttpError extends Error {
+  constructor(message: string, readonly status: number) {
+    super(message)
+  }
+}
+
+export type QueueStatus = {
+  token: string | null
+  showtimeId: number
+  admitted: boolean
+  position: number
+  etaSeconds: number
+  admittedUntil: string | null
+}
+
+// showtimes with an open waiting room only let in requests that carry an admitted queue token
+function queueHeaders(queueToken?: string | null): HeadersInit | undefined {
+  return queueToken ? { 'X-Queue-Token': queueToken } : undefined
+}
+
 const API_BASE = (import.meta as any).env?.VITE_API_BASE_URL || ''
 
 const TOKEN_KEY = 'mrs_token'
@@ -51,7 +71,7 @@ async function request<T>(path: string, init?: RequestInit): Promise<T> {
     const statusText = res.statusText || ''
     const prefix = `${res.status} ${method} ${path}`
     const suffix = statusText ? `: ${statusText}` : ''
-    throw new Error(`${prefix}${suffix} — ${detail}`)
+    throw new HttpError(`${prefix}${suffix} — ${detail}`, res.status)
   }
 
   return body as T
@@ -74,7 +94,32 @@ export const api = {
 
   genres: () => request<Array<{ id: number; name: string }>>('/api/genres'),
 
-  movies: () => request<Array<{ id: number; title: string; description: string; posterUrl: string | null; active: boolean; genre: { id: number; name: string } }>>('/api/movies'),
+  movies: (
+    params: { genreId?: number | null; showingFrom?: string; showingTo?: string; sort?: 'title' | 'newest'; cursor?: string | null; limit?: number } = {}
+  ) => {
+    const qs = new URLSearchParams()
+    if (params.genreId) qs.set('genreId', String(params.genreId))
+    if (params.showingFrom) qs.set('showingFrom', params.showingFrom)
+    if (params.showingTo) qs.set('showingTo', params.showingTo)
+    if (params.sort) qs.set('sort', params.sort)
+    if (params.cursor) qs.set('cursor', params.cursor)
+    if (params.limit) qs.set('limit', String(params.limit))
+    const suffix = qs.toString() ? `?${qs.toString()}` : ''
+    return request<{
+      items: Array<{ id: number; title: string; posterUrl: string | null; active: boolean; genre: { id: number; name: string }; createdAt: string }>
+      nextCursor: string | null
+    }>(`/api/movies${suffix}`)
+  },
+
+  searchMovies: (params: { q: string; cursor?: string | null; limit?: number }) => {
+    const qs = new URLSearchParams({ q: params.q })
+    if (params.cursor) qs.set('cursor', params.cursor)
+    if (params.limit) qs.set('limit', String(params.limit))
+    return request<Awaited<ReturnType<typeof api.movies>>>(`/api/movies/search?${qs.toString()}`)
+  },
+
+  suggestMovies: (prefix: string, limit = 8) =>
+    request<Array<{ id: number; title: string }>>(`/api/movies/suggest?prefix=${encodeURIComponent(prefix)}&limit=${limit}`),
 
   movie: (id: number) => request<{ id: number; title: string; description: string; posterUrl: string | null; active: boolean; genre: { id: number; name: string } }>(`/api/movies/${id}`),
 
@@ -108,17 +153,43 @@ export const api = {
       `/api/showtimes/${showtimeId}/seats`
     ),
 
-  availability: (showtimeId: number) => request<{ showtimeId: number; bookedSeatIds: number[] }>(`/api/showtimes/${showtimeId}/availability`),
+  bookingView: (showtimeId: number, queueToken?: string | null) =>
+    request<{
+      showtime: Awaited<ReturnType<typeof api.showtime>>
+      seats: Array<{ id: number; rowLabel: string; seatNumber: number }>
+      availability: { showtimeId: number; version: number; bookedSeatIds: number[]; heldSeatIds: number[] }
+    }>(`/api/showtimes/${showtimeId}/booking-view`, { headers: queueHeaders(queueToken) }),
+
+  availability: (showtimeId: number, queueToken?: string | null) =>
+    request<{ showtimeId: number; bookedSeatIds: number[]; heldSeatIds: number[] }>(`/api/showtimes/${showtimeId}/availability`, {
+      headers: queueHeaders(queueToken)
+    }),
 
-  reserve: (showtimeId: number, seatIds: number[]) =>
+  // EventSource cannot send headers, so the queue token goes in the query string
+  availabilityStream: (showtimeId: number, queueToken?: string | null) =>
+    new EventSource(
+      `${API_BASE}/api/showtimes/${showtimeId}/availability/stream${queueToken ? `?queueToken=${encodeURIComponent(queueToken)}` : ''}`
+    ),
+
+  reserve: (showtimeId: number, seatIds: number[], queueToken?: string | null) =>
     request<{ id: number; showtimeId: number; status: string; totalAmountCents: number; createdAt: string; seatIds: number[]; seatLabels: string[] }>(
       `/api/showtimes/${showtimeId}/reservations`,
-      { method: 'POST', body: JSON.stringify({ seatIds }) }
+      { method: 'POST', body: JSON.stringify({ seatIds }), headers: queueHeaders(queueToken) }
     ),
 
-  myReservations: () =>
-    request<
-      Array<{
+  joinQueue: (showtimeId: number) => request<QueueStatus>(`/api/showtimes/${showtimeId}/queue`, { method: 'POST' }),
+
+  queueStatus: (showtimeId: number, token: string) =>
+    request<QueueStatus>(`/api/showtimes/${showtimeId}/queue/${encodeURIComponent(token)}`),
+
+  myReservations: (params: { scope?: 'all' | 'upcoming' | 'past'; cursor?: string | null; limit?: number } = {}) => {
+    const qs = new URLSearchParams()
+    if (params.scope) qs.set('scope', params.scope)
+    if (params.cursor) qs.set('cursor', params.cursor)
+    if (params.limit) qs.set('limit', String(params.limit))
+    const suffix = qs.toString() ? `?${qs.toString()}` : ''
+    return request<{
+      items: Array<{
         id: number
         showtimeId: number
         movieTitle: string
@@ -131,9 +202,9 @@ export const api = {
         seatIds: number[]
         seatLabels: string[]
       }>
-    >(
-      '/api/reservations/mine'
-    ),
+      nextCursor: string | null
+    }>(`/api/reservations/mine${suffix}`)
+  },
 
   cancelReservation: (id: number) => request<void>(`/api/reservations/${id}`, { method: 'DELETE' }),
 
@@ -201,9 +272,22 @@ export const api = {
       `/api/admin/showtimes/${id}`,
       { method: 'PUT', body: JSON.stringify(payload) }
     ),
-  adminShowtimes: () =>
-    request<Array<{ id: number; movieId: number; auditoriumId: number; auditoriumName: string; startTime: string; endTime: string; priceCents: number }>>(
-      '/api/admin/showtimes'
-    ),
+  adminShowtimes: (
+    params: { from?: string; to?: string; movieId?: number; auditoriumId?: number; includePast?: boolean; cursor?: string | null; limit?: number } = {}
+  ) => {
+    const qs = new URLSearchParams()
+    if (params.from) qs.set('from', params.from)
+    if (params.to) qs.set('to', params.to)
+    if (params.movieId) qs.set('movieId', String(params.movieId))
+    if (params.auditoriumId) qs.set('auditoriumId', String(params.auditoriumId))
+    if (params.includePast) qs.set('includePast', 'true')
+    if (params.cursor) qs.set('cursor', params.cursor)
+    if (params.limit) qs.set('limit', String(params.limit))
+    const suffix = qs.toString() ? `?${qs.toString()}` : ''
+    return request<{
+      items: Array<{ id: number; movieId: number; auditoriumId: number; auditoriumName: string; startTime: string; endTime: string; priceCents: number }>
+      nextCursor: string | null
+    }>(`/api/admin/showtimes${suffix}`)
+  },
   adminDeleteShowtime: (id: number) => request<void>(`/api/admin/showtimes/${id}`, { method: 'DELETE' })
 }
@@ -4,7 +4,7 @@ import { api } from '../../lib/api'
 import { useAuth } from '../../lib/auth'
 
 type Movie = Awaited<ReturnType<typeof api.adminMovies>>[number]
-type Showtime = Awaited<ReturnType<typeof api.adminShowtimes>>[number]
+type Showtime = Awaited<ReturnType<typeof api.adminShowtimes>>['items'][number]
 
 type FormState = {
   id: number | null
@@ -31,6 +31,9 @@ export default function AdminShowtimesPage() {
 
   const [movies, setMovies] = useState<Movie[]>([])
   const [showtimes, setShowtimes] = useState<Showtime[]>([])
+  const [nextCursor, setNextCursor] = useState<string | null>(null)
+  const [includePast, setIncludePast] = useState(false)
+  const [loadingMore, setLoadingMore] = useState(false)
   const [loading, setLoading] = useState(true)
   const [error, setError] = useState<string | null>(null)
   const [saving, setSaving] = useState(false)
@@ -48,18 +51,34 @@ export default function AdminShowtimesPage() {
 
     setLoading(true)
     setError(null)
-    Promise.all([api.adminMovies(), api.adminShowtimes()])
-      .then(([ms, sts]) => {
+    Promise.all([api.adminMovies(), api.adminShowtimes({ includePast })])
+      .then(([ms, page]) => {
         setMovies(ms)
-        setShowtimes(sts)
+        setShowtimes(page.items)
+        setNextCursor(page.nextCursor)
       })
       .catch((e: any) => setError(e?.message || 'Failed to load admin data'))
       .finally(() => setLoading(false))
-  }, [user, isAdmin])
+  }, [user, isAdmin, includePast])
 
   async function refreshShowtimes() {
-    const sts = await api.adminShowtimes()
-    setShowtimes(sts)
+    const page = await api.adminShowtimes({ includePast })
+    setShowtimes(page.items)
+    setNextCursor(page.nextCursor)
+  }
+
+  async function loadMore() {
+    if (!nextCursor) return
+    setLoadingMore(true)
+    try {
+      const page = await api.adminShowtimes({ includePast, cursor: nextCursor })
+      setShowtimes((prev) => [...prev, ...page.items])
+      setNextCursor(page.nextCursor)
+    } catch (e: any) {
+      setError(e?.message || 'Failed to load showtimes')
+    } finally {
+      setLoadingMore(false)
+    }
   }
 
   function reset() {
@@ -266,7 +285,13 @@ export default function AdminShowtimesPage() {
       </div>
 
       <div className="rounded-2xl border border-slate-200 bg-white p-4 dark:border-white/10 dark:bg-white/5">
-        <div className="text-sm font-medium">Existing showtimes</div>
+        <div className="flex items-center justify-between gap-4">
+          <div className="text-sm font-medium">{includePast ? 'All showtimes' : 'Upcoming showtimes'}</div>
+          <label className="flex items-center gap-2 text-xs text-slate-600 dark:text-white/70">
+            <input type="checkbox" checked={includePast} onChange={(e) => setIncludePast(e.target.checked)} />
+            Include past
+          </label>
+        </div>
 
         {showtimes.length === 0 ? (
           <div className="mt-3 text-sm text-slate-600 dark:text-white/70">No showtimes yet.</div>
@@ -323,6 +348,19 @@ export default function AdminShowtimesPage() {
             </table>
           </div>
         )}
+
+        {nextCursor ? (
+          <div className="mt-3 flex justify-center">
+            <button
+              type="button"
+              onClick={loadMore}
+              disabled={loadingMore}
+              className="rounded-xl border border-slate-200 bg-white px-4 py-2 text-sm hover:bg-slate-50 disabled:opacity-60 dark:border-white/10 dark:bg-white/5 dark:text-white/90 dark:hover:bg-white/10"
+            >
+              {loadingMore ? 'Loading…' : 'Load more'}
+            </button>
+          </div>
+        ) : null}
       </div>
     </div>
   )
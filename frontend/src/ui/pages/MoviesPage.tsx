@@ -1,31 +1,86 @@
-import { useEffect, useMemo, useState } from 'react'
+import { useEffect, useState } from 'react'
 import { Link } from 'react-router-dom'
 import { api } from '../../lib/api'
 
-type Movie = Awaited<ReturnType<typeof api.movies>>[number]
+type Movie = Awaited<ReturnType<typeof api.movies>>['items'][number]
 type Genre = Awaited<ReturnType<typeof api.genres>>[number]
+type Sort = 'title' | 'newest'
+
+const PAGE_SIZE = 24
 
 export default function MoviesPage() {
   const [movies, setMovies] = useState<Movie[]>([])
   const [genres, setGenres] = useState<Genre[]>([])
   const [genreId, setGenreId] = useState<number | 'all'>('all')
+  const [sort, setSort] = useState<Sort>('title')
+  const [query, setQuery] = useState('')
+  const [search, setSearch] = useState('')
+  const [suggestions, setSuggestions] = useState<Array<{ id: number; title: string }>>([])
+  const [nextCursor, setNextCursor] = useState<string | null>(null)
   const [loading, setLoading] = useState(true)
+  const [loadingMore, setLoadingMore] = useState(false)
   const [error, setError] = useState<string | null>(null)
 
   useEffect(() => {
-    Promise.all([api.movies(), api.genres()])
-      .then(([m, g]) => {
-        setMovies(m)
-        setGenres(g)
+    api
+      .genres()
+      .then(setGenres)
+      .catch((e) => setError(e.message))
+  }, [])
+
+  useEffect(() => {
+    const t = setTimeout(() => setSearch(query.trim()), 300)
+    return () => clearTimeout(t)
+  }, [query])
+
+  useEffect(() => {
+    const prefix = query.trim()
+    if (!prefix) {
+      setSuggestions([])
+      return
+    }
+    let cancelled = false
+    api
+      .suggestMovies(prefix)
+      .then((s) => {
+        if (!cancelled) setSuggestions(s)
+      })
+      .catch(() => {})
+    return () => {
+      cancelled = true
+    }
+  }, [query])
+
+  function fetchPage(cursor: string | null) {
+    if (search) return api.searchMovies({ q: search, cursor, limit: PAGE_SIZE })
+    return api.movies({ genreId: genreId === 'all' ? null : genreId, sort, cursor, limit: PAGE_SIZE })
+  }
+
+  useEffect(() => {
+    setLoading(true)
+    setError(null)
+    fetchPage(null)
+      .then((page) => {
+        setMovies(page.items)
+        setNextCursor(page.nextCursor)
       })
       .catch((e) => setError(e.message))
       .finally(() => setLoading(false))
-  }, [])
+  }, [genreId, sort, search])
 
-  const filtered = useMemo(() => {
-    if (genreId === 'all') return movies
-    return movies.filter((m) => m.genre.id === genreId)
-  }, [movies, genreId])
+  async function loadMore() {
+    if (!nextCursor) return
+    setLoadingMore(true)
+    try {
+      const page = await fetchPage(nextCursor)
+      setMovies((prev) => [...prev, ...page.items])
+      setNextCursor(page.nextCursor)
+    } catch (e: any) {
+      setError(e?.message || 'Failed to load movies')
+    } finally {
+      setLoadingMore(false)
+    }
+  }
 
   return (
     <div className="grid gap-6">
@@ -36,9 +91,23 @@ export default function MoviesPage() {
         </div>
 
         <div className="flex items-center gap-3">
+          <input
+            type="search"
+            list="movie-suggestions"
+            placeholder="Search movies"
+            className="rounded-xl border border-slate-200 bg-white px-3 py-2 text-sm dark:border-white/10 dark:bg-black/20 dark:text-white"
+            value={query}
+            onChange={(e) => setQuery(e.target.value)}
+          />
+          <datalist id="movie-suggestions">
+            {suggestions.map((s) => (
+              <option key={s.id} value={s.title} />
+            ))}
+          </datalist>
           <label className="text-sm text-slate-600 dark:text-white/70">Genre</label>
           <select
-            className="rounded-xl border border-slate-200 bg-white px-3 py-2 text-sm dark:border-white/10 dark:bg-black/20 dark:text-white"
+            className="rounded-xl border border-slate-200 bg-white px-3 py-2 text-sm disabled:opacity-60 dark:border-white/10 dark:bg-black/20 dark:text-white"
+            disabled={!!search}
             value={genreId === 'all' ? 'all' : String(genreId)}
             onChange={(e) => setGenreId(e.target.value === 'all' ? 'all' : Number(e.target.value))}
           >
@@ -49,6 +118,16 @@ export default function MoviesPage() {
               </option>
             ))}
           </select>
+          <label className="text-sm text-slate-600 dark:text-white/70">Sort</label>
+          <select
+            className="rounded-xl border border-slate-200 bg-white px-3 py-2 text-sm disabled:opacity-60 dark:border-white/10 dark:bg-black/20 dark:text-white"
+            disabled={!!search}
+            value={sort}
+            onChange={(e) => setSort(e.target.value as Sort)}
+          >
+            <option value="title">Title</option>
+            <option value="newest">Newest</option>
+          </select>
         </div>
       </div>
 
@@ -56,7 +135,7 @@ export default function MoviesPage() {
       {error ? <div className="rounded-xl border border-red-500/30 bg-red-500/10 px-3 py-2 text-sm text-red-200">{error}</div> : null}
 
       <div className="grid gap-4 sm:grid-cols-2 lg:grid-cols-3">
-        {filtered.map((m) => (
+        {movies.map((m) => (
           <Link
             key={m.id}
             to={`/movies/${m.id}`}
@@ -72,11 +151,23 @@ export default function MoviesPage() {
                 <h2 className="text-base font-semibold leading-snug">{m.title}</h2>
                 <span className="rounded-lg border border-slate-200 bg-slate-50 px-2 py-1 text-xs text-slate-600 dark:border-white/10 dark:bg-black/20 dark:text-white/70">{m.genre.name}</span>
               </div>
-              <p className="mt-2 line-clamp-2 text-sm text-slate-600 dark:text-white/70">{m.description}</p>
             </div>
           </Link>
         ))}
       </div>
+
+      {nextCursor ? (
+        <div className="flex justify-center">
+          <button
+            type="button"
+            onClick={loadMore}
+            disabled={loadingMore}
+            className="rounded-xl border border-slate-200 bg-white px-4 py-2 text-sm hover:bg-slate-50 disabled:opacity-60 dark:border-white/10 dark:bg-white/5 dark:text-white/90 dark:hover:bg-white/10"
+          >
+            {loadingMore ? 'Loading…' : 'Load more'}
+          </button>
+        </div>
+      ) : null}
     </div>
   )
 }
@@ -3,13 +3,19 @@ import { Link } from 'react-router-dom'
 import { api } from '../../lib/api'
 import { useAuth } from '../../lib/auth'
 
-type Reservation = Awaited<ReturnType<typeof api.myReservations>>[number]
+type Reservation = Awaited<ReturnType<typeof api.myReservations>>['items'][number]
+type Scope = 'upcoming' | 'past' | 'all'
+
+const PAGE_SIZE = 20
 
 export default function MyReservationsPage() {
   const { user } = useAuth()
 
+  const [scope, setScope] = useState<Scope>('upcoming')
   const [items, setItems] = useState<Reservation[]>([])
+  const [nextCursor, setNextCursor] = useState<string | null>(null)
   const [loading, setLoading] = useState(true)
+  const [loadingMore, setLoadingMore] = useState(false)
   const [error, setError] = useState<string | null>(null)
   const [actionError, setActionError] = useState<string | null>(null)
   const [busyId, setBusyId] = useState<number | null>(null)
@@ -20,20 +26,38 @@ export default function MyReservationsPage() {
       return
     }
 
+    setLoading(true)
+    setError(null)
     api
-      .myReservations()
-      .then(setItems)
+      .myReservations({ scope, limit: PAGE_SIZE })
+      .then((page) => {
+        setItems(page.items)
+        setNextCursor(page.nextCursor)
+      })
       .catch((e) => setError(e.message))
       .finally(() => setLoading(false))
-  }, [user])
+  }, [user, scope])
+
+  async function loadMore() {
+    if (!nextCursor) return
+    setLoadingMore(true)
+    try {
+      const page = await api.myReservations({ scope, cursor: nextCursor, limit: PAGE_SIZE })
+      setItems((prev) => [...prev, ...page.items])
+      setNextCursor(page.nextCursor)
+    } catch (e: any) {
+      setError(e?.message || 'Failed to load reservations')
+    } finally {
+      setLoadingMore(false)
+    }
+  }
 
   async function cancel(id: number) {
     setActionError(null)
     setBusyId(id)
     try {
       await api.cancelReservation(id)
-      const next = await api.myReservations()
-      setItems(next)
+      setItems((prev) => prev.map((r) => (r.id === id ? { ...r, status: 'CANCELLED' } : r)))
     } catch (e: any) {
       setActionError(e?.message || 'Cancel failed')
     } finally {
@@ -67,12 +91,30 @@ export default function MyReservationsPage() {
         </Link>
       </div>
 
+      <div className="flex gap-2">
+        {(['upcoming', 'past', 'all'] as Scope[]).map((s) => (
+          <button
+            key={s}
+            type="button"
+            onClick={() => setScope(s)}
+            className={
+              'rounded-xl border px-3 py-1.5 text-sm capitalize transition ' +
+              (scope === s
+                ? 'border-indigo-400/60 bg-indigo-500/20 text-slate-900 dark:text-white'
+                : 'border-slate-200 bg-white text-slate-600 hover:bg-slate-50 dark:border-white/10 dark:bg-white/5 dark:text-white/70 dark:hover:bg-white/10')
+            }
+          >
+            {s}
+          </button>
+        ))}
+      </div>
+
       {loading ? <div className="text-slate-600 dark:text-white/70">Loading…</div> : null}
       {error ? <div className="rounded-xl border border-red-500/30 bg-red-500/10 px-3 py-2 text-sm text-red-200">{error}</div> : null}
       {actionError ? <div className="rounded-xl border border-red-500/30 bg-red-500/10 px-3 py-2 text-sm text-red-200">{actionError}</div> : null}
 
       <div className="grid gap-3">
-        {items.length === 0 ? <div className="text-sm text-slate-600 dark:text-white/70">No reservations yet.</div> : null}
+        {!loading && items.length === 0 ? <div className="text-sm text-slate-600 dark:text-white/70">No reservations yet.</div> : null}
         {items.map((r) => (
           <div key={r.id} className="rounded-2xl border border-slate-200 bg-white p-4 dark:border-white/10 dark:bg-white/5">
             <div className="flex flex-wrap items-center justify-between gap-3">
@@ -105,6 +147,19 @@ export default function MyReservationsPage() {
           </div>
         ))}
       </div>
+
+      {nextCursor ? (
+        <div className="flex justify-center">
+          <button
+            type="button"
+            onClick={loadMore}
+            disabled={loadingMore}
+            className="rounded-xl border border-slate-200 bg-white px-4 py-2 text-sm hover:bg-slate-50 disabled:opacity-60 dark:border-white/10 dark:bg-white/5 dark:text-white/90 dark:hover:bg-white/10"
+          >
+            {loadingMore ? 'Loading…' : 'Load more'}
+          </button>
+        </div>
+      ) : null}
     </div>
   )
 }
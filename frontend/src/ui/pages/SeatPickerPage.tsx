@@ -1,10 +1,15 @@
 import { useEffect, useMemo, useState } from 'react'
 import { Link, useParams } from 'react-router-dom'
-import { api } from '../../lib/api'
+import { api, HttpError, type QueueStatus } from '../../lib/api'
 import { useAuth } from '../../lib/auth'
 
 type Seat = { id: number; rowLabel: string; seatNumber: number }
 
+// a gated showtime answers 429 until the queue admits us
+function isWaitingRoom(e: unknown) {
+  return e instanceof HttpError && e.status === 429
+}
+
 export default function SeatPickerPage() {
   const params = useParams()
   const showtimeId = Number(params.id)
@@ -25,6 +30,11 @@ export default function SeatPickerPage() {
   const [success, setSuccess] = useState<string | null>(null)
   const [submitting, setSubmitting] = useState(false)
 
+  // null until the showtime turns out to have a waiting room
+  const [queue, setQueue] = useState<QueueStatus | null>(null)
+  const queueToken = queue?.token ?? null
+  const waiting = queue !== null && !queue.admitted
+
   const grouped = useMemo(() => {
     const map = new Map<string, Seat[]>()
     for (const s of seats) {
@@ -38,26 +48,109 @@ export default function SeatPickerPage() {
     return Array.from(map.entries()).sort(([a], [b]) => a.localeCompare(b))
   }, [seats])
 
+  function joinQueue() {
+    if (!user) {
+      setLoading(false)
+      setError('This showtime has a waiting room. Please login to join the queue.')
+      return
+    }
+    api
+      .joinQueue(showtimeId)
+      .then(setQueue)
+      .catch((e) => {
+        setLoading(false)
+        setError(e.message)
+      })
+  }
+
+  useEffect(() => {
+    setQueue(null)
+  }, [showtimeId])
+
+  // while queued, poll until admitted; an expired or rejected token rejoins
+  useEffect(() => {
+    if (!queue || queue.admitted || !queue.token) return
+
+    const token = queue.token
+    const delay = Math.min(5, Math.max(1, queue.etaSeconds)) * 1000
+    const timer = window.setTimeout(() => {
+      api
+        .queueStatus(showtimeId, token)
+        .then(setQueue)
+        .catch(() => joinQueue())
+    }, delay)
+    return () => window.clearTimeout(timer)
+  }, [showtimeId, queue])
+
   useEffect(() => {
-    if (!Number.isFinite(showtimeId)) return
+    if (!Number.isFinite(showtimeId) || waiting) return
 
     setLoading(true)
     setError(null)
 
     setSuccess(null)
 
-    Promise.all([api.seats(showtimeId), api.availability(showtimeId), api.showtime(showtimeId)])
-      .then(([seatRes, avail, detail]) => {
-        setSeats(seatRes.seats)
-        setAuditoriumName(seatRes.auditoriumName)
-        setBooked(new Set(avail.bookedSeatIds))
-        setMovieTitle(detail.movieTitle)
-        setStartTime(detail.startTime)
-        setPriceCents(detail.priceCents)
+    api
+      .bookingView(showtimeId, queueToken)
+      .then(({ showtime, seats, availability }) => {
+        setSeats(seats)
+        setAuditoriumName(showtime.auditoriumName)
+        setBooked(new Set([...availability.bookedSeatIds, ...availability.heldSeatIds]))
+        setMovieTitle(showtime.movieTitle)
+        setStartTime(showtime.startTime)
+        setPriceCents(showtime.priceCents)
+        setLoading(false)
       })
-      .catch((e) => setError(e.message))
-      .finally(() => setLoading(false))
-  }, [showtimeId])
+      .catch((e) => {
+        if (isWaitingRoom(e)) {
+          joinQueue()
+          return
+        }
+        setError(e.message)
+        setLoading(false)
+      })
+  }, [showtimeId, queue])
+
+  useEffect(() => {
+    if (!Number.isFinite(showtimeId) || waiting) return
+
+    let poller: number | undefined
+    const source = api.availabilityStream(showtimeId, queueToken)
+    // the stream is anonymous, which a waiting room may refuse; poll with the token instead
+    source.onerror = () => {
+      if (source.readyState !== EventSource.CLOSED || poller !== undefined) return
+      poller = window.setInterval(() => {
+        api
+          .availability(showtimeId, queueToken)
+          .then((avail) => setBooked(new Set([...avail.bookedSeatIds, ...avail.heldSeatIds])))
+          .catch(() => undefined)
+      }, 5000)
+    }
+    source.addEventListener('snapshot', (e) => {
+      const avail = JSON.parse((e as MessageEvent).data) as { bookedSeatIds: number[]; heldSeatIds: number[] }
+      setBooked(new Set([...avail.bookedSeatIds, ...avail.heldSeatIds]))
+    })
+    source.addEventListener('delta', (e) => {
+      const delta = JSON.parse((e as MessageEvent).data) as { bookedSeatIds: number[]; releasedSeatIds: number[]; heldSeatIds: number[] }
+      setBooked((prev) => {
+        const next = new Set(prev)
+        for (const id of [...delta.bookedSeatIds, ...delta.heldSeatIds]) next.add(id)
+        for (const id of delta.releasedSeatIds) next.delete(id)
+        return next
+      })
+      setSelected((prev) => {
+        const taken = [...delta.bookedSeatIds, ...delta.heldSeatIds].filter((id) => prev.has(id))
+        if (taken.length === 0) return prev
+        const next = new Set(prev)
+        for (const id of taken) next.delete(id)
+        return next
+      })
+    })
+    return () => {
+      source.close()
+      window.clearInterval(poller)
+    }
+  }, [showtimeId, queueToken, waiting])
 
   async function onReserve() {
     setActionError(null)
@@ -76,12 +169,17 @@ export default function SeatPickerPage() {
     setSubmitting(true)
     try {
       const seatIds = Array.from(selected)
-      const res = await api.reserve(showtimeId, seatIds)
+      const res = await api.reserve(showtimeId, seatIds, queueToken)
       setSelected(new Set())
-      setBooked(new Set([...booked, ...res.seatIds]))
+      setBooked((prev) => new Set([...prev, ...res.seatIds]))
       setSuccess(`Reserved ${res.seatIds.length} seat(s) successfully.`)
     } catch (e: any) {
-      setActionError(e?.message || 'Reservation failed')
+      if (isWaitingRoom(e)) {
+        setActionError('Your turn in the waiting room has ended. Rejoining the queue…')
+        joinQueue()
+      } else {
+        setActionError(e?.message || 'Reservation failed')
+      }
     } finally {
       setSubmitting(false)
     }
@@ -103,7 +201,14 @@ export default function SeatPickerPage() {
         </Link>
       </div>
 
-      {loading ? <div className="text-slate-600 dark:text-white/70">Loading…</div> : null}
+      {waiting ? (
+        <div className="rounded-xl border border-indigo-400/30 bg-indigo-500/10 px-3 py-2 text-sm text-slate-700 dark:text-white/80">
+          This showtime is busy, so you are in a waiting room. Position {queue?.position}, about {queue?.etaSeconds}s to go. Seats will
+          load as soon as it is your turn.
+        </div>
+      ) : loading ? (
+        <div className="text-slate-600 dark:text-white/70">Loading…</div>
+      ) : null}
       {error ? <div className="rounded-xl border border-red-500/30 bg-red-500/10 px-3 py-2 text-sm text-red-200">{error}</div> : null}
 
       <div className="rounded-2xl border border-slate-200 bg-white p-6 dark:border-white/10 dark:bg-white/5">